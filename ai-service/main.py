@@ -1,7 +1,7 @@
-from fastapi import FastAPI
+from fastapi import FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
-from schemas import ESGRequest
-from nlp import analyze_text
+from schemas import ESGRequest, ESGBatchRequest
+from nlp import analyze_text, analyze_texts
 from dotenv import load_dotenv
 import os
 
@@ -11,6 +11,7 @@ import os
 load_dotenv()
 
 SPACY_MODEL = os.getenv("SPACY_MODEL", "en_core_web_sm")
+MAX_BATCH_ITEMS = int(os.getenv("MAX_BATCH_ITEMS", 64))
 
 # ===============================
 # FASTAPI APP
@@ -53,3 +54,21 @@ def analyze_esg(request: ESGRequest):
     """
 
     return analyze_text(request.text)
+
+
+# ===============================
+# ESG BATCH ANALYSIS ENDPOINT
+# ===============================
+@app.post("/analyze/batch")
+def analyze_esg_batch(request: ESGBatchRequest):
+    """
+    Analyze many texts in one round trip; results keep the request order
+    """
+
+    if len(request.texts) > MAX_BATCH_ITEMS:
+        raise HTTPException(
+            status_code=413,
+            detail=f"Batch too large: {len(request.texts)} > {MAX_BATCH_ITEMS}"
+        )
+
+    return {"results": analyze_texts(request.texts)}
@@ -10,6 +10,7 @@ load_dotenv()
 
 SPACY_MODEL = os.getenv("SPACY_MODEL", "en_core_web_sm")
 MAX_TEXT_LENGTH = int(os.getenv("MAX_TEXT_LENGTH", 4000))
+BATCH_SIZE = int(os.getenv("NLP_BATCH_SIZE", 32))
 
 nlp = spacy.load(SPACY_MODEL)
 
@@ -65,8 +66,20 @@ def risk_from_score(score: int) -> str:
 
 def analyze_text(text: str) -> Dict:
     clean_text = normalize_text(text)
-    doc = nlp(clean_text)
+    return analyze_doc(clean_text, nlp(clean_text))
 
+
+def analyze_texts(texts: List[str]) -> List[Dict]:
+    """
+    Batch variant of analyze_text: runs spaCy once over all texts via nlp.pipe
+    and returns results in the same order as the input.
+    """
+    clean_texts = [normalize_text(t) for t in texts]
+    docs = nlp.pipe(clean_texts, batch_size=BATCH_SIZE)
+    return [analyze_doc(clean, doc) for clean, doc in zip(clean_texts, docs)]
+
+
+def analyze_doc(clean_text: str, doc) -> Dict:
     pillar_penalty = {"E": 0, "S": 0, "G": 0}
     pillar_bonus = {"E": 0, "S": 0, "G": 0}
     pillar_drivers = {"E": set(), "S": set(), "G": set()}
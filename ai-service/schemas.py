@@ -9,6 +9,10 @@ class ESGRequest(BaseModel):
     text: str
 
 
+class ESGBatchRequest(BaseModel):
+    texts: List[str]
+
+
 # ===============================
 # SIGNAL STRUCTURE
 # ===============================
@@ -9,7 +9,8 @@ const api = axios.create({
   headers: {
     "Content-Type": "application/json",
   },
-  timeout: 630000,
+  // Sent as X-Request-Timeout-Ms; keep equal to esg.deadline.analyze-default-ms
+  timeout: 120000,
 });
 
 // REQUEST INTERCEPTOR
@@ -20,6 +21,11 @@ api.interceptors.request.use(
       config.headers.Authorization = `Bearer ${token}`;
     }
 
+    // Let the backend stop working once we would have given up anyway
+    if (config.timeout) {
+      config.headers["X-Request-Timeout-Ms"] = String(config.timeout);
+    }
+
     console.log(
       `[API Request] ${config.method?.toUpperCase()} ${config.baseURL}${config.url}`,
       { hasToken: !!token }
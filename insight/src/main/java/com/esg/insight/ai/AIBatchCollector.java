@@ -0,0 +1,205 @@
+package com.esg.insight.ai;
+
+import com.esg.insight.dto.ESGAnalysisPayload;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batches concurrent single-text analyses into {@code /analyze/batch} calls.
+ *
+ * A dispatcher thread waits for the first queued text, keeps collecting for
+ * up to {@code window-ms} or until {@code max-size} texts are queued, then
+ * hands the batch to a worker and routes each result back to its caller.
+ * With batching disabled every call goes straight to {@link AIClient#analyzeText}.
+ */
+@Component
+public class AIBatchCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(AIBatchCollector.class);
+    private static final long DISPATCHER_JOIN_MS = 5_000;
+
+    private final AIClient aiClient;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxSize;
+    private final int maxInFlight;
+    private final boolean virtualThreads;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private ExecutorService workers;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    public AIBatchCollector(
+            AIClient aiClient,
+            @Value("${ai.client.batch.enabled:false}") boolean enabled,
+            @Value("${ai.client.batch.window-ms:20}") long windowMs,
+            @Value("${ai.client.batch.max-size:32}") int maxSize,
+            @Value("${ai.client.batch.max-in-flight:4}") int maxInFlight,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.aiClient = aiClient;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.virtualThreads = virtualThreads;
+    }
+
+    private record Pending(String text, Deadline deadline, CompletableFuture<ESGAnalysisPayload> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(maxInFlight, virtualThreads
+                ? Thread.ofVirtual().name("ai-batch-", 1).factory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "ai-batch-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "ai-batch-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        log.info("AI micro-batching enabled (window={}ms, maxSize={}, maxInFlight={})",
+                windowMs, maxSize, maxInFlight);
+    }
+
+    /**
+     * Stops the dispatcher before the workers, so a batch it is handing over
+     * is never rejected. Batches already handed over still run; everything
+     * else fails at once, since resumed analyses wait without a deadline.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            try {
+                dispatcher.join(DISPATCHER_JOIN_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (workers != null) {
+            workers.shutdown();
+        }
+        Pending left;
+        while ((left = queue.poll()) != null) {
+            shutDown(left);
+        }
+    }
+
+    private static void shutDown(Pending pending) {
+        pending.result().completeExceptionally(new RuntimeException("AI service client shutting down"));
+    }
+
+    // ===============================
+    // ENTRY POINT
+    // ===============================
+    public ESGAnalysisPayload analyze(String text, Deadline deadline) {
+        if (!enabled) {
+            return aiClient.analyzeText(text, deadline);
+        }
+
+        CompletableFuture<ESGAnalysisPayload> result = new CompletableFuture<>();
+        Pending pending = new Pending(text, deadline, result);
+        queue.add(pending);
+        // Checked after queueing, so a concurrent stop() either drains the text or it is taken back here
+        if (!running && queue.remove(pending)) {
+            shutDown(pending);
+        }
+        return AIClient.await(result, deadline);
+    }
+
+    // ===============================
+    // DISPATCHER
+    // ===============================
+    private void dispatchLoop() {
+        while (running) {
+            List<Pending> batch = new ArrayList<>(maxSize);
+            try {
+                batch.add(queue.take());
+
+                long windowEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxSize) {
+                    long waitNanos = windowEnd - System.nanoTime();
+                    Pending next = waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                workers.execute(() -> send(batch));
+
+            } catch (InterruptedException e) {
+                // Stopping while a batch was being collected: its texts are off the queue already
+                batch.forEach(AIBatchCollector::shutDown);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RejectedExecutionException e) {
+                // Workers shut down without waiting for this thread (join timed out)
+                batch.forEach(AIBatchCollector::shutDown);
+                return;
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        List<Pending> live = new ArrayList<>(batch.size());
+        long budgetMs = 0;
+
+        // Callers that already gave up are not worth a slot in the batch
+        for (Pending pending : batch) {
+            if (pending.deadline().isExpired() || pending.result().isDone()) {
+                pending.result().completeExceptionally(new RuntimeException("AI service deadline exceeded"));
+            } else {
+                live.add(pending);
+                budgetMs = Math.max(budgetMs, pending.deadline().remainingMillis());
+            }
+        }
+
+        if (live.isEmpty()) {
+            return;
+        }
+
+        // The batch runs as long as its most patient caller is still waiting
+        Deadline batchDeadline = budgetMs == Long.MAX_VALUE ? Deadline.none() : Deadline.after(budgetMs);
+
+        try {
+            List<ESGAnalysisPayload> results = aiClient.analyzeBatch(
+                    live.stream().map(Pending::text).toList(),
+                    batchDeadline
+            );
+            for (int i = 0; i < live.size(); i++) {
+                live.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("AI batch of {} failed: {}", live.size(), e.getMessage());
+            live.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.esg.insight.ai;
+
+import com.esg.insight.dto.ESGAnalysisPayload;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Envelope returned by {@code POST /analyze/batch}; results follow request order.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record AIBatchResponse(List<ESGAnalysisPayload> results) {
+}
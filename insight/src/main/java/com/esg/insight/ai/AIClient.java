@@ -1,5 +1,6 @@
 package com.esg.insight.ai;
 
+import com.esg.insight.dto.ESGAnalysisPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,28 +11,120 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class AIClient {
 
     private static final Logger log = LoggerFactory.getLogger(AIClient.class);
     private static final int MAX_RETRIES = 5;
-    private static final long INITIAL_RETRY_DELAY_MS = 300000;
-    private static final int CONNECT_TIMEOUT_MS = 600000;
-    private static final int READ_TIMEOUT_MS = 600000;
+    private static final int LATENCY_WINDOW = 256;
+    private static final int ADAPTIVE_MIN_SAMPLES = 20;
+    private static final String BATCH_PATH = "/batch";
 
-    private final String aiUrl;
+    private final AIEndpointPool endpointPool;
     private final RestTemplate restTemplate;
+    private final AILatencyTracker latencyTracker = new AILatencyTracker(LATENCY_WINDOW);
 
+    private final int connectTimeoutMs;
+    private final int maxReadTimeoutMs;
+    private final boolean adaptiveTimeout;
+    private final double adaptivePercentile;
+    private final double adaptiveMultiplier;
+    private final int adaptiveMinMs;
+
+    private final int ejectAfterFailures;
+    private final long ejectForMs;
+
+    private final boolean hedging;
+    private final double hedgePercentile;
+    private final long hedgeMinDelayMs;
+    private final ExecutorService hedgeExecutor;
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    /**
+     * @param aiUrls one or more AI service base URLs, comma separated
+     */
     public AIClient(
-            @Value("${AI_SERVICE_URL:http://localhost:8000/analyze}") String aiUrl) {
+            @Value("${AI_SERVICE_URL:http://localhost:8000/analyze}") String aiUrls,
+            @Value("${ai.client.connect-timeout-ms:600000}") int connectTimeoutMs,
+            @Value("${ai.client.read-timeout-ms:600000}") int maxReadTimeoutMs,
+            @Value("${ai.client.adaptive-timeout.enabled:true}") boolean adaptiveTimeout,
+            @Value("${ai.client.adaptive-timeout.percentile:99}") double adaptivePercentile,
+            @Value("${ai.client.adaptive-timeout.multiplier:3}") double adaptiveMultiplier,
+            @Value("${ai.client.adaptive-timeout.min-ms:30000}") int adaptiveMinMs,
+            @Value("${ai.client.eject.consecutive-failures:3}") int ejectAfterFailures,
+            @Value("${ai.client.eject.duration-ms:30000}") long ejectForMs,
+            @Value("${ai.client.hedge.enabled:false}") boolean hedging,
+            @Value("${ai.client.hedge.percentile:95}") double hedgePercentile,
+            @Value("${ai.client.hedge.min-delay-ms:50}") long hedgeMinDelayMs,
+            @Value("${ai.client.hedge.max-threads:64}") int hedgeMaxThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
 
-        if (aiUrl == null || aiUrl.isEmpty()) {
+        if (aiUrls == null || aiUrls.isBlank()) {
             throw new IllegalStateException("AI_SERVICE_URL environment variable is not set");
         }
 
+        List<AIEndpoint> endpoints = Arrays.stream(aiUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .map(AIClient::normalizeUrl)
+                .map(AIEndpoint::new)
+                .toList();
+
+        this.endpointPool = new AIEndpointPool(endpoints);
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.maxReadTimeoutMs = maxReadTimeoutMs;
+        this.adaptiveTimeout = adaptiveTimeout;
+        this.adaptivePercentile = adaptivePercentile;
+        this.adaptiveMultiplier = adaptiveMultiplier;
+        this.adaptiveMinMs = adaptiveMinMs;
+        this.ejectAfterFailures = Math.max(1, ejectAfterFailures);
+        this.ejectForMs = ejectForMs;
+
+        // Hedging needs somewhere else to send the duplicate
+        this.hedging = hedging && endpointPool.size() > 1;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeMinDelayMs = hedgeMinDelayMs;
+        // Bounded and without a queue: when every thread is busy, calls go out unhedged
+        this.hedgeExecutor = this.hedging
+                ? new ThreadPoolExecutor(0, Math.max(2, hedgeMaxThreads), 60, TimeUnit.SECONDS,
+                        new SynchronousQueue<>(), hedgeThreads(virtualThreads))
+                : null;
+
+        DeadlineAwareRequestFactory rf = new DeadlineAwareRequestFactory();
+        rf.setConnectTimeout(connectTimeoutMs);
+        rf.setReadTimeout(maxReadTimeoutMs);
+        this.restTemplate = new RestTemplate(rf);
+
+        log.info(
+                "AIClient configured with URLs={} (connectTimeout={}ms, readTimeout={}ms, adaptive={}, hedging={})",
+                endpoints.stream().map(AIEndpoint::getUrl).toList(),
+                connectTimeoutMs, maxReadTimeoutMs, adaptiveTimeout, this.hedging
+        );
+    }
+
+    private static String normalizeUrl(String aiUrl) {
         String normalized = aiUrl.trim();
         try {
             URI uri = new URI(normalized);
@@ -58,50 +151,75 @@ public class AIClient {
                         : normalized + "/analyze";
             }
         }
+        return normalized;
+    }
 
-        this.aiUrl = normalized;
+    public ESGAnalysisPayload analyzeText(String text) {
+        return analyzeText(text, Deadline.none());
+    }
 
-        SimpleClientHttpRequestFactory rf = new SimpleClientHttpRequestFactory();
-        rf.setConnectTimeout(CONNECT_TIMEOUT_MS);
-        rf.setReadTimeout(READ_TIMEOUT_MS);
-        this.restTemplate = new RestTemplate(rf);
+    /**
+     * The response is bound straight from the HTTP stream into the typed payload;
+     * no intermediate Map or JSON tree is built.
+     */
+    public ESGAnalysisPayload analyzeText(String text, Deadline deadline) {
+        Map<String, String> payload = Map.of(
+                "text", text == null ? "" : text
+        );
 
-        log.info(
-                "AIClient configured with URL={} (connectTimeout={}ms, readTimeout={}ms)",
-                this.aiUrl, CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS
+        return execute("", payload, ESGAnalysisPayload.class, deadline);
+    }
+
+    // ===============================
+    // BATCH ANALYSIS (POST /analyze/batch)
+    // ===============================
+    /**
+     * Analyzes several texts in one round trip. Results are returned in input order.
+     */
+    public List<ESGAnalysisPayload> analyzeBatch(List<String> texts) {
+        return analyzeBatch(texts, Deadline.none());
+    }
+
+    public List<ESGAnalysisPayload> analyzeBatch(List<String> texts, Deadline deadline) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Object> payload = Map.of(
+                "texts", texts.stream().map(t -> t == null ? "" : t).toList()
         );
+
+        List<ESGAnalysisPayload> results =
+                execute(BATCH_PATH, payload, AIBatchResponse.class, deadline).results();
+
+        if (results == null || results.size() != texts.size()) {
+            throw new RuntimeException("Invalid batch response from AI service");
+        }
+        return results;
     }
 
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> analyzeText(String text) {
+    private <T> T execute(String pathSuffix, Object payload, Class<T> responseType, Deadline deadline) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
-        Map<String, String> payload = Map.of(
-                "text", text == null ? "" : text
-        );
-
-        HttpEntity<Map<String, String>> entity = new HttpEntity<>(payload, headers);
+        HttpEntity<Object> entity = new HttpEntity<>(payload, headers);
 
         int attempt = 0;
         RuntimeException lastException = null;
 
         while (attempt < MAX_RETRIES) {
-            try {
-                ResponseEntity<Map> response = restTemplate.exchange(
-                        aiUrl,
-                        HttpMethod.POST,
-                        entity,
-                        Map.class
+            if (deadline.isExpired()) {
+                throw new RuntimeException(
+                        "AI service deadline exceeded after " + attempt + " attempts",
+                        lastException
                 );
+            }
 
-                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                    throw new RuntimeException(
-                            "Invalid response from AI service: " + response.getStatusCode()
-                    );
-                }
-
-                return response.getBody();
+            try {
+                // Batches are never hedged: duplicating a whole batch costs more than it saves
+                return hedging && pathSuffix.isEmpty()
+                        ? callHedged(pathSuffix, entity, responseType, deadline)
+                        : callOnce(endpointPool.pick(null), pathSuffix, entity, responseType, deadline, new Attempt());
 
             } catch (HttpStatusCodeException e) {
                 lastException = new RuntimeException(
@@ -121,4 +239,312 @@ public class AIClient {
                 lastException
         );
     }
+
+    // ===============================
+    // SINGLE CALL AGAINST ONE REPLICA
+    // ===============================
+    private <T> T callOnce(AIEndpoint endpoint, String pathSuffix, HttpEntity<?> entity,
+                           Class<T> responseType, Deadline deadline, Attempt attempt) {
+        // Batch latency scales with batch size, so only single calls feed the adaptive timeout
+        boolean single = pathSuffix.isEmpty();
+        endpoint.onStart();
+        long started = System.nanoTime();
+        boolean succeeded = false;
+
+        try {
+            DeadlineAwareRequestFactory.apply(
+                    attempt,
+                    (int) Math.min(connectTimeoutMs, deadline.remainingMillis()),
+                    single
+                            ? readTimeoutFor(deadline)
+                            : (int) Math.max(1L, Math.min(maxReadTimeoutMs, deadline.remainingMillis()))
+            );
+            ResponseEntity<T> response = restTemplate.exchange(
+                    endpoint.getUrl() + pathSuffix,
+                    HttpMethod.POST,
+                    entity,
+                    responseType
+            );
+
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                throw new RuntimeException(
+                        "Invalid response from AI service: " + response.getStatusCode()
+                );
+            }
+
+            succeeded = true;
+            return response.getBody();
+
+        } finally {
+            DeadlineAwareRequestFactory.clear();
+            if (succeeded) {
+                long latencyMs = (System.nanoTime() - started) / 1_000_000L;
+                endpoint.onSuccess(single ? latencyMs : -1);
+                if (single) {
+                    latencyTracker.record(latencyMs);
+                }
+            } else if (attempt.isAborted()) {
+                // Cut off by the other hedge: says nothing about the replica's health
+                endpoint.onCancelled();
+            } else {
+                endpoint.onFailure(ejectAfterFailures, ejectForMs);
+            }
+        }
+    }
+
+    // ===============================
+    // HEDGED CALL
+    // ===============================
+    /**
+     * Sends the request to the least loaded replica and, if it has not answered
+     * within that replica's observed p95, sends a duplicate to another replica.
+     * The first successful response wins and the other call is aborted, so a
+     * slow replica does not keep serving a request nobody waits for. When
+     * every hedge thread is busy the call goes out unhedged.
+     */
+    private <T> T callHedged(
+            String pathSuffix, HttpEntity<?> entity, Class<T> responseType, Deadline deadline) {
+        AIEndpoint primary = endpointPool.pick(null);
+        Attempt firstAttempt = new Attempt();
+        CompletableFuture<T> first;
+        try {
+            first = CompletableFuture.supplyAsync(
+                    () -> callOnce(primary, pathSuffix, entity, responseType, deadline, firstAttempt), hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            return callOnce(primary, pathSuffix, entity, responseType, deadline, firstAttempt);
+        }
+
+        long delayMs = hedgeDelayMs(primary);
+        AIEndpoint secondary = delayMs < 0 ? null : endpointPool.pick(primary);
+
+        if (secondary == null) {
+            return await(first, deadline, firstAttempt);
+        }
+
+        try {
+            return first.get(Math.min(delayMs, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // primary is slower than usual: fire the hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            firstAttempt.abort();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI service call interrupted", e);
+        }
+
+        if (deadline.isExpired()) {
+            return await(first, deadline, firstAttempt);
+        }
+
+        Attempt secondAttempt = new Attempt();
+        CompletableFuture<T> second;
+        try {
+            second = CompletableFuture.supplyAsync(
+                    () -> callOnce(secondary, pathSuffix, entity, responseType, deadline, secondAttempt), hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            return await(first, deadline, firstAttempt);
+        }
+        hedgesSent.incrementAndGet();
+
+        first.thenRun(secondAttempt::abort);
+        second.thenRun(() -> {
+            if (!first.isDone() || first.isCompletedExceptionally()) {
+                hedgesWon.incrementAndGet();
+            }
+            firstAttempt.abort();
+        });
+
+        return await(firstSuccessOf(first, second), deadline, firstAttempt, secondAttempt);
+    }
+
+    private long hedgeDelayMs(AIEndpoint endpoint) {
+        AILatencyTracker source = endpoint.getLatency().sampleCount() >= ADAPTIVE_MIN_SAMPLES
+                ? endpoint.getLatency()
+                : latencyTracker;
+
+        // Without latency history there is no basis for a hedge delay
+        if (source.sampleCount() < ADAPTIVE_MIN_SAMPLES) {
+            return -1;
+        }
+        return Math.max(hedgeMinDelayMs, source.percentile(hedgePercentile));
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessOf(CompletableFuture<T> a, CompletableFuture<T> b) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        for (CompletableFuture<T> candidate : List.of(a, b)) {
+            candidate.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    static <T> T await(CompletableFuture<T> future, Deadline deadline) {
+        try {
+            return deadline.isBounded()
+                    ? future.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS)
+                    : future.get();
+        } catch (TimeoutException e) {
+            throw new RuntimeException("AI service deadline exceeded", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI service call interrupted", e);
+        }
+    }
+
+    /**
+     * Like {@link #await(CompletableFuture, Deadline)}, aborting the calls once the caller stops waiting.
+     */
+    private static <T> T await(CompletableFuture<T> future, Deadline deadline, Attempt... attempts) {
+        try {
+            return await(future, deadline);
+        } catch (RuntimeException e) {
+            for (Attempt attempt : attempts) {
+                attempt.abort();
+            }
+            throw e;
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException re
+                ? re
+                : new RuntimeException("AI service call failed", cause);
+    }
+
+    private static ThreadFactory hedgeThreads(boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name("ai-hedge-", 1).factory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "ai-hedge-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+    }
+
+    // ===============================
+    // PER-REPLICA METRICS
+    // ===============================
+    public List<AIEndpointStats> endpointStats() {
+        return endpointPool.getEndpoints().stream()
+                .map(AIEndpoint::stats)
+                .toList();
+    }
+
+    public long hedgesSent() {
+        return hedgesSent.get();
+    }
+
+    public long hedgesWon() {
+        return hedgesWon.get();
+    }
+
+    AILatencyTracker latencyTracker() {
+        return latencyTracker;
+    }
+
+    // ===============================
+    // ADAPTIVE READ TIMEOUT
+    // ===============================
+    /**
+     * Read timeout for the next attempt: a multiple of the observed latency
+     * percentile once enough samples exist, never above the configured
+     * maximum and never beyond what is left of the caller's deadline.
+     */
+    int readTimeoutFor(Deadline deadline) {
+        long timeout = maxReadTimeoutMs;
+
+        if (adaptiveTimeout && latencyTracker.sampleCount() >= ADAPTIVE_MIN_SAMPLES) {
+            long observed = latencyTracker.percentile(adaptivePercentile);
+            long adaptive = Math.max(adaptiveMinMs, (long) (observed * adaptiveMultiplier));
+            timeout = Math.min(timeout, adaptive);
+        }
+
+        timeout = Math.min(timeout, deadline.remainingMillis());
+
+        // 0 means "infinite" to HttpURLConnection, so never hand it out
+        return (int) Math.max(1L, timeout);
+    }
+
+    /**
+     * One HTTP call with its timeouts, which another thread can abort by
+     * disconnecting its connection (the only way to stop a blocked read on
+     * {@link HttpURLConnection}).
+     */
+    private static final class Attempt {
+
+        private int connectTimeoutMs;
+        private int readTimeoutMs;
+        private volatile HttpURLConnection connection;
+        private volatile boolean aborted;
+
+        void abort() {
+            aborted = true;
+            HttpURLConnection current = connection;
+            if (current != null) {
+                current.disconnect();
+            }
+        }
+
+        boolean isAborted() {
+            return aborted;
+        }
+    }
+
+    /**
+     * Request factory whose timeouts can be narrowed per call on the calling
+     * thread, since {@link SimpleClientHttpRequestFactory} only holds fixed
+     * values. It also hands each connection to its {@link Attempt}.
+     */
+    private static final class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+        private static final ThreadLocal<Attempt> CURRENT = new ThreadLocal<>();
+
+        static void apply(Attempt attempt, int connectTimeoutMs, int readTimeoutMs) {
+            attempt.connectTimeoutMs = Math.max(1, connectTimeoutMs);
+            attempt.readTimeoutMs = readTimeoutMs;
+            CURRENT.set(attempt);
+        }
+
+        static void clear() {
+            CURRENT.remove();
+        }
+
+        @Override
+        protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+            super.prepareConnection(connection, httpMethod);
+            Attempt attempt = CURRENT.get();
+            if (attempt != null) {
+                connection.setConnectTimeout(attempt.connectTimeoutMs);
+                connection.setReadTimeout(attempt.readTimeoutMs);
+                attempt.connection = connection;
+                if (attempt.aborted) {
+                    throw new IOException("AI service call aborted");
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.esg.insight.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One AI service replica together with the live counters used for
+ * least-outstanding routing, passive health ejection and per-replica metrics.
+ */
+public class AIEndpoint {
+
+    private static final int LATENCY_WINDOW = 256;
+
+    private final String url;
+    private final AILatencyTracker latency = new AILatencyTracker(LATENCY_WINDOW);
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong ejections = new AtomicLong();
+    private volatile long ejectedUntilNanos;
+
+    public AIEndpoint(String url) {
+        this.url = url;
+        // nanoTime has an arbitrary origin, so 0 is not safely in the past
+        this.ejectedUntilNanos = System.nanoTime();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public AILatencyTracker getLatency() {
+        return latency;
+    }
+
+    public boolean isHealthy() {
+        return System.nanoTime() - ejectedUntilNanos >= 0;
+    }
+
+    // ===============================
+    // CALL LIFECYCLE
+    // ===============================
+    void onStart() {
+        outstanding.incrementAndGet();
+        requests.incrementAndGet();
+    }
+
+    /**
+     * @param latencyMs call latency, or a negative value to leave the latency window untouched
+     */
+    void onSuccess(long latencyMs) {
+        outstanding.decrementAndGet();
+        consecutiveFailures.set(0);
+        if (latencyMs >= 0) {
+            latency.record(latencyMs);
+        }
+    }
+
+    /**
+     * Records a failed call and ejects the replica for {@code ejectForMs}
+     * once {@code ejectAfterFailures} calls in a row have failed. A replica
+     * coming back from ejection that fails again is ejected immediately.
+     */
+    void onFailure(int ejectAfterFailures, long ejectForMs) {
+        outstanding.decrementAndGet();
+        errors.incrementAndGet();
+        if (consecutiveFailures.incrementAndGet() >= ejectAfterFailures && isHealthy()) {
+            ejectedUntilNanos = System.nanoTime() + ejectForMs * 1_000_000L;
+            ejections.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a call abandoned by the client, e.g. the losing half of a hedge.
+     */
+    void onCancelled() {
+        outstanding.decrementAndGet();
+    }
+
+    public AIEndpointStats stats() {
+        return AIEndpointStats.builder()
+                .url(url)
+                .healthy(isHealthy())
+                .outstanding(outstanding.get())
+                .requests(requests.get())
+                .errors(errors.get())
+                .ejections(ejections.get())
+                .p50Ms(latency.percentile(50))
+                .p95Ms(latency.percentile(95))
+                .p99Ms(latency.percentile(99))
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.esg.insight.ai;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the AI replica with the fewest in-flight requests among those not
+ * currently ejected. If every replica is ejected the pool fails open and
+ * routes to the least loaded one rather than refusing the call. Ties are
+ * broken round-robin so idle replicas share sequential traffic.
+ */
+public class AIEndpointPool {
+
+    private final List<AIEndpoint> endpoints;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public AIEndpointPool(List<AIEndpoint> endpoints) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("At least one AI service endpoint is required");
+        }
+        this.endpoints = List.copyOf(endpoints);
+    }
+
+    public List<AIEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    /**
+     * @param exclude replica to skip (e.g. the one a hedged call is already waiting on), may be null
+     * @return the chosen replica, or null if {@code exclude} is the only one
+     */
+    public AIEndpoint pick(AIEndpoint exclude) {
+        AIEndpoint best = null;
+        AIEndpoint fallback = null;
+
+        int size = endpoints.size();
+        int start = Math.floorMod(exclude == null ? cursor.getAndIncrement() : cursor.get(), size);
+
+        for (int i = 0; i < size; i++) {
+            AIEndpoint endpoint = endpoints.get((start + i) % size);
+            if (endpoint == exclude) {
+                continue;
+            }
+            if (fallback == null || endpoint.getOutstanding() < fallback.getOutstanding()) {
+                fallback = endpoint;
+            }
+            if (endpoint.isHealthy()
+                    && (best == null || endpoint.getOutstanding() < best.getOutstanding())) {
+                best = endpoint;
+            }
+        }
+
+        return best != null ? best : fallback;
+    }
+}
@@ -0,0 +1,22 @@
+package com.esg.insight.ai;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AIEndpointStats {
+
+    private String url;
+    private boolean healthy;
+    private int outstanding;
+
+    private long requests;
+    private long errors;
+    private long ejections;
+
+    // -1 until the replica has served a successful call
+    private long p50Ms;
+    private long p95Ms;
+    private long p99Ms;
+}
@@ -0,0 +1,51 @@
+package com.esg.insight.ai;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring buffer of recent successful AI call latencies.
+ * Percentiles are computed on demand from a copy of the window, which is
+ * cheap at this size and keeps recording lock-light.
+ */
+public class AILatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public AILatencyTracker(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.samples = new long[windowSize];
+    }
+
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    public synchronized int sampleCount() {
+        return count;
+    }
+
+    /**
+     * Returns the given percentile (0-100) of the current window, or -1 when
+     * no samples have been recorded yet.
+     */
+    public long percentile(double p) {
+        long[] snapshot;
+        synchronized (this) {
+            if (count == 0) {
+                return -1;
+            }
+            snapshot = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(p / 100.0 * snapshot.length) - 1;
+        return snapshot[Math.max(0, Math.min(snapshot.length - 1, index))];
+    }
+}
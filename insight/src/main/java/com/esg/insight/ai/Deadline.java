@@ -0,0 +1,55 @@
+package com.esg.insight.ai;
+
+/**
+ * Point in time after which nobody is waiting for the result of a request.
+ * Built once per incoming request and passed down to the AI call so retries
+ * and socket reads stop as soon as the caller has given up.
+ */
+public final class Deadline {
+
+    /** Optional request header carrying the client's remaining budget in milliseconds. */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private static final Deadline NONE = new Deadline(0L, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime() + Math.max(0L, millis) * 1_000_000L, true);
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Milliseconds left before expiry, never negative.
+     * Unbounded deadlines report {@link Long#MAX_VALUE}.
+     */
+    public long remainingMillis() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        long remaining = (expiresAtNanos - System.nanoTime()) / 1_000_000L;
+        return Math.max(0L, remaining);
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[" + remainingMillis() + "ms left]" : "Deadline[none]";
+    }
+}
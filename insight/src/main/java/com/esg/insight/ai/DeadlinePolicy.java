@@ -0,0 +1,38 @@
+package com.esg.insight.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the optional {@link Deadline#HEADER} value into a {@link Deadline},
+ * falling back to a per-endpoint default and capping client-supplied budgets.
+ */
+@Component
+public class DeadlinePolicy {
+
+    private final long analyzeDefaultMs;
+    private final long maxMs;
+
+    public DeadlinePolicy(
+            @Value("${esg.deadline.analyze-default-ms:120000}") long analyzeDefaultMs,
+            @Value("${esg.deadline.max-ms:600000}") long maxMs
+    ) {
+        this.analyzeDefaultMs = analyzeDefaultMs;
+        this.maxMs = maxMs;
+    }
+
+    // ===============================
+    // POST /api/esg/analyze
+    // ===============================
+    public Deadline forAnalyze(Long requestedMs) {
+        return resolve(requestedMs, analyzeDefaultMs);
+    }
+
+    private Deadline resolve(Long requestedMs, long endpointDefaultMs) {
+        long budget = (requestedMs == null || requestedMs <= 0) ? endpointDefaultMs : requestedMs;
+        if (budget <= 0) {
+            return Deadline.none();
+        }
+        return Deadline.after(Math.min(budget, maxMs));
+    }
+}
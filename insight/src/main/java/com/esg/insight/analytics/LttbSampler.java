@@ -0,0 +1,138 @@
+package com.esg.insight.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling in one streaming pass.
+ *
+ * The first and last points are always kept; the points between them are
+ * split into {@code threshold - 2} equal buckets and from each bucket the
+ * point forming the largest triangle with the previously kept point and
+ * the average of the next bucket is kept. Peaks and dips therefore survive,
+ * which plain every-n-th sampling drops.
+ *
+ * The total number of points must be known up front, so bucket boundaries
+ * are fixed before the first point arrives; only the current and the next
+ * bucket are buffered. Points must be offered in ascending x order.
+ */
+public final class LttbSampler<T> {
+
+    private record Point<T>(double x, double y, T item) {
+    }
+
+    private final long total;
+    private final int threshold;
+    private final double bucketSize;
+    private final List<T> kept;
+
+    private long seen;
+    private Point<T> lastKept;
+    private int bucket;   // index of the current bucket among the middle buckets
+    private List<Point<T>> current = new ArrayList<>();  // bucket being decided
+    private List<Point<T>> next = new ArrayList<>();     // following bucket, still filling
+    private Point<T> lastPoint;
+
+    /**
+     * @param total     number of points that will be offered
+     * @param threshold number of points to keep, at least 3
+     */
+    public LttbSampler(long total, int threshold) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("threshold must be at least 3");
+        }
+        this.total = total;
+        this.threshold = threshold;
+        this.bucketSize = total > threshold ? (double) (total - 2) / (threshold - 2) : 0;
+        this.kept = new ArrayList<>((int) Math.min(total, threshold));
+    }
+
+    public void offer(double x, double y, T item) {
+        long index = seen++;
+        if (index >= total) {
+            throw new IllegalStateException("More than the announced " + total + " points");
+        }
+        Point<T> point = new Point<>(x, y, item);
+        if (total <= threshold) {
+            kept.add(item);
+            return;
+        }
+        if (index == 0) {
+            lastKept = point;
+            kept.add(item);
+            return;
+        }
+        if (index == total - 1) {
+            lastPoint = point;
+            return;
+        }
+
+        // Middle point m = index - 1 belongs to bucket i when end(i - 1) <= m < end(i)
+        long m = index - 1;
+        if (m < end(bucket)) {
+            current.add(point);
+        } else {
+            if (m >= end(bucket + 1)) {
+                // next bucket is complete: the current one can be decided
+                closeCurrent(average(next));
+                List<Point<T>> recycled = current;
+                current = next;
+                next = recycled;
+                next.clear();
+                bucket++;
+            }
+            next.add(point);
+        }
+    }
+
+    /**
+     * @return kept items in offer order
+     */
+    public List<T> finish() {
+        if (seen != total) {
+            throw new IllegalStateException("Expected " + total + " points, got " + seen);
+        }
+        if (total > threshold) {
+            if (!next.isEmpty()) {
+                closeCurrent(average(next));
+                current = next;
+            }
+            closeCurrent(lastPoint);
+            kept.add(lastPoint.item());
+        }
+        return kept;
+    }
+
+    // Exclusive end of middle bucket i, counted among the middle points
+    private long end(int i) {
+        return i >= threshold - 3 ? total - 2 : (long) Math.floor((i + 1) * bucketSize);
+    }
+
+    private void closeCurrent(Point<T> following) {
+        if (current.isEmpty()) {
+            return;
+        }
+        Point<T> best = null;
+        double bestArea = -1;
+        for (Point<T> candidate : current) {
+            double area = Math.abs((lastKept.x() - following.x()) * (candidate.y() - lastKept.y())
+                    - (lastKept.x() - candidate.x()) * (following.y() - lastKept.y()));
+            if (area > bestArea) {
+                bestArea = area;
+                best = candidate;
+            }
+        }
+        kept.add(best.item());
+        lastKept = best;
+    }
+
+    private static <T> Point<T> average(List<Point<T>> points) {
+        double x = 0;
+        double y = 0;
+        for (Point<T> point : points) {
+            x += point.x();
+            y += point.y();
+        }
+        return new Point<>(x / points.size(), y / points.size(), null);
+    }
+}
@@ -0,0 +1,158 @@
+package com.esg.insight.analytics;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiFunction;
+
+/**
+ * Companies ranked by their latest ESG score, overall and per sector and
+ * country. Each ranking is a skip list holding every scored company of its
+ * group, so the top or bottom K is read by walking K nodes, and a new score
+ * moves one company in O(log n) without losing the runners-up.
+ *
+ * Updates are serialised; reads walk the concurrent skip lists without
+ * locking and may briefly miss a company that is being moved.
+ */
+public final class RiskLeaderboard {
+
+    public enum Scope {
+        ALL, SECTOR, COUNTRY
+    }
+
+    public record Entry(
+            long companyId,
+            String companyName,
+            String sector,
+            String country,
+            int esgScore,
+            String riskLevel,
+            LocalDateTime timestamp
+    ) {
+    }
+
+    // Lowest score = highest risk first; newer first on ties, then by id so entries are unique
+    private static final Comparator<Entry> RISKIEST_FIRST = Comparator.comparingInt(Entry::esgScore)
+            .thenComparing(Entry::timestamp, Comparator.reverseOrder())
+            .thenComparingLong(Entry::companyId);
+
+    private final Map<Long, Entry> latest = new HashMap<>();
+    private final Set<Long> removedCompanies = new HashSet<>();
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(RISKIEST_FIRST);
+    private final Map<String, NavigableSet<Entry>> bySector = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Entry>> byCountry = new ConcurrentHashMap<>();
+
+    // ===============================
+    // WRITES
+    // ===============================
+    /**
+     * Ranks the company by {@code entry} unless a newer score is already known.
+     * Safe to call in any order, e.g. from a background load racing live writes.
+     *
+     * @return whether the rankings changed
+     */
+    public synchronized boolean offer(Entry entry) {
+        if (removedCompanies.contains(entry.companyId())) {
+            return false;
+        }
+        Entry current = latest.get(entry.companyId());
+        if (current != null && !entry.timestamp().isAfter(current.timestamp())) {
+            return false;
+        }
+        if (current != null) {
+            unlink(current);
+        }
+        latest.put(entry.companyId(), entry);
+        link(entry);
+        return true;
+    }
+
+    /**
+     * Drops the company for good; later offers for it are ignored (ids are never reused).
+     */
+    public synchronized void remove(long companyId) {
+        removedCompanies.add(companyId);
+        Entry current = latest.remove(companyId);
+        if (current != null) {
+            unlink(current);
+        }
+    }
+
+    /**
+     * Recomputes every ranked company's risk level, e.g. after the risk thresholds
+     * changed. Rankings are by score, so no company moves.
+     */
+    public synchronized void reclassify(BiFunction<String, Integer, String> classifier) {
+        for (Entry entry : List.copyOf(latest.values())) {
+            String riskLevel = classifier.apply(entry.sector(), entry.esgScore());
+            if (!riskLevel.equals(entry.riskLevel())) {
+                unlink(entry);
+                Entry updated = new Entry(entry.companyId(), entry.companyName(), entry.sector(), entry.country(),
+                        entry.esgScore(), riskLevel, entry.timestamp());
+                latest.put(entry.companyId(), updated);
+                link(updated);
+            }
+        }
+    }
+
+    private void link(Entry entry) {
+        all.add(entry);
+        bySector.computeIfAbsent(key(entry.sector()), k -> new ConcurrentSkipListSet<>(RISKIEST_FIRST)).add(entry);
+        byCountry.computeIfAbsent(key(entry.country()), k -> new ConcurrentSkipListSet<>(RISKIEST_FIRST)).add(entry);
+    }
+
+    private void unlink(Entry entry) {
+        all.remove(entry);
+        NavigableSet<Entry> sector = bySector.get(key(entry.sector()));
+        if (sector != null) {
+            sector.remove(entry);
+        }
+        NavigableSet<Entry> country = byCountry.get(key(entry.country()));
+        if (country != null) {
+            country.remove(entry);
+        }
+    }
+
+    // ===============================
+    // READS
+    // ===============================
+    /**
+     * @param value sector or country name (case-insensitive); ignored for {@link Scope#ALL}
+     * @return up to {@code k} companies, riskiest (lowest score) first unless {@code safestFirst}
+     */
+    public List<Entry> top(Scope scope, String value, int k, boolean safestFirst) {
+        NavigableSet<Entry> ranking = ranking(scope, value);
+        if (ranking == null) {
+            return List.of();
+        }
+        return (safestFirst ? ranking.descendingSet() : ranking).stream().limit(k).toList();
+    }
+
+    /**
+     * Number of ranked companies in the scope. O(n) on a skip list, so for stats only.
+     */
+    public int size(Scope scope, String value) {
+        NavigableSet<Entry> ranking = ranking(scope, value);
+        return ranking == null ? 0 : ranking.size();
+    }
+
+    private NavigableSet<Entry> ranking(Scope scope, String value) {
+        return switch (scope) {
+            case ALL -> all;
+            case SECTOR -> bySector.get(key(value));
+            case COUNTRY -> byCountry.get(key(value));
+        };
+    }
+
+    private static String key(String value) {
+        return value == null || value.isBlank() ? "unknown" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,470 @@
+package com.esg.insight.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory column store of {@code (company, sector, timestamp, score, risk level)}
+ * for every analysis, answering portfolio aggregates without touching Postgres.
+ *
+ * Rows live in fixed-size chunks of parallel primitive arrays (12 bytes per
+ * row); sectors, risk levels and companies are dictionary-encoded. A query
+ * runs as a few tight loops per chunk: filter into a key vector, fold each
+ * group-by dimension into that key, then accumulate into dense per-group
+ * arrays. There are no per-row objects or hash lookups, so the loops stay
+ * simple enough for the JIT to unroll. Chunks whose time range misses the
+ * query's are skipped without being read.
+ *
+ * Appends and removals are serialised; queries never lock. A query reads
+ * {@code size} once and only scans rows published before that read.
+ * Removed rows are tombstoned in place and skipped; the space comes back
+ * on the next reload.
+ */
+public final class ScoreColumns {
+
+    public static final int HISTOGRAM_BUCKETS = 11; // 0-9, 10-19, ..., 90-99, 100
+    public static final int BYTES_PER_ROW = 4 + 2 + 4 + 1 + 1;
+    static final int MAX_GROUPS = 1 << 16;
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int REMOVED = 0;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final String UNKNOWN_SECTOR = "Unknown";
+
+    private static final class Chunk {
+        final int[] company = new int[CHUNK_SIZE];  // company code + 1; 0 = removed
+        final short[] sector = new short[CHUNK_SIZE];
+        final int[] minute = new int[CHUNK_SIZE];   // minutes since epoch, UTC
+        final byte[] score = new byte[CHUNK_SIZE];  // 0..100
+        final byte[] risk = new byte[CHUNK_SIZE];
+        // Time range of the chunk's rows; appends are roughly chronological, so ranges skip most chunks
+        int firstMinute = Integer.MAX_VALUE;
+        int lastMinute = Integer.MIN_VALUE;
+    }
+
+    private final Dictionary<Long> companies = new Dictionary<>(Integer.MAX_VALUE - 1);
+    private final Dictionary<String> sectors = new Dictionary<>(Short.MAX_VALUE);
+    private final Dictionary<String> risks = new Dictionary<>(Byte.MAX_VALUE);
+
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size;
+    private volatile int minMinute = Integer.MAX_VALUE;
+    private volatile int maxMinute = Integer.MIN_VALUE;
+    private int removed;
+
+    public record Group(Map<String, Object> key, long count, long sum, int min, int max, long[] histogram) {
+    }
+
+    public record Result(long scanned, long matched, List<Group> groups) {
+    }
+
+    // ===============================
+    // WRITES
+    // ===============================
+    public synchronized void append(long companyId, String sector, LocalDateTime createdAt, int score, String riskLevel) {
+        int row = size;
+        int c = row >>> CHUNK_BITS;
+        if (c == chunks.length) {
+            Chunk[] grown = Arrays.copyOf(chunks, c + 1);
+            grown[c] = new Chunk();
+            chunks = grown;
+        }
+        Chunk chunk = chunks[c];
+        int i = row & CHUNK_MASK;
+        int minute = minuteOf(createdAt);
+
+        chunk.company[i] = companies.code(companyId) + 1;
+        chunk.sector[i] = (short) sectors.code(sector == null || sector.isBlank() ? UNKNOWN_SECTOR : sector);
+        chunk.minute[i] = minute;
+        chunk.score[i] = (byte) Math.max(0, Math.min(100, score));
+        chunk.risk[i] = (byte) risks.code(riskLevel == null ? "UNKNOWN" : riskLevel);
+
+        chunk.firstMinute = Math.min(chunk.firstMinute, minute);
+        chunk.lastMinute = Math.max(chunk.lastMinute, minute);
+        if (minute < minMinute) {
+            minMinute = minute;
+        }
+        if (minute > maxMinute) {
+            maxMinute = minute;
+        }
+        size = row + 1; // publishes the row to readers
+    }
+
+    /**
+     * @return rows removed
+     */
+    public synchronized int removeCompany(long companyId) {
+        int code = companies.lookup(companyId);
+        if (code < 0) {
+            return 0;
+        }
+        int target = code + 1;
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            Chunk chunk = chunks[row >>> CHUNK_BITS];
+            int i = row & CHUNK_MASK;
+            if (chunk.company[i] == target) {
+                chunk.company[i] = REMOVED;
+                count++;
+            }
+        }
+        removed += count;
+        return count;
+    }
+
+    /**
+     * @return rows removed
+     */
+    public synchronized int removeBefore(LocalDateTime cutoff) {
+        int limit = minuteOf(cutoff);
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            Chunk chunk = chunks[row >>> CHUNK_BITS];
+            int i = row & CHUNK_MASK;
+            if (chunk.company[i] != REMOVED && chunk.minute[i] < limit) {
+                chunk.company[i] = REMOVED;
+                count++;
+            }
+        }
+        removed += count;
+        return count;
+    }
+
+    /**
+     * Recomputes every row's risk level from its sector and score, e.g. after
+     * the risk thresholds changed.
+     *
+     * @return rows whose risk level changed
+     */
+    public synchronized int reclassify(BiFunction<String, Integer, String> classifier) {
+        // One lookup table per sector: classifying a row is two array reads
+        byte[][] riskBySectorScore = new byte[sectors.size()][];
+        for (int s = 0; s < riskBySectorScore.length; s++) {
+            String sector = sectors.value(s);
+            riskBySectorScore[s] = new byte[101];
+            for (int score = 0; score <= 100; score++) {
+                riskBySectorScore[s][score] = (byte) risks.code(classifier.apply(UNKNOWN_SECTOR.equals(sector) ? null : sector, score));
+            }
+        }
+        int changed = 0;
+        for (int row = 0; row < size; row++) {
+            Chunk chunk = chunks[row >>> CHUNK_BITS];
+            int i = row & CHUNK_MASK;
+            byte risk = riskBySectorScore[chunk.sector[i]][chunk.score[i]];
+            if (chunk.company[i] != REMOVED && chunk.risk[i] != risk) {
+                chunk.risk[i] = risk;
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    public synchronized long liveRows() {
+        return size - removed;
+    }
+
+    public long allocatedBytes() {
+        return (long) chunks.length * CHUNK_SIZE * BYTES_PER_ROW;
+    }
+
+    // ===============================
+    // QUERY
+    // ===============================
+    public Result aggregate(ScoreQuery query) {
+        int n = size; // read before chunks and bounds, which are written before size
+        Chunk[] snapshot = chunks;
+        int lowest = minMinute;
+        int highest = maxMinute;
+
+        int fromMinute = query.from() == null ? Integer.MIN_VALUE : minuteOf(query.from());
+        int toMinute = query.to() == null ? Integer.MAX_VALUE : minuteOf(query.to());
+        int companyFilter = query.companyId() == null ? -1 : companies.lookup(query.companyId());
+        int sectorFilter = query.sector() == null ? -1 : sectors.lookupIgnoreCase(query.sector());
+        int riskFilter = query.riskLevel() == null ? -1 : risks.lookupIgnoreCase(query.riskLevel());
+
+        boolean unknownFilter = (query.companyId() != null && companyFilter < 0)
+                || (query.sector() != null && sectorFilter < 0)
+                || (query.riskLevel() != null && riskFilter < 0);
+        int firstMinute = Math.max(fromMinute, lowest);
+        int lastMinute = Math.min(toMinute - 1, highest);
+        if (n == 0 || unknownFilter || firstMinute > lastMinute) {
+            return new Result(n, 0, List.of());
+        }
+        int companyMatch = companyFilter < 0 ? -1 : companyFilter + 1;
+
+        // ---- group key layout (mixed radix, last dimension least significant)
+        List<ScoreQuery.Dimension> dimensions = query.groupBy();
+        int[] cardinality = new int[dimensions.size()];
+        Periods periods = null;
+        long groups = 1;
+        for (int d = 0; d < dimensions.size(); d++) {
+            cardinality[d] = switch (dimensions.get(d)) {
+                case SECTOR -> sectors.size();
+                case RISK_LEVEL -> risks.size();
+                case COMPANY -> companies.size();
+                case PERIOD -> {
+                    periods = new Periods(query.interval(), Math.floorDiv(firstMinute, MINUTES_PER_DAY),
+                            Math.floorDiv(lastMinute, MINUTES_PER_DAY));
+                    yield periods.labels.size();
+                }
+            };
+            groups *= cardinality[d];
+            if (groups > MAX_GROUPS) {
+                throw new IllegalArgumentException("Query would produce more than " + MAX_GROUPS + " groups; narrow the filters");
+            }
+        }
+
+        int groupCount = (int) groups;
+        long[] count = new long[groupCount];
+        long[] sum = new long[groupCount];
+        int[] min = new int[groupCount];
+        int[] max = new int[groupCount];
+        long[] histogram = new long[groupCount * HISTOGRAM_BUCKETS];
+        Arrays.fill(min, Integer.MAX_VALUE);
+        Arrays.fill(max, Integer.MIN_VALUE);
+
+        int[] keys = new int[CHUNK_SIZE];
+        long matched = 0;
+
+        for (int c = 0; c < snapshot.length; c++) {
+            int len = Math.min(CHUNK_SIZE, n - (c << CHUNK_BITS));
+            if (len <= 0) {
+                break;
+            }
+            Chunk chunk = snapshot[c];
+            if (chunk.lastMinute < fromMinute || chunk.firstMinute >= toMinute) {
+                continue;
+            }
+
+            // ---- filter: key 0 = selected, -1 = skipped
+            int[] company = chunk.company;
+            int[] minute = chunk.minute;
+            short[] sector = chunk.sector;
+            byte[] risk = chunk.risk;
+            for (int i = 0; i < len; i++) {
+                int m = minute[i];
+                int co = company[i];
+                boolean selected = co != REMOVED
+                        && m >= fromMinute && m < toMinute
+                        && (companyMatch < 0 || co == companyMatch)
+                        && (sectorFilter < 0 || sector[i] == sectorFilter)
+                        && (riskFilter < 0 || risk[i] == riskFilter);
+                keys[i] = selected ? 0 : -1;
+            }
+
+            // ---- fold each group-by dimension into the key
+            for (int d = 0; d < dimensions.size(); d++) {
+                int radix = cardinality[d];
+                switch (dimensions.get(d)) {
+                    case SECTOR -> {
+                        for (int i = 0; i < len; i++) {
+                            if (keys[i] >= 0) {
+                                keys[i] = keys[i] * radix + sector[i];
+                            }
+                        }
+                    }
+                    case RISK_LEVEL -> {
+                        for (int i = 0; i < len; i++) {
+                            if (keys[i] >= 0) {
+                                keys[i] = keys[i] * radix + risk[i];
+                            }
+                        }
+                    }
+                    case COMPANY -> {
+                        for (int i = 0; i < len; i++) {
+                            if (keys[i] >= 0) {
+                                keys[i] = keys[i] * radix + company[i] - 1;
+                            }
+                        }
+                    }
+                    case PERIOD -> {
+                        int[] periodOfDay = periods.periodOfDay;
+                        int firstDay = periods.firstDay;
+                        for (int i = 0; i < len; i++) {
+                            if (keys[i] >= 0) {
+                                keys[i] = keys[i] * radix + periodOfDay[Math.floorDiv(minute[i], MINUTES_PER_DAY) - firstDay];
+                            }
+                        }
+                    }
+                }
+            }
+
+            // ---- accumulate
+            byte[] score = chunk.score;
+            for (int i = 0; i < len; i++) {
+                int k = keys[i];
+                if (k < 0) {
+                    continue;
+                }
+                int s = score[i];
+                count[k]++;
+                sum[k] += s;
+                min[k] = Math.min(min[k], s);
+                max[k] = Math.max(max[k], s);
+                histogram[k * HISTOGRAM_BUCKETS + s / 10]++;
+                matched++;
+            }
+        }
+
+        return new Result(n, matched, toGroups(dimensions, cardinality, periods, count, sum, min, max, histogram));
+    }
+
+    private List<Group> toGroups(
+            List<ScoreQuery.Dimension> dimensions, int[] cardinality, Periods periods,
+            long[] count, long[] sum, int[] min, int[] max, long[] histogram
+    ) {
+        List<Group> groups = new ArrayList<>();
+        int[] codes = new int[dimensions.size()];
+        for (int k = 0; k < count.length; k++) {
+            if (count[k] == 0) {
+                continue;
+            }
+            int rest = k;
+            for (int d = dimensions.size() - 1; d >= 0; d--) {
+                codes[d] = rest % cardinality[d];
+                rest /= cardinality[d];
+            }
+
+            Map<String, Object> key = new LinkedHashMap<>();
+            for (int d = 0; d < dimensions.size(); d++) {
+                switch (dimensions.get(d)) {
+                    case SECTOR -> key.put("sector", sectors.value(codes[d]));
+                    case RISK_LEVEL -> key.put("riskLevel", risks.value(codes[d]));
+                    case COMPANY -> key.put("companyId", companies.value(codes[d]));
+                    case PERIOD -> key.put("period", periods.labels.get(codes[d]));
+                }
+            }
+            groups.add(new Group(key, count[k], sum[k], min[k], max[k],
+                    Arrays.copyOfRange(histogram, k * HISTOGRAM_BUCKETS, (k + 1) * HISTOGRAM_BUCKETS)));
+        }
+
+        // Dictionary codes follow insertion order; present groups in natural key order
+        groups.sort(Comparator.comparing(Group::key, ScoreColumns::compareKeys));
+        return groups;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Map<String, Object> a, Map<String, Object> b) {
+        for (Map.Entry<String, Object> entry : a.entrySet()) {
+            int cmp = ((Comparable) entry.getValue()).compareTo(b.get(entry.getKey()));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static int minuteOf(LocalDateTime time) {
+        return (int) Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    // ===============================
+    // TIME BUCKETS
+    // ===============================
+    /**
+     * Day-to-bucket lookup over the queried day range, so bucketing a row is one array read.
+     */
+    private static final class Periods {
+
+        final int firstDay;
+        final int[] periodOfDay;
+        final List<String> labels = new ArrayList<>();
+
+        Periods(ScoreQuery.Interval interval, int firstDay, int lastDay) {
+            this.firstDay = firstDay;
+            this.periodOfDay = new int[lastDay - firstDay + 1];
+            LocalDate previous = null;
+            for (int day = firstDay; day <= lastDay; day++) {
+                LocalDate start = bucketStart(interval, LocalDate.ofEpochDay(day));
+                if (!start.equals(previous)) {
+                    labels.add(label(interval, start));
+                    previous = start;
+                }
+                periodOfDay[day - firstDay] = labels.size() - 1;
+            }
+        }
+
+        private static LocalDate bucketStart(ScoreQuery.Interval interval, LocalDate date) {
+            return switch (interval) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+                case YEAR -> date.withDayOfYear(1);
+            };
+        }
+
+        private static String label(ScoreQuery.Interval interval, LocalDate start) {
+            return switch (interval) {
+                case DAY, WEEK -> start.toString();
+                case MONTH -> start.toString().substring(0, 7);
+                case YEAR -> String.valueOf(start.getYear());
+            };
+        }
+    }
+
+    // ===============================
+    // DICTIONARIES
+    // ===============================
+    private static final class Dictionary<T> {
+
+        private final int capacity;
+        private final Map<T, Integer> codes = new ConcurrentHashMap<>();
+        private final List<T> values = new CopyOnWriteArrayList<>();
+
+        Dictionary(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Called under the store's write lock only.
+         */
+        int code(T value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (values.size() >= capacity) {
+                throw new IllegalStateException("Too many distinct values (" + capacity + ")");
+            }
+            values.add(value);
+            codes.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        int lookup(T value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+
+        int lookupIgnoreCase(String value) {
+            for (int i = 0; i < values.size(); i++) {
+                if (((String) values.get(i)).equalsIgnoreCase(value)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        T value(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
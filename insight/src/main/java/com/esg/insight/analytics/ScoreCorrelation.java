@@ -0,0 +1,340 @@
+package com.esg.insight.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Pairwise Pearson correlation of aligned per-period score series, with
+ * companies grouped into clusters of series that move together.
+ *
+ * The upper triangle of the company x company matrix is cut into square
+ * tiles of {@value #TILE} x {@value #TILE} pairs, and the tiles are spread
+ * over a fork-join pool. Within a tile, the row series stay in cache while
+ * the column series stream past.
+ *
+ * Periods without an analysis are NaN. A pair is correlated over the
+ * periods where both companies have a score, and only if there are at
+ * least {@code minOverlap} of them. Series with no gaps are normalised once
+ * up front, so a pair of them costs a single dot product.
+ *
+ * Clusters are the connected components of the graph whose edges are the
+ * pairs with r >= {@code threshold}, i.e. single linkage cut at that
+ * threshold. Tiles add their edges to one lock-free union-find, so no edge
+ * list is ever materialised.
+ */
+public final class ScoreCorrelation {
+
+    static final int TILE = 64;
+    private static final int LEAF_TILES = 2;
+
+    public record Pair(int first, int second, double r, int overlap) {
+    }
+
+    /**
+     * @param clusters index lists of the components with at least two members, largest first
+     * @param matrix   row-major n x n correlations (NaN where undefined), or null if not requested
+     */
+    public record Result(long pairsCompared, List<Pair> topPairs, List<int[]> clusters, float[] matrix) {
+    }
+
+    private final double[][] series;
+    private final int n;
+    private final int periods;
+    private final int minOverlap;
+    private final double threshold;
+    private final int topK;
+    private final float[] matrix;
+
+    // Series without gaps, centred and scaled to unit length; null if gappy or constant
+    private final double[][] normalised;
+    private final AtomicIntegerArray parent;
+    private final int[] tileRow;
+    private final int[] tileColumn;
+
+    private ScoreCorrelation(double[][] series, int minOverlap, double threshold, int topK, boolean withMatrix) {
+        this.series = series;
+        this.n = series.length;
+        this.periods = n == 0 ? 0 : series[0].length;
+        this.minOverlap = Math.max(2, minOverlap);
+        this.threshold = threshold;
+        this.topK = topK;
+        this.matrix = withMatrix ? new float[n * n] : null;
+        this.normalised = new double[n][];
+        this.parent = new AtomicIntegerArray(n);
+
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+            normalised[i] = normalise(series[i]);
+            if (matrix != null) {
+                matrix[i * n + i] = 1f;
+            }
+        }
+
+        int blocks = (n + TILE - 1) / TILE;
+        int tiles = blocks * (blocks + 1) / 2;
+        tileRow = new int[tiles];
+        tileColumn = new int[tiles];
+        int t = 0;
+        for (int row = 0; row < blocks; row++) {
+            for (int column = row; column < blocks; column++) {
+                tileRow[t] = row;
+                tileColumn[t] = column;
+                t++;
+            }
+        }
+    }
+
+    /**
+     * @param series     one row per company, one column per period; NaN = no score that period
+     * @param minOverlap fewest shared periods for a pair to be correlated
+     * @param threshold  r at or above which two companies are put in one cluster
+     * @param topK       how many of the most correlated pairs to return
+     * @param withMatrix whether to also return the full matrix (n * n floats)
+     */
+    public static Result compute(double[][] series, int minOverlap, double threshold, int topK,
+                                 boolean withMatrix, ForkJoinPool pool) {
+        ScoreCorrelation correlation = new ScoreCorrelation(series, minOverlap, threshold, topK, withMatrix);
+        TopPairs top = correlation.tileRow.length == 0
+                ? new TopPairs(topK)
+                : pool.invoke(correlation.new TileTask(0, correlation.tileRow.length));
+        return new Result(top.compared, top.sorted(), correlation.clusters(), correlation.matrix);
+    }
+
+    // ===============================
+    // TILES
+    // ===============================
+    private final class TileTask extends RecursiveTask<TopPairs> {
+
+        private final int from;
+        private final int to;
+
+        TileTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopPairs compute() {
+            if (to - from <= LEAF_TILES) {
+                TopPairs top = new TopPairs(topK);
+                for (int t = from; t < to; t++) {
+                    tile(tileRow[t], tileColumn[t], top);
+                }
+                return top;
+            }
+            int middle = (from + to) >>> 1;
+            TileTask right = new TileTask(middle, to);
+            right.fork();
+            TopPairs left = new TileTask(from, middle).compute();
+            return left.merge(right.join());
+        }
+    }
+
+    private void tile(int rowBlock, int columnBlock, TopPairs top) {
+        int rowEnd = Math.min(n, (rowBlock + 1) * TILE);
+        int columnEnd = Math.min(n, (columnBlock + 1) * TILE);
+        for (int i = rowBlock * TILE; i < rowEnd; i++) {
+            int columnStart = rowBlock == columnBlock ? i + 1 : columnBlock * TILE;
+            for (int j = columnStart; j < columnEnd; j++) {
+                double r;
+                int overlap;
+                if (normalised[i] != null && normalised[j] != null) {
+                    r = dot(normalised[i], normalised[j]);
+                    overlap = periods;
+                } else {
+                    double[] x = series[i];
+                    double[] y = series[j];
+                    int count = 0;
+                    double sx = 0, sy = 0, sxx = 0, syy = 0, sxy = 0;
+                    for (int p = 0; p < periods; p++) {
+                        double a = x[p];
+                        double b = y[p];
+                        if (a == a && b == b) { // neither is NaN
+                            count++;
+                            sx += a;
+                            sy += b;
+                            sxx += a * a;
+                            syy += b * b;
+                            sxy += a * b;
+                        }
+                    }
+                    overlap = count;
+                    double vx = count * sxx - sx * sx;
+                    double vy = count * syy - sy * sy;
+                    r = count < minOverlap || vx <= 0 || vy <= 0
+                            ? Double.NaN
+                            : (count * sxy - sx * sy) / Math.sqrt(vx * vy);
+                }
+                if (overlap < minOverlap || Double.isNaN(r)) {
+                    if (matrix != null) {
+                        matrix[i * n + j] = Float.NaN;
+                        matrix[j * n + i] = Float.NaN;
+                    }
+                    continue;
+                }
+
+                r = Math.max(-1, Math.min(1, r));
+                top.compared++;
+                top.offer(i, j, r, overlap);
+                if (r >= threshold) {
+                    union(i, j);
+                }
+                if (matrix != null) {
+                    matrix[i * n + j] = (float) r;
+                    matrix[j * n + i] = (float) r;
+                }
+            }
+        }
+    }
+
+    private static double dot(double[] x, double[] y) {
+        double sum = 0;
+        for (int p = 0; p < x.length; p++) {
+            sum += x[p] * y[p];
+        }
+        return sum;
+    }
+
+    private double[] normalise(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            if (Double.isNaN(value)) {
+                return null;
+            }
+            sum += value;
+        }
+        if (values.length < minOverlap) {
+            return null;
+        }
+        double mean = sum / values.length;
+        double squares = 0;
+        double[] centred = new double[values.length];
+        for (int p = 0; p < values.length; p++) {
+            centred[p] = values[p] - mean;
+            squares += centred[p] * centred[p];
+        }
+        if (squares <= 0) {
+            return null; // constant: correlation undefined, the slow path yields NaN
+        }
+        double scale = 1 / Math.sqrt(squares);
+        for (int p = 0; p < centred.length; p++) {
+            centred[p] *= scale;
+        }
+        return centred;
+    }
+
+    // ===============================
+    // TOP PAIRS (per task, merged on join)
+    // ===============================
+    private static final class TopPairs {
+
+        private static final Comparator<Pair> WEAKEST_FIRST = Comparator.comparingDouble(Pair::r)
+                .thenComparing(Pair::first, Comparator.reverseOrder())
+                .thenComparing(Pair::second, Comparator.reverseOrder());
+
+        private final int capacity;
+        private final PriorityQueue<Pair> heap;
+        long compared;
+
+        TopPairs(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(Math.max(1, capacity), WEAKEST_FIRST);
+        }
+
+        void offer(int first, int second, double r, int overlap) {
+            if (capacity == 0) {
+                return;
+            }
+            if (heap.size() < capacity) {
+                heap.add(new Pair(first, second, r, overlap));
+                return;
+            }
+            Pair weakest = heap.peek();
+            if (r < weakest.r()) {
+                return;
+            }
+            Pair pair = new Pair(first, second, r, overlap);
+            if (WEAKEST_FIRST.compare(pair, weakest) > 0) {
+                heap.poll();
+                heap.add(pair);
+            }
+        }
+
+        TopPairs merge(TopPairs other) {
+            compared += other.compared;
+            for (Pair pair : other.heap) {
+                offer(pair.first(), pair.second(), pair.r(), pair.overlap());
+            }
+            return this;
+        }
+
+        List<Pair> sorted() {
+            List<Pair> pairs = new ArrayList<>(heap);
+            pairs.sort(WEAKEST_FIRST.reversed());
+            return pairs;
+        }
+    }
+
+    // ===============================
+    // CLUSTERS (lock-free union-find)
+    // ===============================
+    private int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent); // path halving; losing the race is harmless
+            }
+            x = grandparent;
+        }
+    }
+
+    private void union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return;
+            }
+            // Always hang the larger index under the smaller, so links never form a cycle
+            int child = Math.max(rootA, rootB);
+            int root = Math.min(rootA, rootB);
+            if (parent.compareAndSet(child, child, root)) {
+                return;
+            }
+        }
+    }
+
+    private List<int[]> clusters() {
+        int[] size = new int[n];
+        int[] rootOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            rootOf[i] = find(i);
+            size[rootOf[i]]++;
+        }
+        int[][] members = new int[n][];
+        int[] filled = new int[n];
+        List<int[]> clusters = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int root = rootOf[i];
+            if (size[root] < 2) {
+                continue;
+            }
+            if (members[root] == null) {
+                members[root] = new int[size[root]];
+                clusters.add(members[root]);
+            }
+            members[root][filled[root]++] = i;
+        }
+        clusters.sort(Comparator.comparingInt((int[] c) -> c.length).reversed().thenComparingInt(c -> c[0]));
+        return clusters;
+    }
+}
@@ -0,0 +1,35 @@
+package com.esg.insight.analytics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filter, grouping and time bucket of one {@link ScoreColumns#aggregate} call.
+ * Null filters match everything; {@code to} is exclusive.
+ */
+public record ScoreQuery(
+        LocalDateTime from,
+        LocalDateTime to,
+        Long companyId,
+        String sector,
+        String riskLevel,
+        List<Dimension> groupBy,
+        Interval interval
+) {
+
+    public enum Dimension {
+        SECTOR, RISK_LEVEL, COMPANY, PERIOD
+    }
+
+    public enum Interval {
+        DAY, WEEK, MONTH, YEAR
+    }
+
+    public ScoreQuery {
+        groupBy = groupBy == null ? List.of() : List.copyOf(groupBy);
+        interval = interval == null ? Interval.MONTH : interval;
+        if (groupBy.stream().distinct().count() != groupBy.size()) {
+            throw new IllegalArgumentException("groupBy lists a dimension twice");
+        }
+    }
+}
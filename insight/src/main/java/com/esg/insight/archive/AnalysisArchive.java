@@ -0,0 +1,300 @@
+package com.esg.insight.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local archive of cold esg_analyses months.
+ *
+ * Each month is two files:
+ * <ul>
+ *   <li>{@code esg_analyses_YYYY_MM.ndjson.gz}: NDJSON rows, one gzip member per
+ *       company, concatenated (still a valid gzip stream as a whole)</li>
+ *   <li>{@code esg_analyses_YYYY_MM.index.json}: byte offset, length and row count
+ *       of every company's member, so a history read decompresses only its own rows</li>
+ * </ul>
+ * The index is written last and its presence marks the month as complete.
+ *
+ * Archived months are dropped from the database, so these files are their
+ * only copy: the directory must be durable and shared by every instance.
+ * With archiving enabled, startup fails unless it is set and writable.
+ * Without a directory there is nothing archived to read.
+ */
+@Component
+public class AnalysisArchive {
+
+    private static final String PREFIX = "esg_analyses_";
+    private static final String DATA_SUFFIX = ".ndjson.gz";
+    private static final String INDEX_SUFFIX = ".index.json";
+
+    private final Path directory; // null when esg.archive.dir is not set
+    private final ObjectMapper objectMapper;
+    private final Map<YearMonth, MonthIndex> indexCache = new ConcurrentHashMap<>();
+
+    public AnalysisArchive(
+            @Value("${esg.archive.dir:}") String directory,
+            @Value("${esg.archive.enabled:false}") boolean archiving,
+            ObjectMapper objectMapper
+    ) {
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        this.objectMapper = objectMapper;
+        if (archiving) {
+            checkWritable();
+        }
+    }
+
+    /**
+     * Fails unless months can be written: the directory is set, exists or can
+     * be created, and a file can be created in it.
+     */
+    private void checkWritable() {
+        if (directory == null) {
+            throw new IllegalStateException(
+                    "esg.archive.enabled=true requires esg.archive.dir (ARCHIVE_DIR) on durable storage shared by all instances");
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.delete(Files.createTempFile(directory, ".write-check", null));
+        } catch (IOException e) {
+            throw new IllegalStateException("Archive directory " + directory + " is not writable", e);
+        }
+    }
+
+    public record Segment(long offset, int length, int rows) {
+    }
+
+    public record MonthIndex(String month, int rows, Map<Long, Segment> companies) {
+    }
+
+    // ===============================
+    // READ
+    // ===============================
+    public NavigableSet<YearMonth> archivedMonths() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return months;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(INDEX_SUFFIX))
+                    .map(name -> name.substring(PREFIX.length(), name.length() - INDEX_SUFFIX.length()).replace('_', '-'))
+                    .map(YearMonth::parse)
+                    .forEach(months::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return months;
+    }
+
+    /**
+     * @return the company's archived rows for the month, newest first; empty if none
+     */
+    public List<ArchivedAnalysis> read(YearMonth month, Long companyId) {
+        MonthIndex index = index(month);
+        Segment segment = index == null ? null : index.companies().get(companyId);
+        if (segment == null) {
+            return List.of();
+        }
+        return readSegment(dataFile(month), segment);
+    }
+
+    /**
+     * Decompresses every member of a month and checks the total against its index.
+     *
+     * @return number of rows read
+     */
+    public int verify(YearMonth month) {
+        MonthIndex index = index(month);
+        if (index == null) {
+            throw new IllegalStateException("No archive for " + month);
+        }
+        int rows = 0;
+        for (Segment segment : index.companies().values()) {
+            int read = readSegment(dataFile(month), segment).size();
+            if (read != segment.rows()) {
+                throw new IllegalStateException("Archive " + month + " segment holds " + read + " rows, index says " + segment.rows());
+            }
+            rows += read;
+        }
+        if (rows != index.rows()) {
+            throw new IllegalStateException("Archive " + month + " holds " + rows + " rows, index says " + index.rows());
+        }
+        return rows;
+    }
+
+    private MonthIndex index(YearMonth month) {
+        if (directory == null) {
+            return null;
+        }
+        return indexCache.computeIfAbsent(month, m -> {
+            Path file = indexFile(m);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            try {
+                return objectMapper.readValue(file.toFile(), MonthIndex.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private List<ArchivedAnalysis> readSegment(Path file, Segment segment) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(segment.length());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, segment.offset() + buffer.position()) < 0) {
+                    throw new IOException("Archive " + file.getFileName() + " is truncated");
+                }
+            }
+
+            List<ArchivedAnalysis> rows = new ArrayList<>(segment.rows());
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(buffer.array())), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    rows.add(objectMapper.readValue(line, ArchivedAnalysis.class));
+                }
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===============================
+    // WRITE
+    // ===============================
+    /**
+     * Starts writing a month. Rows must arrive grouped by company; nothing is
+     * visible to readers until {@link MonthWriter#commit()}.
+     */
+    public MonthWriter open(YearMonth month) throws IOException {
+        if (directory == null) {
+            throw new IllegalStateException("esg.archive.dir is not set");
+        }
+        Files.createDirectories(directory);
+        if (Files.exists(indexFile(month))) {
+            throw new IllegalStateException("Archive for " + month + " already exists");
+        }
+        return new MonthWriter(month);
+    }
+
+    public final class MonthWriter implements Closeable {
+
+        private final YearMonth month;
+        private final Path tmpData;
+        private final FileChannel channel;
+        private final Map<Long, Segment> segments = new LinkedHashMap<>();
+
+        private Long currentCompany;
+        private ByteArrayOutputStream currentBytes;
+        private GZIPOutputStream currentMember;
+        private int currentRows;
+        private int totalRows;
+        private boolean committed;
+
+        private MonthWriter(YearMonth month) throws IOException {
+            this.month = month;
+            this.tmpData = dataFile(month).resolveSibling(dataFile(month).getFileName() + ".tmp");
+            this.channel = FileChannel.open(tmpData,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        public void add(ArchivedAnalysis row) throws IOException {
+            if (!row.companyId().equals(currentCompany)) {
+                finishMember();
+                if (segments.containsKey(row.companyId())) {
+                    throw new IllegalStateException("Rows for company " + row.companyId() + " are not contiguous");
+                }
+                currentCompany = row.companyId();
+                currentBytes = new ByteArrayOutputStream();
+                currentMember = new GZIPOutputStream(currentBytes);
+            }
+            currentMember.write(objectMapper.writeValueAsBytes(row));
+            currentMember.write('\n');
+            currentRows++;
+            totalRows++;
+        }
+
+        /**
+         * Flushes data and index to disk and publishes the month.
+         *
+         * @return number of rows archived
+         */
+        public int commit() throws IOException {
+            finishMember();
+            channel.force(true);
+            channel.close();
+
+            Path tmpIndex = indexFile(month).resolveSibling(indexFile(month).getFileName() + ".tmp");
+            Files.write(tmpIndex, objectMapper.writeValueAsBytes(new MonthIndex(month.toString(), totalRows, segments)));
+            try (FileChannel indexChannel = FileChannel.open(tmpIndex, StandardOpenOption.WRITE)) {
+                indexChannel.force(true);
+            }
+
+            Files.move(tmpData, dataFile(month), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmpIndex, indexFile(month), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            indexCache.remove(month);
+            committed = true;
+            return totalRows;
+        }
+
+        private void finishMember() throws IOException {
+            if (currentMember == null) {
+                return;
+            }
+            currentMember.finish();
+            byte[] bytes = currentBytes.toByteArray();
+            long offset = channel.position();
+            channel.write(ByteBuffer.wrap(bytes));
+            segments.put(currentCompany, new Segment(offset, bytes.length, currentRows));
+            currentMember = null;
+            currentBytes = null;
+            currentRows = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(tmpData);
+            }
+        }
+    }
+
+    private Path dataFile(YearMonth month) {
+        return directory.resolve(PREFIX + month.toString().replace('-', '_') + DATA_SUFFIX);
+    }
+
+    private Path indexFile(YearMonth month) {
+        return directory.resolve(PREFIX + month.toString().replace('-', '_') + INDEX_SUFFIX);
+    }
+}
@@ -0,0 +1,22 @@
+package com.esg.insight.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+
+/**
+ * One esg_analyses row as stored in a monthly archive file. The payload is
+ * kept as raw JSON so archiving never drops fields the typed model ignores.
+ */
+public record ArchivedAnalysis(
+        Long id,
+        Long companyId,
+        String newsText,
+        Integer esgScore,
+        String riskLevel,
+        String analystSummary,
+        JsonNode analysisPayload,
+        Long duplicateOfId,
+        LocalDateTime createdAt
+) {
+}
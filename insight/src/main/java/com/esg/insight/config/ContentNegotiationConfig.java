@@ -0,0 +1,43 @@
+package com.esg.insight.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary encodings for API clients that ask for them:
+ * {@code Accept: application/x-jackson-smile} or {@code Accept: application/cbor}.
+ *
+ * Both converters reuse the application's Jackson settings and are appended
+ * after JSON, so {@code Accept: *}{@code /*} and browsers keep getting JSON.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    @Bean
+    public WebMvcConfigurer binaryEncodingConfigurer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(converter ->
+                        converter instanceof MappingJackson2SmileHttpMessageConverter
+                                || converter instanceof MappingJackson2CborHttpMessageConverter
+                );
+                converters.add(new MappingJackson2SmileHttpMessageConverter(
+                        objectMapperBuilder.factory(new SmileFactory()).build()
+                ));
+                converters.add(new MappingJackson2CborHttpMessageConverter(
+                        objectMapperBuilder.factory(new CBORFactory()).build()
+                ));
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.esg.insight.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fails startup when an index the read paths depend on is missing, e.g. a
+ * database restored from a dump taken before the migrations ran. Without
+ * them history and incident queries still work, just as sequential scans.
+ */
+@Component
+public class SchemaIndexCheck implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_esg_analyses_company_created",
+            "idx_esg_analyses_risk_score",
+            "idx_esg_analyses_originals",
+            "idx_esg_incidents_category_created",
+            "idx_esg_incidents_pillar_severity_created",
+            "idx_esg_incidents_company_created",
+            "idx_esg_incidents_analysis"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaIndexCheck(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.schema.verify-indexes:true}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        Set<String> present = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()",
+                String.class
+        ));
+        List<String> missing = REQUIRED_INDEXES.stream().filter(name -> !present.contains(name)).toList();
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException(
+                    "Missing database indexes " + missing + "; run the Flyway migrations in db/migration"
+            );
+        }
+        log.info("Schema index check passed ({} indexes)", REQUIRED_INDEXES.size());
+    }
+}
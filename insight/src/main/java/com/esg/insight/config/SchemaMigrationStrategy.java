@@ -0,0 +1,37 @@
+package com.esg.insight.config;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the Flyway migrations at startup unless {@code spring.flyway.enabled=false}.
+ *
+ * Spring Boot normally drops Flyway altogether for that property, but AOT
+ * builds (fast-start) fix auto-configuration conditions at build time, so the
+ * property is checked again here. The CDS training run of
+ * Dockerfile.fast-start relies on this to refresh the context without a database.
+ */
+@Component
+public class SchemaMigrationStrategy implements FlywayMigrationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrationStrategy.class);
+
+    private final boolean enabled;
+
+    public SchemaMigrationStrategy(@Value("${spring.flyway.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        if (!enabled) {
+            log.info("Schema migrations skipped (spring.flyway.enabled=false)");
+            return;
+        }
+        flyway.migrate();
+    }
+}
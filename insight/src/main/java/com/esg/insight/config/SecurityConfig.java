@@ -63,7 +63,8 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/companies/**",
                                 "/api/esg/analyze",
-                                "/api/esg/history/**"
+                                "/api/esg/history/**",
+                                "/api/esg/compare"
                         ).permitAll()
 
                         // Everything else secured
@@ -0,0 +1,53 @@
+package com.esg.insight.config;
+
+import com.esg.insight.ai.AIClient;
+import com.esg.insight.security.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Under the lazy-init {@code fast-start} profile, keeps the beans every first
+ * request needs out of the lazy path: {@link AIClient} and {@link JwtUtil} are
+ * created with the context, and once the app is ready the Hikari pool is
+ * opened and a token round-trip loads the JWT crypto classes.
+ */
+@Component
+@Profile("fast-start")
+@Lazy(false)
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final DataSource dataSource;
+    private final JwtUtil jwtUtil;
+
+    public StartupWarmup(AIClient aiClient, DataSource dataSource, JwtUtil jwtUtil) {
+        this.dataSource = dataSource;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        Thread thread = new Thread(() -> {
+            long started = System.currentTimeMillis();
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(5);
+            } catch (SQLException e) {
+                log.warn("Connection pool warm-up failed: {}", e.getMessage());
+            }
+            jwtUtil.validateToken(jwtUtil.generateToken("warmup@localhost", "ANALYST"));
+            log.info("Startup warm-up finished in {}ms", System.currentTimeMillis() - started);
+        }, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,37 @@
+package com.esg.insight.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * With {@code spring.threads.virtual.enabled=true} Tomcat serves every request
+ * on its own virtual thread, so thousands of requests can wait on the AI
+ * service at once. The two-connection pool is then the scarce resource:
+ * checkout is gated by {@link BoundedDataSource}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int maxConnections = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        long acquireTimeoutMs = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, maxConnections, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.esg.insight.controller;
+
+import com.esg.insight.analytics.ScoreQuery;
+import com.esg.insight.dto.CorrelationResponse;
+import com.esg.insight.dto.ScoreAnalyticsResponse;
+import com.esg.insight.service.CorrelationService;
+import com.esg.insight.service.PortfolioAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final CorrelationService correlationService;
+
+    /**
+     * Score count / average / min / max / distribution over all analyses matching the filters,
+     * grouped by any of {@code sector, risk_level, company, period} (e.g. {@code groupBy=sector,period}),
+     * with {@code interval} = day | week | month | year for the period buckets
+     */
+    @GetMapping("/scores")
+    public ScoreAnalyticsResponse scores(
+            @RequestParam(required = false, defaultValue = "") String groupBy,
+            @RequestParam(required = false, defaultValue = "month") String interval,
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) String riskLevel,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        List<ScoreQuery.Dimension> dimensions = Arrays.stream(groupBy.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> parse(ScoreQuery.Dimension.class, name, "groupBy"))
+                .toList();
+
+        return portfolioAnalyticsService.scores(new ScoreQuery(
+                from, to, companyId, sector, riskLevel, dimensions,
+                parse(ScoreQuery.Interval.class, interval, "interval")
+        ));
+    }
+
+    /**
+     * Pairwise correlation of per-period average scores (default: monthly over the last two years),
+     * the most correlated pairs, and clusters of companies linked by correlation >= {@code threshold};
+     * {@code matrix=true} adds the full matrix for small company sets
+     */
+    @GetMapping("/correlations")
+    public CorrelationResponse correlations(
+            @RequestParam(required = false, defaultValue = "month") String interval,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false, defaultValue = "6") int minPeriods,
+            @RequestParam(required = false, defaultValue = "0.8") double threshold,
+            @RequestParam(required = false, defaultValue = "50") int limit,
+            @RequestParam(required = false, defaultValue = "false") boolean matrix
+    ) {
+        return correlationService.correlations(
+                from, to, parse(ScoreQuery.Interval.class, interval, "interval"),
+                sector, minPeriods, threshold, limit, matrix
+        );
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String parameter) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + parameter + " value: " + value);
+        }
+    }
+}
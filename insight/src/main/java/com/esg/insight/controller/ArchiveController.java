@@ -0,0 +1,31 @@
+package com.esg.insight.controller;
+
+import com.esg.insight.service.PartitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final PartitionService partitionService;
+
+    /**
+     * Live monthly partitions and archived months
+     */
+    @GetMapping
+    public Map<String, Object> status() {
+        return partitionService.status();
+    }
+
+    /**
+     * Create upcoming partitions and archive cold months now instead of waiting for the daily run
+     */
+    @PostMapping("/maintenance")
+    public Map<String, Object> maintenance() {
+        return partitionService.runMaintenance();
+    }
+}
@@ -46,4 +46,29 @@ public class AuthController {
                 "role", result.get("role")
         );
     }
+
+    // ===============================
+    // LOGOUT (REVOKES THIS TOKEN)
+    // ===============================
+    @PostMapping("/logout")
+    public Map<String, Object> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("Bearer token required");
+        }
+        authService.logout(authorization.substring(7));
+
+        return Map.of("revoked", true);
+    }
+
+    // ===============================
+    // ADMIN ONLY — REVOKE ALL TOKENS OF A USER (E.G. AFTER A ROLE CHANGE)
+    // ===============================
+    @PostMapping("/revoke")
+    public Map<String, Object> revoke(@RequestBody Map<String, String> request) {
+
+        authService.revokeUser(request.get("email"));
+
+        return Map.of("revoked", true, "email", request.get("email"));
+    }
 }
@@ -1,9 +1,14 @@
 package com.esg.insight.controller;
 
+import com.esg.insight.dto.CompanySuggestResponse;
 import com.esg.insight.entity.Company;
 import com.esg.insight.service.CompanyService;
+import com.esg.insight.service.CompanySuggestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -13,6 +18,7 @@ import java.util.List;
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final CompanySuggestService companySuggestService;
 
     @PostMapping
     public Company createCompany(@RequestBody Company company) {
@@ -20,8 +26,23 @@ public class CompanyController {
     }
 
     @GetMapping
-    public List<Company> getCompanies() {
-        return companyService.getAllCompanies();
+    public ResponseEntity<List<Company>> getCompanies(WebRequest request) {
+        String etag = companyService.getCompaniesETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(companyService.getAllCompanies());
+    }
+
+    @GetMapping("/suggest")
+    public CompanySuggestResponse suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return companySuggestService.suggest(q, limit);
     }
 
     @DeleteMapping("/{id}")
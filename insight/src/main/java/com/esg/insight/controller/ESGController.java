@@ -1,12 +1,22 @@
 package com.esg.insight.controller;
 
+import com.esg.insight.ai.Deadline;
+import com.esg.insight.ai.DeadlinePolicy;
+import com.esg.insight.dto.CompareRequest;
+import com.esg.insight.dto.CompareResponse;
 import com.esg.insight.dto.ESGHistoryResponse;
 import com.esg.insight.dto.ESGRequest;
 import com.esg.insight.dto.ESGResponse;
+import com.esg.insight.service.ComparisonService;
 import com.esg.insight.service.ESGAnalysisService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,20 +25,60 @@ import java.util.List;
 public class ESGController {
 
     private final ESGAnalysisService esgAnalysisService;
+    private final ComparisonService comparisonService;
+    private final DeadlinePolicy deadlinePolicy;
 
     /**
-     * Trigger ISS-style ESG analysis for a company
+     * Trigger ISS-style ESG analysis for a company.
+     * Clients may send {@code X-Request-Timeout-Ms} to bound how long the AI call may run.
      */
     @PostMapping("/analyze")
-    public ESGResponse analyze(@RequestBody ESGRequest request) {
-        return esgAnalysisService.analyze(request);
+    public ESGResponse analyze(
+            @RequestBody ESGRequest request,
+            @RequestHeader(value = Deadline.HEADER, required = false) Long timeoutMs
+    ) {
+        return esgAnalysisService.analyze(request, deadlinePolicy.forAnalyze(timeoutMs));
     }
 
     /**
-     * Fetch historical ESG analysis snapshots (audit-safe)
+     * Fetch historical ESG analysis snapshots (audit-safe).
+     * A matching {@code If-None-Match} is answered with 304 before any query runs.
+     * With {@code from}/{@code to} the range is filtered in SQL, and a {@code from}
+     * older than the retention window also reads the archived months.
+     * With {@code points} the series is downsampled to that many snapshots for charting
+     * (shape-preserving, without payloads).
+     * With {@code changes=true} each snapshot carries only what changed since the
+     * previous one (a JSON merge patch), and the oldest carries the full payload.
      */
     @GetMapping("/history/{companyId}")
-    public List<ESGHistoryResponse> history(@PathVariable Long companyId) {
-        return esgAnalysisService.getHistory(companyId);
+    public ResponseEntity<List<ESGHistoryResponse>> history(
+            @PathVariable Long companyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer points,
+            @RequestParam(defaultValue = "false") boolean changes,
+            WebRequest request
+    ) {
+        String etag = esgAnalysisService.getHistoryETag(companyId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(points != null
+                        ? esgAnalysisService.getDownsampledHistory(companyId, from, to, points)
+                        : changes
+                        ? esgAnalysisService.getHistoryChanges(companyId, from, to)
+                        : esgAnalysisService.getHistory(companyId, from, to));
+    }
+
+    /**
+     * Per-period score series for several companies over one range, aligned on the same periods.
+     * One query for all companies; full payloads are not included.
+     */
+    @PostMapping("/compare")
+    public CompareResponse compare(@RequestBody CompareRequest request) {
+        return comparisonService.compare(request);
     }
 }
@@ -1,18 +1,54 @@
 package com.esg.insight.controller;
 
+import com.esg.insight.ai.AIClient;
+import com.esg.insight.service.ShutdownCoordinator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final AIClient aiClient;
+    private final ShutdownCoordinator shutdownCoordinator;
+
     @GetMapping("/")
     public String home() {
         return "OK";
     }
 
+    /**
+     * 503 while draining for shutdown, so the load balancer stops routing here
+     */
     @GetMapping("/health")
-    public String health() {
-        return "UP";
+    public ResponseEntity<String> health() {
+        return shutdownCoordinator.isDraining()
+                ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("DRAINING")
+                : ResponseEntity.ok("UP");
+    }
+
+    /**
+     * Per-replica AI service metrics (authenticated; not part of the public health check)
+     */
+    @GetMapping("/health/ai")
+    public Map<String, Object> aiHealth() {
+        return Map.of(
+                "endpoints", aiClient.endpointStats(),
+                "hedgesSent", aiClient.hedgesSent(),
+                "hedgesWon", aiClient.hedgesWon()
+        );
+    }
+
+    /**
+     * In-flight analyses, checkpoints waiting to resume, and the last shutdown drain (authenticated)
+     */
+    @GetMapping("/health/drain")
+    public Map<String, Object> drainHealth() {
+        return shutdownCoordinator.status();
     }
 }
@@ -0,0 +1,49 @@
+package com.esg.insight.controller;
+
+import com.esg.insight.dto.IncidentResponse;
+import com.esg.insight.dto.PageResponse;
+import com.esg.insight.service.IncidentIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/incidents")
+@RequiredArgsConstructor
+public class IncidentController {
+
+    private final IncidentIndexService incidentIndexService;
+
+    /**
+     * Filter indexed ESG incidents across the portfolio, newest first.
+     * {@code days} is a shortcut for {@code from = now - days}.
+     */
+    @GetMapping
+    public PageResponse<IncidentResponse> search(
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) String pillar,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        if (days != null) {
+            from = LocalDateTime.now().minusDays(days);
+        }
+        return incidentIndexService.search(companyId, pillar, category, severity, from, to, page, size);
+    }
+
+    /**
+     * Index incidents for analyses written before the index existed
+     */
+    @PostMapping("/backfill")
+    public Map<String, Object> backfill() {
+        return Map.of("indexed", incidentIndexService.backfill());
+    }
+}
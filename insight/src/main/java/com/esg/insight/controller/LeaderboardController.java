@@ -0,0 +1,44 @@
+package com.esg.insight.controller;
+
+import com.esg.insight.dto.LeaderboardResponse;
+import com.esg.insight.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Companies ranked by latest ESG score across the portfolio,
+     * {@code order} = riskiest (lowest score first) | safest
+     */
+    @GetMapping
+    public LeaderboardResponse all(
+            @RequestParam(required = false, defaultValue = "riskiest") String order,
+            @RequestParam(required = false, defaultValue = "20") int limit
+    ) {
+        return leaderboardService.leaderboard("all", null, order, limit);
+    }
+
+    @GetMapping("/sector/{sector}")
+    public LeaderboardResponse bySector(
+            @PathVariable String sector,
+            @RequestParam(required = false, defaultValue = "riskiest") String order,
+            @RequestParam(required = false, defaultValue = "20") int limit
+    ) {
+        return leaderboardService.leaderboard("sector", sector, order, limit);
+    }
+
+    @GetMapping("/country/{country}")
+    public LeaderboardResponse byCountry(
+            @PathVariable String country,
+            @RequestParam(required = false, defaultValue = "riskiest") String order,
+            @RequestParam(required = false, defaultValue = "20") int limit
+    ) {
+        return leaderboardService.leaderboard("country", country, order, limit);
+    }
+}
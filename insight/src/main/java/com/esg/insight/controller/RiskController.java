@@ -0,0 +1,48 @@
+package com.esg.insight.controller;
+
+import com.esg.insight.dto.RescoreStatus;
+import com.esg.insight.dto.RiskThresholdsRequest;
+import com.esg.insight.service.ESGScoreEngine;
+import com.esg.insight.service.RiskRescoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/risk")
+@RequiredArgsConstructor
+public class RiskController {
+
+    private final RiskRescoringService riskRescoringService;
+
+    /**
+     * Active risk thresholds: default band plus per-sector overrides
+     */
+    @GetMapping("/thresholds")
+    public ESGScoreEngine.Thresholds thresholds() {
+        return riskRescoringService.getThresholds();
+    }
+
+    /**
+     * Publish new thresholds as the next version and re-score the stored history in the background
+     */
+    @PutMapping("/thresholds")
+    public ESGScoreEngine.Thresholds publish(@RequestBody RiskThresholdsRequest request) {
+        return riskRescoringService.publishThresholds(request);
+    }
+
+    /**
+     * Progress of the current or last re-score
+     */
+    @GetMapping("/rescore")
+    public RescoreStatus rescoreStatus() {
+        return riskRescoringService.getStatus();
+    }
+
+    /**
+     * Re-score the stored history with the active thresholds, e.g. after an interrupted run
+     */
+    @PostMapping("/rescore")
+    public RescoreStatus rescore() {
+        return riskRescoringService.rescore();
+    }
+}
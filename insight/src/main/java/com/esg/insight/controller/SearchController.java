@@ -0,0 +1,43 @@
+package com.esg.insight.controller;
+
+import com.esg.insight.dto.SearchResponse;
+import com.esg.insight.service.AnalysisSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/esg/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final AnalysisSearchService analysisSearchService;
+
+    /**
+     * Ranked full-text search over news text, analyst summaries, company names and sectors,
+     * with risk level / sector / month facets
+     */
+    @GetMapping
+    public SearchResponse search(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false) String riskLevel,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return analysisSearchService.search(q, riskLevel, sector, from, to, page, size);
+    }
+
+    /**
+     * Re-index every analysis from esg_analyses in place, then drop documents the rebuild did not touch
+     */
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        return Map.of("indexed", analysisSearchService.rebuild());
+    }
+}
@@ -0,0 +1,20 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class CompanyCluster {
+
+    private int size;
+
+    // sector -> member count; members spanning sectors hint at a shared supply chain
+    private Map<String, Integer> sectors;
+
+    private List<Long> companyIds;
+    private List<String> companyNames;
+}
@@ -0,0 +1,18 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class CompanySeries {
+
+    private Long companyId;
+    private String companyName;
+
+    // metric -> one value per period of the response, null where the company has no analyses
+    private Map<String, List<Number>> series;
+}
@@ -0,0 +1,19 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CompanySuggestResponse {
+
+    private String query;
+
+    // False while the index is still being loaded after startup
+    private boolean complete;
+    private long tookMicros;
+
+    private List<CompanySuggestion> suggestions;
+}
@@ -0,0 +1,17 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CompanySuggestion {
+
+    private Long companyId;
+    private String name;
+    private String sector;
+    private String country;
+
+    // Match quality; higher is better (name matches outrank sector/country)
+    private int score;
+}
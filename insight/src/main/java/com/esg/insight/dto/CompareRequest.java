@@ -0,0 +1,22 @@
+package com.esg.insight.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class CompareRequest {
+
+    private List<Long> companyIds;
+
+    // [from, to)
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // avg_score | min_score | max_score | last_score | analyses | high_risk; defaults to avg_score
+    private List<String> metrics;
+
+    // day | week | month | year; defaults to month
+    private String interval;
+}
@@ -0,0 +1,20 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class CompareResponse {
+
+    private String interval;
+    private List<String> metrics;
+
+    // Start of every period in the range; each series has one value per period
+    private List<LocalDateTime> periods;
+
+    private List<CompanySeries> companies;
+}
@@ -0,0 +1,18 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CorrelatedPair {
+
+    private Long companyId;
+    private String companyName;
+    private Long peerId;
+    private String peerName;
+
+    // Pearson r of the two score series over the periods both have a score in
+    private double correlation;
+    private int sharedPeriods;
+}
@@ -0,0 +1,40 @@
+package com.esg.insight.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class CorrelationResponse {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String interval;
+    private int periods;
+    private int minPeriods;
+    private double threshold;
+
+    // Companies with at least minPeriods scored periods; the rest are left out
+    private int companies;
+    private int excludedCompanies;
+    private long pairsCompared;
+
+    private LocalDateTime computedAt;
+    private long tookMillis;
+
+    // Most positively correlated pairs first
+    private List<CorrelatedPair> topPairs;
+
+    // Groups linked by pairs with correlation >= threshold, largest first
+    private List<CompanyCluster> clusters;
+
+    // Only when requested: row/column order of matrix, NaN cells as null
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> matrixCompanyIds;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<List<Float>> matrix;
+}
@@ -0,0 +1,24 @@
+package com.esg.insight.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Full ISS-style snapshot returned by the AI service.
+ *
+ * Bound straight from the HTTP response stream and stored as JSON in a
+ * content-addressed esg_blobs row, so the wire shape must stay in sync
+ * with {@code ai-service/nlp.py}. Unknown fields are ignored.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ESGAnalysisPayload(
+        OverallAssessment overallAssessment,
+        PillarAssessments pillarAssessment,
+        List<KeyIncident> keyIncidents,
+        GovernanceAssessment governanceAssessment,
+        String analystSummary
+) {
+}
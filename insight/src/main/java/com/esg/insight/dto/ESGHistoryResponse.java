@@ -1,10 +1,11 @@
 package com.esg.insight.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Data
 @Builder
@@ -30,11 +31,21 @@ public class ESGHistoryResponse {
       - keyIncidents
       - governanceAssessment
       - analystSummary
+      Left out of downsampled (chart) histories, and of all but the
+      oldest snapshot in the changes view
     */
-    private Map<String, Object> analysisPayload;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ESGAnalysisPayload analysisPayload;
+
+    // JSON merge patch (RFC 7396) from the next older snapshot; changes view only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private JsonNode changes;
 
     // ===============================
     // METADATA
     // ===============================
     private LocalDateTime timestamp;
+
+    // Id of the earlier analysis whose result was reused for a near-duplicate article
+    private Long duplicateOf;
 }
@@ -5,7 +5,6 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
@@ -16,13 +15,13 @@ public class ESGResponse {
     // ===============================
     // ISS-STYLE OVERALL ASSESSMENT
     // ===============================
-    private Map<String, Object> overallAssessment;
+    private OverallAssessment overallAssessment;
     // { esgScore: int, riskLevel: String }
 
     // ===============================
     // PILLAR-LEVEL ASSESSMENT (E / S / G)
     // ===============================
-    private Map<String, Object> pillarAssessment;
+    private PillarAssessments pillarAssessment;
     /*
       E: { score, risk, drivers[] }
       S: { score, risk, drivers[] }
@@ -32,7 +31,7 @@ public class ESGResponse {
     // ===============================
     // KEY ESG INCIDENTS
     // ===============================
-    private List<Map<String, Object>> keyIncidents;
+    private List<KeyIncident> keyIncidents;
     /*
       [
         { pillar, incident, severity, evidence[] }
@@ -42,7 +41,7 @@ public class ESGResponse {
     // ===============================
     // GOVERNANCE ASSESSMENT
     // ===============================
-    private Map<String, Object> governanceAssessment;
+    private GovernanceAssessment governanceAssessment;
     /*
       { overallRisk, concerns[] }
     */
@@ -56,4 +55,7 @@ public class ESGResponse {
     // METADATA
     // ===============================
     private LocalDateTime timestamp;
+
+    // Id of the earlier analysis whose result was reused for a near-duplicate article
+    private Long duplicateOf;
 }
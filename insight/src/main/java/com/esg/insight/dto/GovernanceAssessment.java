@@ -0,0 +1,14 @@
+package com.esg.insight.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GovernanceAssessment(
+        String overallRisk,
+        List<String> concerns
+) {
+}
@@ -0,0 +1,22 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class IncidentResponse {
+
+    private Long incidentId;
+    private Long analysisId;
+    private Long companyId;
+
+    private String pillar;
+    private String category;
+    private String severity;
+    private String incident;
+
+    private LocalDateTime timestamp;
+}
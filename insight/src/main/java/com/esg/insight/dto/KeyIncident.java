@@ -0,0 +1,16 @@
+package com.esg.insight.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record KeyIncident(
+        String pillar,   // E | S | G
+        String incident,
+        String severity, // MEDIUM | HIGH
+        List<String> evidence
+) {
+}
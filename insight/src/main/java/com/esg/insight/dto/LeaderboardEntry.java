@@ -0,0 +1,22 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class LeaderboardEntry {
+
+    private int rank;
+    private Long companyId;
+    private String companyName;
+    private String sector;
+    private String country;
+
+    // From the company's latest analysis
+    private Integer esgScore;
+    private String riskLevel;
+    private LocalDateTime timestamp;
+}
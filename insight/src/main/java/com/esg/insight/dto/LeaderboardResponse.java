@@ -0,0 +1,20 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class LeaderboardResponse {
+
+    private String scope;   // all | sector | country
+    private String value;   // sector or country name, null for all
+    private String order;   // riskiest | safest
+
+    // false while the rankings are still loading after startup
+    private boolean complete;
+
+    private List<LeaderboardEntry> entries;
+}
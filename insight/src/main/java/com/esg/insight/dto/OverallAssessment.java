@@ -0,0 +1,12 @@
+package com.esg.insight.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OverallAssessment(
+        Integer esgScore,
+        String riskLevel // LOW | MEDIUM | HIGH
+) {
+}
@@ -0,0 +1,19 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Slice-style page: no total count, so the query never needs a COUNT(*).
+ */
+@Data
+@Builder
+public class PageResponse<T> {
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
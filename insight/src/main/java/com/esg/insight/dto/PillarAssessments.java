@@ -0,0 +1,17 @@
+package com.esg.insight.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * E / S / G pillar scores, keyed by single letter on the wire.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PillarAssessments(
+        @JsonProperty("E") PillarAssessment environmental,
+        @JsonProperty("S") PillarAssessment social,
+        @JsonProperty("G") PillarAssessment governance
+) {
+}
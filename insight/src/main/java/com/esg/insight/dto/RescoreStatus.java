@@ -0,0 +1,25 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class RescoreStatus {
+
+    private String state;          // idle | running | completed | failed
+    private Integer version;       // threshold version being applied
+
+    private int partitionsTotal;
+    private int partitionsDone;
+    private long rowsEstimated;    // from table statistics
+    private long rowsScanned;
+    private long rowsChanged;
+    private long rowsPerSecond;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
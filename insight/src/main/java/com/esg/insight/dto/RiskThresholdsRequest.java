@@ -0,0 +1,18 @@
+package com.esg.insight.dto;
+
+import com.esg.insight.service.ESGScoreEngine;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class RiskThresholdsRequest {
+
+    // Bands for sectors without their own entry
+    private ESGScoreEngine.Band defaults;
+
+    // sector name -> band
+    private Map<String, ESGScoreEngine.Band> sectors;
+
+    private String note;
+}
@@ -0,0 +1,23 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ScoreAnalyticsResponse {
+
+    private List<String> groupBy;
+    private String interval;
+
+    // false while the store is still loading from esg_analyses after startup
+    private boolean complete;
+
+    private long scannedRows;
+    private long matchedRows;
+    private long tookMicros;
+
+    private List<ScoreGroup> groups;
+}
@@ -0,0 +1,22 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class ScoreGroup {
+
+    // e.g. { sector: "Energy", period: "2026-10" }; empty without groupBy
+    private Map<String, Object> key;
+
+    private long count;
+    private double avgScore;
+    private int minScore;
+    private int maxScore;
+
+    // Counts per 10-point score band: [0-9, 10-19, ..., 90-99, 100]
+    private long[] scoreHistogram;
+}
@@ -0,0 +1,25 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class SearchHit {
+
+    private Long analysisId;
+    private Long companyId;
+    private String companyName;
+    private String sector;
+
+    private int esgScore;
+    private String riskLevel;
+    private String analystSummary;
+
+    private LocalDateTime timestamp;
+
+    // Relevance score (0 when results are sorted by date)
+    private float score;
+}
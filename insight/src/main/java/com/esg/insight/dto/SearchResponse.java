@@ -0,0 +1,24 @@
+package com.esg.insight.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class SearchResponse {
+
+    private String query;
+    private long totalHits;
+    private int page;
+    private int size;
+
+    private List<SearchHit> hits;
+
+    /*
+      { riskLevel: { HIGH: n, ... }, sector: { Energy: n, ... }, month: { "2026-10": n, ... } }
+    */
+    private Map<String, Map<String, Long>> facets;
+}
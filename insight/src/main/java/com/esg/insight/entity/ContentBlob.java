@@ -0,0 +1,166 @@
+package com.esg.insight.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One distinct news text or analysis payload, shared by every analysis with
+ * the same content. Written only through {@code BlobStore}; never updated.
+ *
+ * A payload may be stored as a JSON merge patch against the company's
+ * previous payload ({@link #getBase()}). Its text is rebuilt through the
+ * {@link Snapshots} cache, which {@link ContentBlobListener} hands to every
+ * blob Hibernate loads.
+ */
+@Entity
+@Table(name = "esg_blobs")
+@EntityListeners(ContentBlobListener.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBlob {
+
+    public static final short CODEC_RAW = 0;
+    public static final short CODEC_DEFLATE = 1;
+    public static final short CODEC_PATCH = 2;
+    public static final short CODEC_PATCH_DEFLATE = 3;
+
+    /**
+     * Rebuilds, and caches, the text of patch blobs.
+     */
+    public interface Snapshots {
+        String text(ContentBlob patch);
+    }
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private byte[] hash; // SHA-256 of the uncompressed bytes
+
+    @Column(nullable = false, updatable = false)
+    private short codec;
+
+    @Column(name = "raw_size", nullable = false, updatable = false)
+    private int rawSize;
+
+    @Column(nullable = false, updatable = false)
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Snapshot this patch applies to; null for keyframes and news texts
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "base_id", updatable = false)
+    private ContentBlob base;
+
+    // Patches between this blob and its keyframe
+    @Column(name = "chain_length", nullable = false, updatable = false)
+    private short chainLength;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private Snapshots snapshots;
+
+    // ===============================
+    // DECODING
+    // ===============================
+    public String text() {
+        if (!isPatch()) {
+            return new String(decode(codec, data, rawSize), StandardCharsets.UTF_8);
+        }
+        if (snapshots == null) {
+            throw new IllegalStateException("Blob " + id + " was not loaded through JPA");
+        }
+        return snapshots.text(this);
+    }
+
+    void attach(Snapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    public boolean isPatch() {
+        return isPatch(codec);
+    }
+
+    /**
+     * The patch against {@link #getBase()}, as stored; only for patch blobs.
+     */
+    public String patchText() {
+        if (!isPatch()) {
+            throw new IllegalStateException("Blob " + id + " is not a patch");
+        }
+        return new String(decode(codec, data, rawSize), StandardCharsets.UTF_8);
+    }
+
+    public static boolean isPatch(short codec) {
+        return codec == CODEC_PATCH || codec == CODEC_PATCH_DEFLATE;
+    }
+
+    /**
+     * Bytes as stored before compression: the content, or the patch for patch codecs.
+     */
+    public static byte[] decode(short codec, byte[] data, int rawSize) {
+        return switch (codec) {
+            case CODEC_RAW, CODEC_PATCH -> data;
+            case CODEC_DEFLATE, CODEC_PATCH_DEFLATE -> inflate(data, rawSize);
+            default -> throw new IllegalStateException("Unknown blob codec " + codec);
+        };
+    }
+
+    /**
+     * Compresses {@code raw} with DEFLATE, unless that does not make it smaller.
+     *
+     * @return compressed bytes, or null to store the raw bytes
+     */
+    public static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                if (out.size() >= raw.length) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int rawSize) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] raw = new byte[rawSize];
+            int read = 0;
+            while (read < rawSize && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawSize - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawSize) {
+                throw new IllegalStateException("Blob inflated to " + read + " bytes, expected " + rawSize);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt blob", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.esg.insight.entity;
+
+import jakarta.persistence.PostLoad;
+
+/**
+ * Gives every blob Hibernate loads the snapshot cache its patches are
+ * rebuilt through. Hibernate creates listeners through Spring, which injects
+ * the cache bean.
+ */
+public class ContentBlobListener {
+
+    private final ContentBlob.Snapshots snapshots;
+
+    public ContentBlobListener(ContentBlob.Snapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @PostLoad
+    void attach(ContentBlob blob) {
+        blob.attach(snapshots);
+    }
+}
@@ -1,12 +1,13 @@
 package com.esg.insight.entity;
 
-import com.vladmihalcea.hibernate.type.json.JsonType;
+import com.esg.insight.dto.ESGAnalysisPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Entity
 @Table(name = "esg_analyses")
@@ -17,6 +18,8 @@ import java.util.Map;
 @Builder
 public class ESGAnalysis {
 
+    private static final ObjectMapper PAYLOAD_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,7 +34,12 @@ public class ESGAnalysis {
     // ===============================
     // SOURCE TEXT (AUDITABILITY)
     // ===============================
-    @Column(name = "news_text", columnDefinition = "TEXT", nullable = false)
+    // Shared, compressed content in esg_blobs; decoded on first access
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "news_text_blob_id", nullable = false)
+    private ContentBlob newsTextBlob;
+
+    @Transient
     private String newsText;
 
     // ===============================
@@ -50,11 +58,21 @@ public class ESGAnalysis {
     private String analystSummary;
 
     // ===============================
-    // FULL AI SNAPSHOT (JSONB)
+    // FULL AI SNAPSHOT (JSON BLOB)
+    // ===============================
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payload_blob_id", nullable = false)
+    private ContentBlob payloadBlob;
+
+    @Transient
+    private ESGAnalysisPayload analysisPayload;
+
+    // ===============================
+    // NEAR-DUPLICATE LINK
     // ===============================
-    @Type(JsonType.class)
-    @Column(name = "analysis_payload", columnDefinition = "jsonb", nullable = false)
-    private Map<String, Object> analysisPayload;
+    // Set when this submission reused the payload of an earlier, near-identical article
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
 
     // ===============================
     // METADATA
@@ -66,4 +84,30 @@ public class ESGAnalysis {
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
     }
+
+    public String getNewsText() {
+        if (newsText == null && newsTextBlob != null) {
+            newsText = newsTextBlob.text();
+        }
+        return newsText;
+    }
+
+    public ESGAnalysisPayload getAnalysisPayload() {
+        if (analysisPayload == null && payloadBlob != null) {
+            try {
+                analysisPayload = PAYLOAD_MAPPER.readValue(payloadBlob.text(), ESGAnalysisPayload.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unreadable payload for analysis " + id, e);
+            }
+        }
+        return analysisPayload;
+    }
+
+    public static String payloadJson(ESGAnalysisPayload payload) {
+        try {
+            return PAYLOAD_MAPPER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unserializable payload", e);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.esg.insight.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One key incident extracted from an analysis payload at write time,
+ * so incidents can be filtered across the portfolio without parsing jsonb.
+ */
+@Entity
+@Table(name = "esg_incidents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ESGIncident {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // ===============================
+    // SOURCE ANALYSIS / COMPANY
+    // ===============================
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "analysis_id", nullable = false)
+    private ESGAnalysis analysis;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
+    // ===============================
+    // INDEXED DIMENSIONS
+    // ===============================
+    @Column(nullable = false, length = 1)
+    private String pillar; // E | S | G
+
+    @Column(nullable = false, length = 64)
+    private String category; // e.g. bribery, spill, injury
+
+    @Column(nullable = false, length = 16)
+    private String severity; // MEDIUM | HIGH
+
+    @Column(columnDefinition = "TEXT")
+    private String incident;
+
+    // Copied from the analysis so time filters stay on this table
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.esg.insight.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -63,6 +64,16 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(ServiceDrainingException.class)
+    public ResponseEntity<?> handleDraining(ServiceDrainingException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "timestamp", LocalDateTime.now(),
+                        "error", ex.getMessage()
+                ));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<?> handleRuntime(RuntimeException ex) {
         // Don't catch Spring Security exceptions as RuntimeException
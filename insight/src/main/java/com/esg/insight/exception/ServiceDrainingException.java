@@ -0,0 +1,20 @@
+package com.esg.insight.exception;
+
+/**
+ * Thrown for work refused because this instance is shutting down; answered
+ * with 503 and a Retry-After so clients retry against another instance or
+ * after the restart.
+ */
+public class ServiceDrainingException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceDrainingException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
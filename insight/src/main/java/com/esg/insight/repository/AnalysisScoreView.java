@@ -0,0 +1,19 @@
+package com.esg.insight.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Score-only projection of esg_analyses for chart series; no blobs are joined.
+ */
+public interface AnalysisScoreView {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    Integer getEsgScore();
+
+    String getRiskLevel();
+
+    Long getDuplicateOfId();
+}
@@ -0,0 +1,25 @@
+package com.esg.insight.repository;
+
+import com.esg.insight.entity.ContentBlob;
+
+import java.time.LocalDateTime;
+
+/**
+ * Narrow projection of esg_analyses used to rebuild in-memory text indexes
+ * without loading payloads or company rows.
+ * Texts are decompressed one row at a time as the rebuild walks them.
+ */
+public interface AnalysisTextView {
+
+    Long getId();
+
+    Long getCompanyId();
+
+    ContentBlob getNewsTextBlob();
+
+    default String getNewsText() {
+        return getNewsTextBlob().text();
+    }
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,16 +1,85 @@
 package com.esg.insight.repository;
 
 import com.esg.insight.entity.ESGAnalysis;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ESGAnalysisRepository extends JpaRepository<ESGAnalysis, Long> {
 
-    // ✅ REQUIRED FOR HISTORY PAGE
-    List<ESGAnalysis> findByCompanyIdOrderByCreatedAtDesc(Long companyId);
+    // ✅ REQUIRED FOR HISTORY PAGE (payload blobs fetched in the same query; news texts stay unread)
+    @Query("""
+            SELECT a
+            FROM ESGAnalysis a
+            JOIN FETCH a.payloadBlob
+            WHERE a.company.id = :companyId
+            ORDER BY a.createdAt DESC
+        """)
+    List<ESGAnalysis> findByCompanyIdOrderByCreatedAtDesc(@Param("companyId") Long companyId);
+
+    // History for a date range; the range also prunes monthly partitions
+    @Query("""
+            SELECT a
+            FROM ESGAnalysis a
+            JOIN FETCH a.payloadBlob
+            WHERE a.company.id = :companyId
+              AND a.createdAt >= :from
+              AND a.createdAt < :to
+            ORDER BY a.createdAt DESC
+        """)
+    List<ESGAnalysis> findHistoryBetween(
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Downsampled history: size of the range, then the range oldest first without payloads
+    @Query("""
+            SELECT count(a)
+            FROM ESGAnalysis a
+            WHERE a.company.id = :companyId
+              AND a.createdAt >= :from
+              AND a.createdAt < :to
+        """)
+    long countHistoryBetween(
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("""
+            SELECT a.id AS id, a.createdAt AS createdAt, a.esgScore AS esgScore,
+                   a.riskLevel AS riskLevel, a.duplicateOfId AS duplicateOfId
+            FROM ESGAnalysis a
+            WHERE a.company.id = :companyId
+              AND a.createdAt >= :from
+              AND a.createdAt < :to
+            ORDER BY a.createdAt
+        """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AnalysisScoreView> streamScoresBetween(
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Near-duplicate reuse: the payload blob comes with the row; patch-encoded payloads load their chain lazily
+    @Query("""
+            SELECT a
+            FROM ESGAnalysis a
+            JOIN FETCH a.payloadBlob
+            WHERE a.id = :id
+        """)
+    Optional<ESGAnalysis> findWithPayloadById(@Param("id") Long id);
 
     // OPTIONAL (keep only if you want native fallback)
     @Query(
@@ -23,4 +92,42 @@ public interface ESGAnalysisRepository extends JpaRepository<ESGAnalysis, Long>
             nativeQuery = true
     )
     List<ESGAnalysis> findHistoryNative(@Param("companyId") Long companyId);
+
+    // Incident index backfill: analyses without incident rows, walked by id
+    @Query("""
+            SELECT a
+            FROM ESGAnalysis a
+            JOIN FETCH a.payloadBlob
+            WHERE a.id > :afterId
+              AND NOT EXISTS (SELECT 1 FROM ESGIncident i WHERE i.analysis = a)
+            ORDER BY a.id
+        """)
+    List<ESGAnalysis> findUnindexedAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Search index rebuild: analyses with their company, walked by id
+    @Query("""
+            SELECT a
+            FROM ESGAnalysis a
+            JOIN FETCH a.company
+            JOIN FETCH a.newsTextBlob
+            WHERE a.id > :afterId
+            ORDER BY a.id
+        """)
+    List<ESGAnalysis> findWithCompanyAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Near-duplicate index rebuild: newest texts first, walked by id
+    @Query("""
+            SELECT a.id AS id, a.company.id AS companyId, b AS newsTextBlob, a.createdAt AS createdAt
+            FROM ESGAnalysis a
+            JOIN a.newsTextBlob b
+            WHERE a.createdAt >= :since
+              AND a.id < :beforeId
+              AND a.duplicateOfId IS NULL
+            ORDER BY a.id DESC
+        """)
+    List<AnalysisTextView> findRecentTexts(
+            @Param("since") LocalDateTime since,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,9 @@
+package com.esg.insight.repository;
+
+import com.esg.insight.entity.ESGIncident;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface ESGIncidentRepository
+        extends JpaRepository<ESGIncident, Long>, JpaSpecificationExecutor<ESGIncident> {
+}
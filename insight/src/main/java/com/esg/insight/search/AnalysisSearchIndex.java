@@ -0,0 +1,406 @@
+package com.esg.insight.search;
+
+import com.esg.insight.entity.Company;
+import com.esg.insight.entity.ESGAnalysis;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local Lucene index over analyses (news text, analyst summary, company name
+ * and sector). Writes are visible to searches immediately through near-real-time
+ * readers; commits to disk happen in the background and on shutdown.
+ *
+ * The index is a disposable cache of esg_analyses and can always be rebuilt
+ * from the database. Every document carries the generation it was written
+ * in, so a rebuild re-indexes in place and then drops the documents it did
+ * not touch, and searches keep answering from the full index meanwhile.
+ */
+@Component
+public class AnalysisSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisSearchIndex.class);
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // ===============================
+    // FIELD NAMES
+    // ===============================
+    private static final String ID = "id";
+    private static final String COMPANY_ID = "companyId";
+    private static final String COMPANY_NAME = "companyName";
+    private static final String SECTOR = "sector";
+    private static final String SECTOR_KEY = "sectorKey";
+    private static final String NEWS_TEXT = "newsText";
+    private static final String SUMMARY = "analystSummary";
+    private static final String RISK_LEVEL = "riskLevel";
+    private static final String ESG_SCORE = "esgScore";
+    private static final String CREATED_AT = "createdAt";
+    private static final String GENERATION = "generation";
+
+    // Facet dimensions
+    public static final String FACET_RISK = "riskLevel";
+    public static final String FACET_SECTOR = "sector";
+    public static final String FACET_MONTH = "month";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            COMPANY_NAME, 3.0f,
+            SECTOR, 1.5f,
+            SUMMARY, 1.5f,
+            NEWS_TEXT, 1.0f
+    );
+    private static final Sort NEWEST_FIRST = new Sort(new SortField(CREATED_AT, SortField.Type.LONG, true));
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final ScheduledExecutorService committer;
+
+    private volatile long generation = System.currentTimeMillis();
+    private volatile SortedSetDocValuesReaderState facetState;
+    private volatile IndexReader facetStateReader;
+
+    public AnalysisSearchIndex(
+            @Value("${esg.search.index-dir:${java.io.tmpdir}/pulseesg-index}") String indexDir,
+            @Value("${esg.search.commit-interval-ms:30000}") long commitIntervalMs
+    ) throws IOException {
+        this.directory = FSDirectory.open(Path.of(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        this.committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commitQuietly, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Search index opened at {} ({} documents)", indexDir, writer.getDocStats().numDocs);
+    }
+
+    public record Hit(
+            long analysisId,
+            long companyId,
+            String companyName,
+            String sector,
+            int esgScore,
+            String riskLevel,
+            String analystSummary,
+            LocalDateTime timestamp,
+            float score
+    ) {
+    }
+
+    public record Result(long totalHits, List<Hit> hits, Map<String, Map<String, Long>> facets) {
+    }
+
+    // ===============================
+    // WRITES
+    // ===============================
+    public void index(ESGAnalysis analysis, Company company) {
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(analysis.getId())), toDocument(analysis, company));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index analysis " + analysis.getId(), e);
+        }
+    }
+
+    public void deleteCompany(Long companyId) {
+        try {
+            writer.deleteDocuments(new Term(COMPANY_ID, String.valueOf(companyId)));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove company " + companyId + " from search index", e);
+        }
+    }
+
+    /**
+     * Starts a new generation, carried by every document indexed from now on,
+     * whether by a rebuild or by the incremental feed.
+     *
+     * @return the generation to pass to {@link #deleteBefore} once the rebuild has run
+     */
+    public synchronized long newGeneration() {
+        generation = Math.max(generation + 1, System.currentTimeMillis());
+        return generation;
+    }
+
+    /**
+     * Deletes the documents indexed before {@code generation}, i.e. those a
+     * rebuild did not re-index because their analysis no longer exists.
+     */
+    public void deleteBefore(long generation) {
+        try {
+            writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(LongPoint.newRangeQuery(GENERATION, generation, Long.MAX_VALUE), BooleanClause.Occur.MUST_NOT)
+                    .build());
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove stale documents from search index", e);
+        }
+    }
+
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to commit search index", e);
+        }
+    }
+
+    public int documentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    private Document toDocument(ESGAnalysis analysis, Company company) throws IOException {
+        Document doc = new Document();
+        long createdAt = analysis.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        String sector = company.getSector() == null || company.getSector().isBlank() ? "Unknown" : company.getSector();
+
+        doc.add(new StringField(ID, String.valueOf(analysis.getId()), Field.Store.YES));
+        doc.add(new LongPoint(GENERATION, generation));
+        doc.add(new StringField(COMPANY_ID, String.valueOf(company.getId()), Field.Store.YES));
+
+        // Ranked full-text fields
+        doc.add(new TextField(COMPANY_NAME, company.getName(), Field.Store.YES));
+        doc.add(new TextField(SECTOR, sector, Field.Store.YES));
+        doc.add(new TextField(NEWS_TEXT, nullToEmpty(analysis.getNewsText()), Field.Store.NO));
+        doc.add(new TextField(SUMMARY, nullToEmpty(analysis.getAnalystSummary()), Field.Store.YES));
+
+        // Exact-match filters
+        doc.add(new StringField(SECTOR_KEY, sector.toLowerCase(Locale.ROOT), Field.Store.NO));
+        doc.add(new StringField(RISK_LEVEL, analysis.getRiskLevel(), Field.Store.YES));
+        doc.add(new StoredField(ESG_SCORE, analysis.getEsgScore()));
+        doc.add(new LongPoint(CREATED_AT, createdAt));
+        doc.add(new NumericDocValuesField(CREATED_AT, createdAt));
+        doc.add(new StoredField(CREATED_AT, createdAt));
+
+        // Facets
+        doc.add(new SortedSetDocValuesFacetField(FACET_RISK, analysis.getRiskLevel()));
+        doc.add(new SortedSetDocValuesFacetField(FACET_SECTOR, sector));
+        doc.add(new SortedSetDocValuesFacetField(FACET_MONTH, analysis.getCreatedAt().format(MONTH)));
+
+        return facetsConfig.build(doc);
+    }
+
+    // ===============================
+    // READS
+    // ===============================
+    /**
+     * Runs a query and counts facets over all matching documents.
+     * Free text is ranked by relevance (company name weighted highest);
+     * without text, matches are returned newest first.
+     *
+     * @param text simple query syntax ("quoted phrases", +must, -not, prefix*), may be blank
+     */
+    public Result search(
+            String text,
+            String riskLevel,
+            String sector,
+            LocalDateTime from,
+            LocalDateTime to,
+            int offset,
+            int limit,
+            int facetTopN
+    ) {
+        boolean ranked = text != null && !text.isBlank();
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (ranked) {
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            query.add(parser.parse(text), BooleanClause.Occur.MUST);
+        } else {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        if (riskLevel != null && !riskLevel.isBlank()) {
+            query.add(new TermQuery(new Term(RISK_LEVEL, riskLevel.trim().toUpperCase(Locale.ROOT))),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (sector != null && !sector.isBlank()) {
+            query.add(new TermQuery(new Term(SECTOR_KEY, sector.trim().toLowerCase(Locale.ROOT))),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (from != null || to != null) {
+            long lower = from == null ? Long.MIN_VALUE : from.toInstant(ZoneOffset.UTC).toEpochMilli();
+            long upper = to == null ? Long.MAX_VALUE : to.toInstant(ZoneOffset.UTC).toEpochMilli() - 1;
+            query.add(LongPoint.newRangeQuery(CREATED_AT, lower, upper), BooleanClause.Occur.FILTER);
+        }
+
+        return search(query.build(), ranked ? null : NEWEST_FIRST, offset, limit, facetTopN);
+    }
+
+    private Result search(Query query, Sort sort, int offset, int limit, int facetTopN) {
+        IndexSearcher searcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            searcher = searcherManager.acquire();
+
+            int n = Math.max(1, offset + limit);
+            FacetsCollector facetsCollector = new FacetsCollector();
+            TopDocs topDocs = sort == null
+                    ? FacetsCollector.search(searcher, query, n, facetsCollector)
+                    : FacetsCollector.search(searcher, query, n, sort, facetsCollector);
+
+            List<Hit> hits = new ArrayList<>(limit);
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = offset; i < scoreDocs.length && hits.size() < limit; i++) {
+                // Sorted (non-ranked) searches carry no score
+                float score = Float.isNaN(scoreDocs[i].score) ? 0f : scoreDocs[i].score;
+                hits.add(toHit(searcher.storedFields().document(scoreDocs[i].doc), score));
+            }
+
+            return new Result(topDocs.totalHits.value, hits, facetCounts(searcher, facetsCollector, facetTopN));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release searcher", e);
+                }
+            }
+        }
+    }
+
+    private Map<String, Map<String, Long>> facetCounts(
+            IndexSearcher searcher, FacetsCollector collector, int topN) throws IOException {
+
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        SortedSetDocValuesReaderState state = facetState(searcher.getIndexReader());
+        if (state == null) {
+            return result;
+        }
+
+        Facets facets = new SortedSetDocValuesFacetCounts(state, collector);
+        for (String dim : List.of(FACET_RISK, FACET_SECTOR, FACET_MONTH)) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            FacetResult facetResult = facets.getTopChildren(topN, dim);
+            if (facetResult != null) {
+                for (LabelAndValue lv : facetResult.labelValues) {
+                    counts.put(lv.label, lv.value.longValue());
+                }
+            }
+            result.put(dim, counts);
+        }
+        return result;
+    }
+
+    /**
+     * Facet ordinal state is expensive to build, so it is reused until the reader changes.
+     */
+    private SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        if (reader.numDocs() == 0) {
+            return null;
+        }
+        if (facetStateReader != reader) {
+            synchronized (this) {
+                if (facetStateReader != reader) {
+                    facetState = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+                    facetStateReader = reader;
+                }
+            }
+        }
+        return facetState;
+    }
+
+    private static Hit toHit(Document doc, float score) {
+        return new Hit(
+                Long.parseLong(doc.get(ID)),
+                Long.parseLong(doc.get(COMPANY_ID)),
+                doc.get(COMPANY_NAME),
+                doc.get(SECTOR),
+                doc.getField(ESG_SCORE).numericValue().intValue(),
+                doc.get(RISK_LEVEL),
+                doc.get(SUMMARY),
+                LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(doc.getField(CREATED_AT).numericValue().longValue()), ZoneOffset.UTC),
+                score
+        );
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    // ===============================
+    // LIFECYCLE
+    // ===============================
+    private void commitQuietly() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (Exception e) {
+            log.warn("Background search index commit failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        committer.shutdownNow();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+}
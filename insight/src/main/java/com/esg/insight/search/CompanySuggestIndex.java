@@ -0,0 +1,287 @@
+package com.esg.insight.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory autocomplete over company name, sector and country.
+ *
+ * Text is folded (accents stripped, lower-cased, punctuation dropped) and
+ * split into words. Every query word must be the start of some word of the
+ * company. Matches rank in tiers:
+ * <ol>
+ *   <li>the name is the query</li>
+ *   <li>the name starts with the query</li>
+ *   <li>a name word matches, earlier words first ("Shell" before "Royal Dutch Shell")</li>
+ *   <li>only sector or country match</li>
+ * </ol>
+ * and alphabetically by name within a tier, which also puts "Solar Co"
+ * before "Solaris".
+ *
+ * Both structures are kept in that order so a lookup reads results off in
+ * rank order and stops after {@code limit}, however many companies match:
+ * names sit in one sorted set (tiers 1 and 2 are a range of it), and each
+ * word keeps its companies sorted by word position and name (tiers 3 and 4
+ * are a merge over the words starting with the query's longest word).
+ * Results of one- and two-character queries, which merge the most words,
+ * are memoised until the next change.
+ *
+ * Writes are serialised; lookups never lock.
+ */
+public class CompanySuggestIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MEMO_MAX_QUERY_LENGTH = 2;
+    private static final int MEMO_MAX_LIMIT = 50;
+    private static final int MAX_NAME_POSITION = 9;
+    private static final int OTHER_FIELD = MAX_NAME_POSITION + 1;
+
+    public record Entry(long id, String name, String sector, String country) {
+    }
+
+    /**
+     * @param score 100 for the whole name, 90 for a name starting with the query,
+     *              80 minus the word position for another name word, 60 for sector or country
+     */
+    public record Suggestion(Entry company, int score) {
+    }
+
+    private record Indexed(Entry entry, String foldedName, String[] nameTokens, String[] otherTokens) {
+
+        // One instance per company, so identity is enough and far cheaper than hashing the fields
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(entry.id());
+        }
+    }
+
+    /**
+     * A company under one of its words; {@code rank} is the word's position in the name, or OTHER_FIELD.
+     */
+    private record Posting(int rank, Indexed company) {
+    }
+
+    private static final Comparator<Indexed> BY_NAME = Comparator.comparing(Indexed::foldedName)
+            .thenComparingLong(c -> c.entry().id());
+    private static final Comparator<Posting> BY_RANK = Comparator.comparingInt(Posting::rank)
+            .thenComparing(Posting::company, BY_NAME);
+
+    private final Map<Long, Indexed> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Indexed> byName = new ConcurrentSkipListSet<>(BY_NAME);
+    private final ConcurrentSkipListMap<String, NavigableSet<Posting>> tokens = new ConcurrentSkipListMap<>();
+    // Replaced on every write, so a lookup racing a write can only fill a discarded map
+    private volatile Map<String, List<Suggestion>> memo = new ConcurrentHashMap<>();
+
+    // ===============================
+    // WRITES
+    // ===============================
+    public synchronized void put(Entry entry) {
+        remove(entry.id());
+        String[] nameTokens = tokens(entry.name());
+        String[] otherTokens = concat(tokens(entry.sector()), tokens(entry.country()));
+        Indexed indexed = new Indexed(entry, fold(entry.name()), nameTokens, otherTokens);
+        for (int i = 0; i < nameTokens.length; i++) {
+            postings(nameTokens[i]).add(new Posting(Math.min(i, MAX_NAME_POSITION), indexed));
+        }
+        for (String token : otherTokens) {
+            postings(token).add(new Posting(OTHER_FIELD, indexed));
+        }
+        byName.add(indexed);
+        byId.put(entry.id(), indexed);
+        memo = new ConcurrentHashMap<>();
+    }
+
+    public synchronized boolean remove(long id) {
+        Indexed indexed = byId.remove(id);
+        if (indexed == null) {
+            return false;
+        }
+        byName.remove(indexed);
+        for (int i = 0; i < indexed.nameTokens().length; i++) {
+            unlink(indexed.nameTokens()[i], new Posting(Math.min(i, MAX_NAME_POSITION), indexed));
+        }
+        for (String token : indexed.otherTokens()) {
+            unlink(token, new Posting(OTHER_FIELD, indexed));
+        }
+        memo = new ConcurrentHashMap<>();
+        return true;
+    }
+
+    private NavigableSet<Posting> postings(String token) {
+        return tokens.computeIfAbsent(token, t -> new ConcurrentSkipListSet<>(BY_RANK));
+    }
+
+    private void unlink(String token, Posting posting) {
+        NavigableSet<Posting> postings = tokens.get(token);
+        if (postings != null) {
+            postings.remove(posting);
+            if (postings.isEmpty()) {
+                tokens.remove(token);
+            }
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // ===============================
+    // LOOKUP
+    // ===============================
+    public List<Suggestion> suggest(String query, int limit) {
+        String folded = fold(query);
+        String[] terms = split(folded);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        Map<String, List<Suggestion>> results = memo;
+        boolean memoised = folded.length() <= MEMO_MAX_QUERY_LENGTH && limit <= MEMO_MAX_LIMIT;
+        if (memoised) {
+            List<Suggestion> cached = results.get(folded);
+            if (cached != null) {
+                return cached.size() > limit ? cached.subList(0, limit) : cached;
+            }
+        }
+
+        int wanted = memoised ? MEMO_MAX_LIMIT : limit;
+        List<Suggestion> result = new ArrayList<>(Math.min(wanted, 64));
+
+        // Tiers 1 and 2: names starting with the query, which contain every term; equal names sort first
+        for (Indexed company : byName.tailSet(probe(folded), true)) {
+            if (result.size() == wanted || !company.foldedName().startsWith(folded)) {
+                break;
+            }
+            result.add(new Suggestion(company.entry(), company.foldedName().length() == folded.length() ? 100 : 90));
+        }
+
+        // Tiers 3 and 4: merge the best-ranked companies of every word starting with the longest term
+        if (result.size() < wanted) {
+            String seed = terms[0];
+            for (String term : terms) {
+                if (term.length() > seed.length()) {
+                    seed = term;
+                }
+            }
+            PriorityQueue<Cursor> merge = new PriorityQueue<>();
+            for (NavigableSet<Posting> postings : tokens.subMap(seed, true, seed + Character.MAX_VALUE, false).values()) {
+                Cursor cursor = new Cursor(postings.iterator());
+                if (cursor.advance()) {
+                    merge.add(cursor);
+                }
+            }
+            Set<Indexed> seen = new HashSet<>();
+            while (result.size() < wanted && !merge.isEmpty()) {
+                Cursor cursor = merge.poll();
+                Posting posting = cursor.head;
+                if (cursor.advance()) {
+                    merge.add(cursor);
+                }
+                Indexed company = posting.company();
+                // Listed under several words in the range: the first one seen ranks best
+                if (!seen.add(company) || company.foldedName().startsWith(folded) || !matchesAll(company, terms)) {
+                    continue;
+                }
+                result.add(new Suggestion(company.entry(), posting.rank() == OTHER_FIELD ? 60 : 80 - posting.rank()));
+            }
+        }
+
+        if (memoised) {
+            results.put(folded, List.copyOf(result));
+        }
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final Iterator<Posting> postings;
+        private Posting head;
+
+        private Cursor(Iterator<Posting> postings) {
+            this.postings = postings;
+        }
+
+        private boolean advance() {
+            head = postings.hasNext() ? postings.next() : null;
+            return head != null;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return BY_RANK.compare(head, other.head);
+        }
+    }
+
+    private static boolean matchesAll(Indexed company, String[] terms) {
+        for (String term : terms) {
+            if (!anyStartsWith(company.nameTokens(), term) && !anyStartsWith(company.otherTokens(), term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean anyStartsWith(String[] tokens, String prefix) {
+        for (String token : tokens) {
+            if (token.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts before every company whose folded name is at least {@code foldedName}.
+     */
+    private static Indexed probe(String foldedName) {
+        return new Indexed(new Entry(Long.MIN_VALUE, "", null, null), foldedName, null, null);
+    }
+
+    // ===============================
+    // TEXT FOLDING
+    // ===============================
+    /**
+     * Accent- and case-insensitive form with words separated by single spaces, e.g. "Société Générale" -> "societe generale".
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String[] tokens(String text) {
+        return split(fold(text));
+    }
+
+    private static String[] split(String folded) {
+        return folded.isEmpty() ? new String[0] : folded.split(" ");
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        String[] all = new String[a.length + b.length];
+        System.arraycopy(a, 0, all, 0, a.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        return all;
+    }
+}
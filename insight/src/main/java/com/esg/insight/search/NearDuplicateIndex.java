@@ -0,0 +1,135 @@
+package com.esg.insight.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory locality-sensitive index of recent article fingerprints per company.
+ *
+ * Each 64-bit SimHash is split into {@code maxDistance + 1} bands. Two
+ * fingerprints within {@code maxDistance} bits must agree exactly on at least
+ * one band (pigeonhole), so only entries sharing a band are compared. Memory
+ * is bounded by {@code maxEntries}; the oldest fingerprints are evicted first.
+ *
+ * Bands narrower than 4 bits would put most of a company's fingerprints in
+ * every bucket, so at most 15 differing bits are supported (similarity of
+ * at least 49/64, about 0.77).
+ */
+public class NearDuplicateIndex {
+
+    public static final int MAX_DISTANCE = 15;
+
+    private final int maxDistance;
+    private final int bands;
+    private final int bandBits;
+    private final int maxEntries;
+
+    private final ArrayDeque<Entry> insertionOrder = new ArrayDeque<>();
+    private final Map<Long, List<Entry>> bandTable = new HashMap<>();
+
+    public record Entry(long companyId, long analysisId, long fingerprint, LocalDateTime createdAt) {
+    }
+
+    /**
+     * @param minSimilarity fraction of matching bits (0-1) for two texts to count as near-duplicates
+     * @param maxEntries    fingerprints kept across all companies
+     */
+    public NearDuplicateIndex(double minSimilarity, int maxEntries) {
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("minSimilarity must be in (0, 1]");
+        }
+        this.maxDistance = (int) Math.floor((1.0 - minSimilarity) * SimHash.BITS + 1e-9);
+        if (maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("minSimilarity must be at least "
+                    + (SimHash.BITS - MAX_DISTANCE) + "/" + SimHash.BITS + " (at most " + MAX_DISTANCE + " differing bits)");
+        }
+        this.bands = maxDistance + 1;
+        this.bandBits = SimHash.BITS / bands;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public synchronized int size() {
+        return insertionOrder.size();
+    }
+
+    public synchronized void add(Entry entry) {
+        insertionOrder.addLast(entry);
+        for (int band = 0; band < bands; band++) {
+            bandTable.computeIfAbsent(bandKey(entry.companyId(), band, entry.fingerprint()), k -> new ArrayList<>(2))
+                    .add(entry);
+        }
+        while (insertionOrder.size() > maxEntries) {
+            remove(insertionOrder.removeFirst());
+        }
+    }
+
+    /**
+     * Closest fingerprint of the same company within the similarity threshold
+     * and not older than {@code notBefore}, or null.
+     */
+    public synchronized Entry findNearest(long companyId, long fingerprint, LocalDateTime notBefore) {
+        Entry best = null;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (int band = 0; band < bands; band++) {
+            List<Entry> candidates = bandTable.get(bandKey(companyId, band, fingerprint));
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry candidate : candidates) {
+                if (candidate.companyId() != companyId
+                        || (notBefore != null && candidate.createdAt().isBefore(notBefore))) {
+                    continue;
+                }
+                int distance = SimHash.distance(candidate.fingerprint(), fingerprint);
+                // Prefer the closest match, then the most recent one
+                if (distance <= maxDistance && (distance < bestDistance
+                        || (distance == bestDistance && candidate.analysisId() > best.analysisId()))) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    public synchronized void removeCompany(long companyId) {
+        insertionOrder.removeIf(entry -> {
+            if (entry.companyId() == companyId) {
+                remove(entry);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void remove(Entry entry) {
+        for (int band = 0; band < bands; band++) {
+            long key = bandKey(entry.companyId(), band, entry.fingerprint());
+            List<Entry> bucket = bandTable.get(key);
+            if (bucket != null) {
+                bucket.remove(entry);
+                if (bucket.isEmpty()) {
+                    bandTable.remove(key);
+                }
+            }
+        }
+    }
+
+    private long bandKey(long companyId, int band, long fingerprint) {
+        int shift = band * bandBits;
+        int width = band == bands - 1 ? SimHash.BITS - shift : bandBits;
+        long mask = width == 64 ? -1L : (1L << width) - 1;
+        long value = (fingerprint >>> shift) & mask;
+        // Collisions only cost an extra comparison: candidates are re-checked above
+        return SimHash.mix(value * 31 + band) ^ (companyId * 0x9e3779b97f4a7c15L);
+    }
+}
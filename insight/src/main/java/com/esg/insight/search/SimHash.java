@@ -0,0 +1,101 @@
+package com.esg.insight.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 64-bit SimHash over word 2-shingles. Texts that differ in a few words
+ * produce fingerprints a few bits apart, so Hamming distance approximates
+ * textual similarity.
+ */
+public final class SimHash {
+
+    public static final int BITS = 64;
+    private static final int SHINGLE = 2;
+
+    private SimHash() {
+    }
+
+    /**
+     * Lowercased alphanumeric tokens; punctuation and whitespace differences are ignored.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    public static long fingerprint(List<String> tokens) {
+        int[] weights = new int[BITS];
+        int shingles = Math.max(1, tokens.size() - SHINGLE + 1);
+
+        for (int i = 0; i < shingles; i++) {
+            long hash = FNV_OFFSET;
+            for (int j = i; j < Math.min(tokens.size(), i + SHINGLE); j++) {
+                hash = fnv(hash, tokens.get(j));
+                hash = fnv(hash, " ");
+            }
+            hash = mix(hash);
+            for (int bit = 0; bit < BITS; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < BITS; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    public static double similarity(long a, long b) {
+        return 1.0 - (double) distance(a, b) / BITS;
+    }
+
+    // ===============================
+    // HASHING
+    // ===============================
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static long fnv(long hash, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            hash ^= s.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer: spreads FNV output evenly over all 64 bits
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,84 @@
+package com.esg.insight.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. {@link #mightContain} never misses an
+ * added key and answers "no" for other keys with the configured probability,
+ * without allocating. Keys are hashed together with a seed, so one filter can
+ * hold several key spaces.
+ *
+ * Thread-safe: bits are set with atomic ORs, and readers see a key once its
+ * {@link #put} has returned.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedKeys           keys the filter is sized for; more raise the false-positive rate
+     * @param falsePositiveRate      wanted false-positive rate at {@code expectedKeys}
+     */
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long expected = Math.max(1, expectedKeys);
+        long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = Math.toIntExact(Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * LN2));
+    }
+
+    void put(CharSequence key, long seed) {
+        long hash = hash(key, seed);
+        long h1 = mix(hash);
+        long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    boolean mightContain(CharSequence key, long seed) {
+        long hash = hash(key, seed);
+        long h1 = mix(hash);
+        long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    // FNV-1a over the UTF-16 chars
+    private static long hash(CharSequence key, long seed) {
+        long hash = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer: spreads FNV's weak low bits over the whole word
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
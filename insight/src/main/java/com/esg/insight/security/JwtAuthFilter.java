@@ -1,5 +1,8 @@
 package com.esg.insight.security;
 
+import com.esg.insight.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +26,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -39,10 +43,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
-                if (jwtUtil.validateToken(token)) {
+                Claims claims = parse(token);
+                if (claims == null) {
+                    // Log warning if token validation failed
+                    log.warn("Token validation failed for request: {}", request.getRequestURI());
+                } else if (tokenRevocationService.isRevoked(claims)) {
+                    log.warn("Revoked token presented for request: {}", request.getRequestURI());
+                } else {
 
-                    String email = jwtUtil.extractEmail(token);
-                    String role = jwtUtil.extractRole(token); // 🔴 IMPORTANT
+                    String email = claims.getSubject();
+                    String role = claims.get("role", String.class); // 🔴 IMPORTANT
 
                     // Ensure both email and role are present
                     if (email != null && role != null && !role.isEmpty()) {
@@ -67,9 +77,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         // Log warning if email or role is missing
                         log.warn("Token validation passed but email or role is missing. Email: {}, Role: {}", email, role);
                     }
-                } else {
-                    // Log warning if token validation failed
-                    log.warn("Token validation failed for request: {}", request.getRequestURI());
                 }
             } catch (Exception e) {
                 // Log error but continue - Spring Security will handle unauthorized requests
@@ -83,4 +90,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // One signature check per request; null if the token is invalid or expired
+    private Claims parse(String token) {
+        try {
+            return jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.esg.insight.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,11 +11,13 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
     private final SecretKey signingKey;
+    private final JwtParser parser; // immutable and thread-safe, built once
     private final long expiration;
 
     public JwtUtil(
@@ -22,6 +25,7 @@ public class JwtUtil {
             @Value("${jwt.expiration}") long expiration
     ) {
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
         this.expiration = expiration;
     }
 
@@ -30,6 +34,7 @@ public class JwtUtil {
     // ===============================
     public String generateToken(String email, String role) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // revocation handle, see TokenRevocationService
                 .setSubject(email)
                 .claim("role", role) // 🔴 IMPORTANT
                 .setIssuedAt(new Date())
@@ -64,14 +69,23 @@ public class JwtUtil {
         }
     }
 
+    // ===============================
+    // PARSE + VERIFY ONCE
+    // ===============================
+    /**
+     * Verifies the signature and expiry and returns all claims, so callers
+     * needing several claims pay for one HMAC check.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     // ===============================
     // INTERNAL: PARSE CLAIMS
     // ===============================
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
@@ -0,0 +1,81 @@
+package com.esg.insight.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of token_revocations, consulted on every authenticated request.
+ *
+ * A Bloom filter answers the common case, a token that was never revoked,
+ * in a few hash probes without locking or allocating. Only a filter hit
+ * goes to the exact maps, so false positives cost a map lookup and never a
+ * wrongly rejected token.
+ */
+public final class RevocationList {
+
+    private static final long TOKEN_SEED = 0x5EED_0001L;
+    private static final long SUBJECT_SEED = 0x5EED_0002L;
+
+    private final int capacity;
+    private final BloomFilter filter;
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();    // jti -> expiry (epoch ms)
+    private final Map<String, Long> subjects = new ConcurrentHashMap<>();  // subject -> tokens issued up to this epoch second are revoked
+
+    /**
+     * @param capacity revocations the filter is sized for, see {@link #isFull()}
+     */
+    public RevocationList(int capacity, double falsePositiveRate) {
+        this.capacity = capacity;
+        this.filter = new BloomFilter(capacity, falsePositiveRate);
+    }
+
+    // ===============================
+    // WRITES
+    // ===============================
+    public void revokeToken(String tokenId, long expiresAtMillis) {
+        tokens.merge(tokenId, expiresAtMillis, Math::max);
+        filter.put(tokenId, TOKEN_SEED);
+    }
+
+    /**
+     * Revokes every token of {@code subject} issued at or before {@code issuedUpToSecond}.
+     * JWT issue times have second precision, so a token issued in that same second is revoked too.
+     */
+    public void revokeSubject(String subject, long issuedUpToSecond) {
+        subjects.merge(subject, issuedUpToSecond, Math::max);
+        filter.put(subject, SUBJECT_SEED);
+    }
+
+    // ===============================
+    // READS
+    // ===============================
+    /**
+     * @param tokenId        jti claim, null for tokens issued without one
+     * @param issuedAtSecond iat claim in epoch seconds
+     */
+    public boolean isRevoked(String tokenId, String subject, long issuedAtSecond) {
+        if (tokenId != null && filter.mightContain(tokenId, TOKEN_SEED) && tokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (subject != null && filter.mightContain(subject, SUBJECT_SEED)) {
+            Long issuedUpTo = subjects.get(subject);
+            return issuedUpTo != null && issuedAtSecond <= issuedUpTo;
+        }
+        return false;
+    }
+
+    public int size() {
+        return tokens.size() + subjects.size();
+    }
+
+    /**
+     * Past its capacity the filter's false-positive rate climbs; rebuild a larger list.
+     */
+    public boolean isFull() {
+        return size() > capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,193 @@
+package com.esg.insight.service;
+
+import com.esg.insight.dto.SearchHit;
+import com.esg.insight.dto.SearchResponse;
+import com.esg.insight.entity.Company;
+import com.esg.insight.entity.ESGAnalysis;
+import com.esg.insight.repository.ESGAnalysisRepository;
+import com.esg.insight.search.AnalysisSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+public class AnalysisSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisSearchService.class);
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int FACET_TOP_N = 20;
+    // Lucene collects every hit up to the requested page, so deep pages are refused
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final AnalysisSearchIndex searchIndex;
+    private final ESGAnalysisRepository esgAnalysisRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Value("${esg.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // ===============================
+    // INCREMENTAL FEED
+    // ===============================
+    /**
+     * Indexes the analysis once the surrounding transaction commits,
+     * so rolled-back analyses never show up in search.
+     */
+    public void indexAfterCommit(ESGAnalysis analysis, Company company) {
+        runAfterCommit(() -> searchIndex.index(analysis, company));
+    }
+
+    public void removeCompanyAfterCommit(Long companyId) {
+        runAfterCommit(() -> searchIndex.deleteCompany(companyId));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        Runnable safe = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // Search is a derived view; a failed update must never fail the write
+                log.warn("Search index update failed: {}", e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+        } else {
+            safe.run();
+        }
+    }
+
+    // ===============================
+    // ADMIN + ANALYST — SEARCH
+    // ===============================
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public SearchResponse search(
+            String query,
+            String riskLevel,
+            String sector,
+            LocalDateTime from,
+            LocalDateTime to,
+            int page,
+            int size
+    ) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long offset = (long) page * pageSize;
+        if (offset + pageSize > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException(
+                    "Only the first " + MAX_RESULT_WINDOW + " results can be paged through; refine the query");
+        }
+
+        AnalysisSearchIndex.Result result = searchIndex.search(
+                query, riskLevel, sector, from, to, (int) offset, pageSize, FACET_TOP_N
+        );
+
+        return SearchResponse.builder()
+                .query(query)
+                .totalHits(result.totalHits())
+                .page(page)
+                .size(pageSize)
+                .hits(result.hits().stream()
+                        .map(h -> SearchHit.builder()
+                                .analysisId(h.analysisId())
+                                .companyId(h.companyId())
+                                .companyName(h.companyName())
+                                .sector(h.sector())
+                                .esgScore(h.esgScore())
+                                .riskLevel(h.riskLevel())
+                                .analystSummary(h.analystSummary())
+                                .timestamp(h.timestamp())
+                                .score(h.score())
+                                .build())
+                        .toList())
+                .facets(result.facets())
+                .build();
+    }
+
+    // ===============================
+    // ADMIN ONLY — REBUILD FROM DB
+    // ===============================
+    @PreAuthorize("hasRole('ADMIN')")
+    public int rebuild() {
+        return rebuildFromDatabase();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!rebuildOnStartup || searchIndex.documentCount() > 0) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuildFromDatabase();
+            } catch (RuntimeException e) {
+                log.warn("Startup search index rebuild failed: {}", e.getMessage());
+            }
+        }, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private int rebuildFromDatabase() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("Search index rebuild already running");
+        }
+
+        try {
+            long started = System.currentTimeMillis();
+            // Re-indexed in place, so searches keep seeing every analysis until the stale documents go
+            long generation = searchIndex.newGeneration();
+
+            long afterId = 0;
+            int indexed = 0;
+            while (true) {
+                final long cursor = afterId;
+                List<ESGAnalysis> batch = transactionTemplate.execute(status -> {
+                    List<ESGAnalysis> rows = esgAnalysisRepository.findWithCompanyAfter(
+                            cursor, PageRequest.of(0, REBUILD_BATCH_SIZE)
+                    );
+                    rows.forEach(a -> searchIndex.index(a, a.getCompany()));
+                    return rows;
+                });
+
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                indexed += batch.size();
+            }
+
+            searchIndex.deleteBefore(generation);
+            searchIndex.commit();
+            log.info("Search index rebuilt: {} analyses in {}ms", indexed, System.currentTimeMillis() - started);
+            return indexed;
+
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
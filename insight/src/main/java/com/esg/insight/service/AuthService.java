@@ -4,6 +4,8 @@ import com.esg.insight.entity.Analyst;
 import com.esg.insight.entity.Role;
 import com.esg.insight.repository.AnalystRepository;
 import com.esg.insight.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,7 @@ public class AuthService {
     private final AnalystRepository analystRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     // ===============================
     // REGISTER (DEFAULT ROLE = ANALYST)
@@ -69,4 +72,24 @@ public class AuthService {
                 "role", analyst.getRole().name()
         );
     }
+
+    // ===============================
+    // LOGOUT (REVOKES THE PRESENTED TOKEN)
+    // ===============================
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid or expired token");
+        }
+        tokenRevocationService.revokeToken(claims);
+    }
+
+    // ===============================
+    // ADMIN ONLY — REVOKE ALL TOKENS OF A USER
+    // ===============================
+    public void revokeUser(String email) {
+        tokenRevocationService.revokeUser(email);
+    }
 }
@@ -0,0 +1,232 @@
+package com.esg.insight.service;
+
+import com.esg.insight.entity.ContentBlob;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Content-addressed store for news texts and analysis payloads (esg_blobs).
+ *
+ * Identical content is stored once and referenced by id from every analysis
+ * that carries it. Contents are DEFLATE-compressed when that saves space and
+ * are only decompressed when an analysis' text or payload is actually read.
+ *
+ * Payloads may instead be stored as a JSON merge patch against the company's
+ * previous payload, with a full keyframe every {@code payload-keyframe-interval}
+ * snapshots (see {@link #putPayload}).
+ */
+@Service
+public class BlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobStore.class);
+    private static final int MIN_COMPRESS_BYTES = 128; // below this DEFLATE rarely pays for its header
+    private static final double MAX_PATCH_RATIO = 0.5; // a bigger patch saves too little to lengthen the chain
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final PayloadSnapshotCache snapshots;
+    private final int keyframeInterval;
+
+    public BlobStore(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            PayloadSnapshotCache snapshots,
+            @Value("${esg.blobs.payload-keyframe-interval:16}") int keyframeInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.snapshots = snapshots;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    // ===============================
+    // WRITE
+    // ===============================
+    /**
+     * Stores {@code text} unless identical content already exists.
+     * Must run inside the caller's transaction.
+     *
+     * @return reference to the blob, without loading it
+     */
+    public ContentBlob put(String text) {
+        return reference(store(text));
+    }
+
+    /**
+     * Stores an analysis payload like {@link #put}, but as a patch against the
+     * company's latest stored payload when the patch is small and that chain
+     * is still shorter than the keyframe interval. Must run inside the
+     * caller's transaction, before the new analysis is saved.
+     */
+    public ContentBlob putPayload(String json, Long companyId) {
+        return reference(storePayload(json, companyId));
+    }
+
+    public ContentBlob reference(Long id) {
+        return entityManager.getReference(ContentBlob.class, id);
+    }
+
+    Long store(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = sha256(raw);
+        Long id = findId(hash);
+        return id != null ? id : insert(hash, raw, false, null, 0);
+    }
+
+    Long storePayload(String json, Long companyId) {
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = sha256(raw);
+        Long id = findId(hash);
+        if (id != null) {
+            return id;
+        }
+
+        if (keyframeInterval > 1) {
+            record Base(long id, int chainLength) {
+            }
+            List<Base> previous = jdbcTemplate.query("""
+                    SELECT a.payload_blob_id, b.chain_length
+                    FROM esg_analyses a
+                    JOIN esg_blobs b ON b.id = a.payload_blob_id
+                    WHERE a.company_id = ?
+                    ORDER BY a.created_at DESC, a.id DESC
+                    LIMIT 1
+                    """, (rs, i) -> new Base(rs.getLong(1), rs.getInt(2)), companyId);
+            if (!previous.isEmpty() && previous.get(0).chainLength() + 1 < keyframeInterval) {
+                Base base = previous.get(0);
+                String baseText = text(base.id());
+                String patch = JsonMergePatch.diff(baseText, json);
+                byte[] patchBytes = patch.getBytes(StandardCharsets.UTF_8);
+                // Field order or explicit nulls a patch cannot carry: keep the snapshot whole
+                if (patchBytes.length <= raw.length * MAX_PATCH_RATIO
+                        && JsonMergePatch.apply(baseText, patch).equals(json)) {
+                    // The next analysis of this company patches against this one
+                    snapshots.put(hash, json);
+                    return insert(hash, patchBytes, true, base.id(), base.chainLength() + 1);
+                }
+            }
+        }
+        return insert(hash, raw, false, null, 0);
+    }
+
+    private Long insert(byte[] hash, byte[] content, boolean patch, Long baseId, int chainLength) {
+        byte[] compressed = content.length >= MIN_COMPRESS_BYTES ? ContentBlob.deflate(content) : null;
+        short codec = patch
+                ? (compressed != null ? ContentBlob.CODEC_PATCH_DEFLATE : ContentBlob.CODEC_PATCH)
+                : (compressed != null ? ContentBlob.CODEC_DEFLATE : ContentBlob.CODEC_RAW);
+        List<Long> inserted = jdbcTemplate.queryForList("""
+                INSERT INTO esg_blobs (hash, codec, raw_size, data, base_id, chain_length)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (hash) DO NOTHING
+                RETURNING id
+                """, Long.class,
+                hash, codec, content.length, compressed != null ? compressed : content, baseId, chainLength
+        );
+        // Lost a race with a concurrent writer of the same content
+        return inserted.isEmpty() ? findId(hash) : inserted.get(0);
+    }
+
+    private Long findId(byte[] hash) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM esg_blobs WHERE hash = ?", Long.class, (Object) hash);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    // ===============================
+    // READ
+    // ===============================
+    /**
+     * Full text of a blob without loading entities, e.g. while streaming a
+     * partition. Keyframes and cached snapshots take one lookup; otherwise the
+     * chain below the blob comes back in one more query and patches are
+     * applied from the keyframe up, through the same cache as {@link ContentBlob#text()}.
+     */
+    public String text(long id) {
+        record Link(byte[] hash, short codec, int rawSize, byte[] data) {
+        }
+        List<Link> top = jdbcTemplate.query(
+                "SELECT hash, codec, raw_size, data FROM esg_blobs WHERE id = ?",
+                (rs, i) -> new Link(rs.getBytes(1), rs.getShort(2), rs.getInt(3), rs.getBytes(4)), id);
+        if (top.isEmpty()) {
+            throw new IllegalArgumentException("Blob " + id + " not found");
+        }
+        Link blob = top.get(0);
+        if (!ContentBlob.isPatch(blob.codec())) {
+            return new String(ContentBlob.decode(blob.codec(), blob.data(), blob.rawSize()), StandardCharsets.UTF_8);
+        }
+        String cached = snapshots.get(blob.hash());
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Link> chain = jdbcTemplate.query("""
+                WITH RECURSIVE chain AS (
+                    SELECT id, base_id, hash, codec, raw_size, data, 0 AS depth
+                    FROM esg_blobs WHERE id = ?
+                    UNION ALL
+                    SELECT b.id, b.base_id, b.hash, b.codec, b.raw_size, b.data, c.depth + 1
+                    FROM chain c
+                    CROSS JOIN LATERAL (SELECT * FROM esg_blobs WHERE id = c.base_id) b
+                )
+                SELECT hash, codec, raw_size, data FROM chain ORDER BY depth DESC
+                """, (rs, i) -> new Link(rs.getBytes(1), rs.getShort(2), rs.getInt(3), rs.getBytes(4)), id);
+        String text = null;
+        for (Link link : chain) {
+            String stored = new String(ContentBlob.decode(link.codec(), link.data(), link.rawSize()), StandardCharsets.UTF_8);
+            text = ContentBlob.isPatch(link.codec()) ? snapshots.patched(link.hash(), text, stored) : stored;
+        }
+        return text;
+    }
+
+    // ===============================
+    // CLEANUP
+    // ===============================
+    /**
+     * Deletes blobs no analysis references any more, e.g. after a company was
+     * deleted or a month was archived. Blobs written in the last day are left
+     * for the next pass. If a writer re-references a blob while it is being
+     * deleted, the foreign key fails whichever of the two commits second.
+     * A payload that later patches build on stays until they are gone; each
+     * round frees the next link of an unreferenced chain.
+     *
+     * @return number of blobs deleted
+     */
+    public int deleteOrphans() {
+        int deleted = 0;
+        try {
+            int round;
+            do {
+                round = jdbcTemplate.update("""
+                        DELETE FROM esg_blobs b
+                        WHERE b.created_at < now() - interval '1 day'
+                          AND NOT EXISTS (SELECT 1 FROM esg_analyses a WHERE a.news_text_blob_id = b.id)
+                          AND NOT EXISTS (SELECT 1 FROM esg_analyses a WHERE a.payload_blob_id = b.id)
+                          AND NOT EXISTS (SELECT 1 FROM esg_blobs d WHERE d.base_id = b.id)
+                        """);
+                deleted += round;
+            } while (round > 0);
+            return deleted;
+        } catch (DataIntegrityViolationException e) {
+            // A blob was referenced again while the delete ran; the next pass retries
+            log.warn("Blob cleanup stopped after {} blobs: {}", deleted, e.getMessage());
+            return deleted;
+        }
+    }
+
+    static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
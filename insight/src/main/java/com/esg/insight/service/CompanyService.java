@@ -14,6 +14,13 @@ import java.util.List;
 public class CompanyService {
 
     private final CompanyRepository companyRepository;
+    private final AnalysisSearchService analysisSearchService;
+    private final NearDuplicateService nearDuplicateService;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final LeaderboardService leaderboardService;
+    private final CorrelationService correlationService;
+    private final CompanySuggestService companySuggestService;
+    private final ResourceVersions resourceVersions;
 
     // ===============================
     // ADMIN ONLY — CREATE COMPANY
@@ -21,7 +28,10 @@ public class CompanyService {
     @PreAuthorize("hasRole('ADMIN')")
     @Transactional
     public Company createCompany(Company company) {
-        return companyRepository.save(company);
+        Company saved = companyRepository.save(company);
+        companySuggestService.addAfterCommit(saved);
+        resourceVersions.bumpCatalogueAfterCommit();
+        return saved;
     }
 
     // ===============================
@@ -33,6 +43,14 @@ public class CompanyService {
         return companyRepository.findAll();
     }
 
+    /**
+     * Validator for {@link #getAllCompanies()}; answers without touching the database.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public String getCompaniesETag() {
+        return resourceVersions.catalogueETag();
+    }
+
     // ===============================
     // ADMIN ONLY — DELETE COMPANY
     // ===============================
@@ -43,5 +61,13 @@ public class CompanyService {
             throw new IllegalArgumentException("Company not found");
         }
         companyRepository.deleteById(id);
+        analysisSearchService.removeCompanyAfterCommit(id);
+        nearDuplicateService.removeCompany(id);
+        portfolioAnalyticsService.removeCompany(id);
+        leaderboardService.removeCompany(id);
+        correlationService.invalidate();
+        companySuggestService.removeCompany(id);
+        resourceVersions.bumpCatalogueAfterCommit();
+        resourceVersions.bumpCompanyAfterCommit(id);
     }
 }
@@ -0,0 +1,153 @@
+package com.esg.insight.service;
+
+import com.esg.insight.dto.CompanySuggestResponse;
+import com.esg.insight.dto.CompanySuggestion;
+import com.esg.insight.entity.Company;
+import com.esg.insight.search.CompanySuggestIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Company autocomplete for search boxes. Every keystroke is answered from
+ * {@link CompanySuggestIndex}; the database is read once, after startup, and
+ * the index then follows company creates and deletes on this instance.
+ */
+@Service
+public class CompanySuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompanySuggestService.class);
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxLimit;
+    private final CompanySuggestIndex index = new CompanySuggestIndex();
+
+    // Deletes seen while the startup load runs, so the loader does not bring them back
+    private Set<Long> removedWhileLoading = new HashSet<>();
+    private volatile boolean loaded;
+
+    public CompanySuggestService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.suggest.max-limit:50}") int maxLimit
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxLimit = maxLimit;
+    }
+
+    // ===============================
+    // ADMIN + ANALYST — SUGGEST
+    // ===============================
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public CompanySuggestResponse suggest(String query, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        long started = System.nanoTime();
+        List<CompanySuggestion> suggestions = index.suggest(query, limit).stream()
+                .map(s -> CompanySuggestion.builder()
+                        .companyId(s.company().id())
+                        .name(s.company().name())
+                        .sector(s.company().sector())
+                        .country(s.company().country())
+                        .score(s.score())
+                        .build())
+                .toList();
+        return CompanySuggestResponse.builder()
+                .query(query)
+                .complete(loaded)
+                .tookMicros((System.nanoTime() - started) / 1_000)
+                .suggestions(suggestions)
+                .build();
+    }
+
+    // ===============================
+    // INCREMENTAL FEED
+    // ===============================
+    /**
+     * Adds the company once the surrounding transaction commits, so a
+     * rolled-back create is never suggested.
+     */
+    public void addAfterCommit(Company company) {
+        CompanySuggestIndex.Entry entry = new CompanySuggestIndex.Entry(
+                company.getId(), company.getName(), company.getSector(), company.getCountry());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.put(entry);
+                }
+            });
+        } else {
+            index.put(entry);
+        }
+    }
+
+    /**
+     * Removed right away: suggesting a company whose delete then rolls back
+     * only hides it until the next restart, while the reverse would offer a
+     * company that no longer exists.
+     */
+    public synchronized void removeCompany(Long companyId) {
+        index.remove(companyId);
+        if (removedWhileLoading != null) {
+            removedWhileLoading.add(companyId);
+        }
+    }
+
+    // ===============================
+    // STARTUP LOAD
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.warn("Company suggest index load failed: {}", e.getMessage());
+            }
+        }, "company-suggest-load");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void load() {
+        long started = System.currentTimeMillis();
+        long afterId = 0;
+        while (true) {
+            List<CompanySuggestIndex.Entry> batch = jdbcTemplate.query(
+                    "SELECT id, name, sector, country FROM companies WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, i) -> new CompanySuggestIndex.Entry(
+                            rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)),
+                    afterId, LOAD_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            synchronized (this) {
+                for (CompanySuggestIndex.Entry entry : batch) {
+                    if (!removedWhileLoading.contains(entry.id())) {
+                        index.put(entry);
+                    }
+                }
+            }
+            afterId = batch.get(batch.size() - 1).id();
+        }
+        synchronized (this) {
+            removedWhileLoading = null;
+        }
+        loaded = true;
+        log.info("Company suggest index loaded: {} companies in {}ms",
+                index.size(), System.currentTimeMillis() - started);
+    }
+}
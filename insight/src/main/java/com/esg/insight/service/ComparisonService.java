@@ -0,0 +1,196 @@
+package com.esg.insight.service;
+
+import com.esg.insight.analytics.ScoreQuery;
+import com.esg.insight.dto.CompanySeries;
+import com.esg.insight.dto.CompareRequest;
+import com.esg.insight.dto.CompareResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Peer comparison: per-period score series for several companies over one
+ * date range, fetched in a single statement instead of one history call
+ * (query + transaction) per company. Payloads are never read.
+ *
+ * Only the live partitions are covered; archived months yield empty periods.
+ */
+@Service
+public class ComparisonService {
+
+    private enum Metric {
+        AVG_SCORE, MIN_SCORE, MAX_SCORE, LAST_SCORE, ANALYSES, HIGH_RISK
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxCompanies;
+    private final int maxPeriods;
+
+    public ComparisonService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.compare.max-companies:50}") int maxCompanies,
+            @Value("${esg.compare.max-periods:1000}") int maxPeriods
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxCompanies = maxCompanies;
+        this.maxPeriods = maxPeriods;
+    }
+
+    public CompareResponse compare(CompareRequest request) {
+        List<Long> companyIds = request.getCompanyIds() == null ? List.of()
+                : new ArrayList<>(new LinkedHashSet<>(request.getCompanyIds()));
+        if (companyIds.isEmpty() || companyIds.contains(null)) {
+            throw new IllegalArgumentException("companyIds must list at least one company");
+        }
+        if (companyIds.size() > maxCompanies) {
+            throw new IllegalArgumentException("At most " + maxCompanies + " companies can be compared");
+        }
+        LocalDateTime from = request.getFrom();
+        LocalDateTime to = request.getTo();
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' and 'to' are required and 'from' must be before 'to'");
+        }
+        ScoreQuery.Interval interval = parse(ScoreQuery.Interval.class,
+                request.getInterval() == null ? "month" : request.getInterval(), "interval");
+        List<Metric> metrics = request.getMetrics() == null || request.getMetrics().isEmpty()
+                ? List.of(Metric.AVG_SCORE)
+                : request.getMetrics().stream().map(m -> parse(Metric.class, m, "metric")).distinct().toList();
+
+        List<LocalDateTime> periods = periods(interval, from, to, maxPeriods);
+        Map<LocalDateTime, Integer> periodIndex = new HashMap<>();
+        for (int i = 0; i < periods.size(); i++) {
+            periodIndex.put(periods.get(i), i);
+        }
+
+        Map<Long, String> names = new LinkedHashMap<>();
+        Map<Long, Number[][]> values = new HashMap<>();
+        Long[] ids = companyIds.toArray(Long[]::new);
+        String unit = interval.name().toLowerCase(Locale.ROOT);
+
+        // last_score needs the newest row per (company, period): a window over the
+        // range scan, folded into the per-period aggregates by the outer GROUP BY
+        jdbcTemplate.query("""
+                SELECT c.id, c.name, s.period, s.avg_score, s.min_score, s.max_score, s.last_score, s.analyses, s.high_risk
+                FROM companies c
+                LEFT JOIN (
+                    SELECT company_id, period,
+                           round(avg(esg_score), 2) AS avg_score,
+                           min(esg_score)           AS min_score,
+                           max(esg_score)           AS max_score,
+                           max(last_score)          AS last_score,
+                           count(*)                 AS analyses,
+                           count(*) FILTER (WHERE risk_level = 'HIGH') AS high_risk
+                    FROM (
+                        SELECT company_id, esg_score, risk_level,
+                               date_trunc(?, created_at) AS period,
+                               first_value(esg_score) OVER (
+                                   PARTITION BY company_id, date_trunc(?, created_at)
+                                   ORDER BY created_at DESC
+                               ) AS last_score
+                        FROM esg_analyses
+                        WHERE company_id = ANY (?)
+                          AND created_at >= ? AND created_at < ?
+                    ) ranked
+                    GROUP BY company_id, period
+                ) s ON s.company_id = c.id
+                WHERE c.id = ANY (?)
+                """, rs -> {
+            long companyId = rs.getLong(1);
+            names.put(companyId, rs.getString(2));
+            LocalDateTime period = rs.getObject(3, LocalDateTime.class);
+            if (period == null) {
+                return; // no analyses in range
+            }
+            Integer index = periodIndex.get(period);
+            if (index == null) {
+                return;
+            }
+            Number[][] series = values.computeIfAbsent(companyId, id -> new Number[Metric.values().length][periods.size()]);
+            series[Metric.AVG_SCORE.ordinal()][index] = rs.getBigDecimal(4).doubleValue();
+            series[Metric.MIN_SCORE.ordinal()][index] = rs.getInt(5);
+            series[Metric.MAX_SCORE.ordinal()][index] = rs.getInt(6);
+            series[Metric.LAST_SCORE.ordinal()][index] = rs.getInt(7);
+            series[Metric.ANALYSES.ordinal()][index] = rs.getLong(8);
+            series[Metric.HIGH_RISK.ordinal()][index] = rs.getLong(9);
+        }, unit, unit, ids, from, to, ids);
+
+        List<Long> unknown = companyIds.stream().filter(id -> !names.containsKey(id)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown company ids: " + unknown);
+        }
+
+        List<CompanySeries> companies = new ArrayList<>(companyIds.size());
+        for (Long companyId : companyIds) {
+            Number[][] series = values.get(companyId);
+            Map<String, List<Number>> byMetric = new LinkedHashMap<>();
+            for (Metric metric : metrics) {
+                byMetric.put(name(metric), series == null
+                        ? Arrays.asList(new Number[periods.size()])
+                        : Arrays.asList(series[metric.ordinal()]));
+            }
+            companies.add(CompanySeries.builder()
+                    .companyId(companyId)
+                    .companyName(names.get(companyId))
+                    .series(byMetric)
+                    .build());
+        }
+
+        return CompareResponse.builder()
+                .interval(unit)
+                .metrics(metrics.stream().map(ComparisonService::name).toList())
+                .periods(periods)
+                .companies(companies)
+                .build();
+    }
+
+    /**
+     * Period starts covering [from, to), matching Postgres date_trunc (weeks start on Monday).
+     */
+    static List<LocalDateTime> periods(ScoreQuery.Interval interval, LocalDateTime from, LocalDateTime to, int maxPeriods) {
+        LocalDateTime start = switch (interval) {
+            case DAY -> from.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> from.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> from.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            case YEAR -> from.truncatedTo(ChronoUnit.DAYS).withDayOfYear(1);
+        };
+        List<LocalDateTime> periods = new ArrayList<>();
+        for (LocalDateTime period = start; period.isBefore(to); period = switch (interval) {
+            case DAY -> period.plusDays(1);
+            case WEEK -> period.plusWeeks(1);
+            case MONTH -> period.plusMonths(1);
+            case YEAR -> period.plusYears(1);
+        }) {
+            if (periods.size() == maxPeriods) {
+                throw new IllegalArgumentException("Range spans more than " + maxPeriods + " " + interval.name().toLowerCase(Locale.ROOT) + " periods");
+            }
+            periods.add(period);
+        }
+        return periods;
+    }
+
+    private static String name(Metric metric) {
+        return metric.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String parameter) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + parameter + " value: " + value);
+        }
+    }
+}
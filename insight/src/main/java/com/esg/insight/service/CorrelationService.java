@@ -0,0 +1,290 @@
+package com.esg.insight.service;
+
+import com.esg.insight.analytics.ScoreCorrelation;
+import com.esg.insight.analytics.ScoreQuery;
+import com.esg.insight.dto.CompanyCluster;
+import com.esg.insight.dto.CorrelatedPair;
+import com.esg.insight.dto.CorrelationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Which companies' ESG scores move together: per-period average scores for
+ * every company, aligned on one period axis, correlated pairwise by
+ * {@link ScoreCorrelation} on a dedicated fork-join pool and grouped into
+ * clusters.
+ *
+ * The series come from one GROUP BY over esg_analyses, read straight into
+ * primitive arrays. Results are cached per request until the next analysis
+ * or company delete, and for at most {@code cache-ttl-seconds} so writes on
+ * other instances and archived months are picked up. Identical requests
+ * arriving while one is being computed wait for it instead of computing again.
+ */
+@Service
+public class CorrelationService {
+
+    private record Key(LocalDateTime from, LocalDateTime to, ScoreQuery.Interval interval, String sector,
+                       int minPeriods, double threshold, int limit, boolean matrix) {
+    }
+
+    private record Cached(long generation, long createdAtNanos, CompletableFuture<CorrelationResponse> result) {
+    }
+
+    private record Company(String name, String sector) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private final int maxCompanies;
+    private final int maxMatrixCompanies;
+    private final int maxPeriods;
+    private final int maxLimit;
+    private final long cacheTtlNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentHashMap<Key, Cached> cache = new ConcurrentHashMap<>();
+
+    public CorrelationService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.correlation.parallelism:0}") int parallelism,
+            @Value("${esg.correlation.max-companies:5000}") int maxCompanies,
+            @Value("${esg.correlation.max-matrix-companies:200}") int maxMatrixCompanies,
+            @Value("${esg.correlation.max-periods:400}") int maxPeriods,
+            @Value("${esg.correlation.max-limit:500}") int maxLimit,
+            @Value("${esg.correlation.cache-ttl-seconds:600}") long cacheTtlSeconds
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxCompanies = maxCompanies;
+        this.maxMatrixCompanies = maxMatrixCompanies;
+        this.maxPeriods = maxPeriods;
+        this.maxLimit = maxLimit;
+        this.cacheTtlNanos = cacheTtlSeconds * 1_000_000_000L;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // ===============================
+    // QUERY
+    // ===============================
+    /**
+     * @param from       start of the range; defaults to two years before {@code to}
+     * @param to         end of the range (exclusive); defaults to now
+     * @param sector     only companies in this sector, or all
+     * @param minPeriods fewest periods two companies must both have a score in
+     * @param threshold  correlation at or above which companies share a cluster
+     * @param limit      how many top pairs and clusters to return
+     * @param matrix     also return the full matrix (small company sets only)
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public CorrelationResponse correlations(LocalDateTime from, LocalDateTime to, ScoreQuery.Interval interval,
+                                            String sector, int minPeriods, double threshold, int limit, boolean matrix) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (minPeriods < 3) {
+            throw new IllegalArgumentException("minPeriods must be at least 3");
+        }
+        if (!(threshold > -1 && threshold <= 1)) {
+            throw new IllegalArgumentException("threshold must be in (-1, 1]");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        String sectorFilter = sector == null || sector.isBlank() ? null : sector.trim();
+        Key key = new Key(from, to, interval, sectorFilter == null ? null : sectorFilter.toLowerCase(Locale.ROOT),
+                minPeriods, threshold, limit, matrix);
+
+        long current = generation.get();
+        long now = System.nanoTime();
+        CompletableFuture<CorrelationResponse> mine = new CompletableFuture<>();
+        Cached entry = cache.compute(key, (k, old) ->
+                old != null && old.generation() == current && now - old.createdAtNanos() < cacheTtlNanos
+                        ? old
+                        : new Cached(current, now, mine));
+        if (entry.result() == mine) {
+            try {
+                mine.complete(compute(from, to, interval, sectorFilter, minPeriods, threshold, limit, matrix));
+            } catch (RuntimeException e) {
+                cache.remove(key, entry);
+                mine.completeExceptionally(e);
+            }
+        }
+        try {
+            return entry.result().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    // ===============================
+    // INVALIDATION
+    // ===============================
+    /**
+     * Called after analyses are added or removed; cached results are recomputed on next request.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    // ===============================
+    // COMPUTE
+    // ===============================
+    private CorrelationResponse compute(LocalDateTime from, LocalDateTime to, ScoreQuery.Interval interval,
+                                        String sector, int minPeriods, double threshold, int limit, boolean matrix) {
+        long started = System.currentTimeMillis();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusYears(2);
+        List<LocalDateTime> periods = ComparisonService.periods(interval, start, end, maxPeriods);
+        Map<LocalDateTime, Integer> periodIndex = new HashMap<>();
+        for (int i = 0; i < periods.size(); i++) {
+            periodIndex.put(periods.get(i), i);
+        }
+
+        Map<Long, Company> companies = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, name, sector FROM companies WHERE ?::varchar IS NULL OR lower(sector) = lower(?)",
+                rs -> {
+                    companies.put(rs.getLong(1), new Company(rs.getString(2), rs.getString(3)));
+                }, sector, sector);
+
+        // One row per (company, period); rows arrive grouped by company
+        String unit = interval.name().toLowerCase(Locale.ROOT);
+        Map<Long, double[]> seriesById = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT a.company_id, date_trunc(?, a.created_at) AS period, avg(a.esg_score)
+                FROM esg_analyses a
+                WHERE a.created_at >= ? AND a.created_at < ?
+                  AND (?::varchar IS NULL OR a.company_id IN (SELECT id FROM companies WHERE lower(sector) = lower(?)))
+                GROUP BY a.company_id, period
+                """, rs -> {
+            long companyId = rs.getLong(1);
+            Integer index = periodIndex.get(rs.getObject(2, LocalDateTime.class));
+            if (index == null || !companies.containsKey(companyId)) {
+                return;
+            }
+            double[] series = seriesById.computeIfAbsent(companyId, id -> {
+                double[] empty = new double[periods.size()];
+                Arrays.fill(empty, Double.NaN);
+                return empty;
+            });
+            series[index] = rs.getDouble(3);
+        }, unit, start, end, sector, sector);
+
+        List<Long> ids = new ArrayList<>();
+        List<double[]> rows = new ArrayList<>();
+        seriesById.entrySet().stream()
+                .filter(e -> scored(e.getValue()) >= minPeriods)
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    ids.add(e.getKey());
+                    rows.add(e.getValue());
+                });
+        if (ids.size() > maxCompanies) {
+            throw new IllegalArgumentException(ids.size() + " companies have enough data, at most "
+                    + maxCompanies + " can be correlated; narrow the range or filter by sector");
+        }
+        if (matrix && ids.size() > maxMatrixCompanies) {
+            throw new IllegalArgumentException("The full matrix is limited to " + maxMatrixCompanies
+                    + " companies, " + ids.size() + " matched");
+        }
+
+        ScoreCorrelation.Result result = ScoreCorrelation.compute(
+                rows.toArray(double[][]::new), minPeriods, threshold, limit, matrix, pool);
+
+        List<CorrelatedPair> topPairs = result.topPairs().stream()
+                .map(pair -> CorrelatedPair.builder()
+                        .companyId(ids.get(pair.first()))
+                        .companyName(companies.get(ids.get(pair.first())).name())
+                        .peerId(ids.get(pair.second()))
+                        .peerName(companies.get(ids.get(pair.second())).name())
+                        .correlation(Math.round(pair.r() * 10_000) / 10_000.0)
+                        .sharedPeriods(pair.overlap())
+                        .build())
+                .toList();
+
+        List<CompanyCluster> clusters = result.clusters().stream()
+                .limit(limit)
+                .map(members -> {
+                    Map<String, Integer> sectors = new TreeMap<>();
+                    List<Long> memberIds = new ArrayList<>(members.length);
+                    List<String> names = new ArrayList<>(members.length);
+                    for (int member : members) {
+                        Company company = companies.get(ids.get(member));
+                        sectors.merge(company.sector() == null ? "Unknown" : company.sector(), 1, Integer::sum);
+                        memberIds.add(ids.get(member));
+                        names.add(company.name());
+                    }
+                    return CompanyCluster.builder()
+                            .size(members.length)
+                            .sectors(sectors)
+                            .companyIds(memberIds)
+                            .companyNames(names)
+                            .build();
+                })
+                .toList();
+
+        List<List<Float>> cells = null;
+        if (result.matrix() != null) {
+            int n = ids.size();
+            cells = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                List<Float> row = new ArrayList<>(n);
+                for (int j = 0; j < n; j++) {
+                    float r = result.matrix()[i * n + j];
+                    row.add(Float.isNaN(r) ? null : r);
+                }
+                cells.add(row);
+            }
+        }
+
+        return CorrelationResponse.builder()
+                .from(start)
+                .to(end)
+                .interval(unit)
+                .periods(periods.size())
+                .minPeriods(minPeriods)
+                .threshold(threshold)
+                .companies(ids.size())
+                .excludedCompanies(seriesById.size() - ids.size())
+                .pairsCompared(result.pairsCompared())
+                .computedAt(LocalDateTime.now())
+                .tookMillis(System.currentTimeMillis() - started)
+                .topPairs(topPairs)
+                .clusters(clusters)
+                .matrixCompanyIds(cells == null ? null : ids)
+                .matrix(cells)
+                .build();
+    }
+
+    private static int scored(double[] series) {
+        int count = 0;
+        for (double value : series) {
+            if (!Double.isNaN(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
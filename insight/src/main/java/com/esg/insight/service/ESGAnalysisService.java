@@ -1,58 +1,112 @@
 package com.esg.insight.service;
 
-import com.esg.insight.ai.AIClient;
+import com.esg.insight.ai.AIBatchCollector;
+import com.esg.insight.analytics.LttbSampler;
+import com.esg.insight.archive.AnalysisArchive;
+import com.esg.insight.archive.ArchivedAnalysis;
+import com.esg.insight.ai.Deadline;
+import com.esg.insight.dto.ESGAnalysisPayload;
 import com.esg.insight.dto.ESGHistoryResponse;
 import com.esg.insight.dto.ESGRequest;
 import com.esg.insight.dto.ESGResponse;
+import com.esg.insight.dto.OverallAssessment;
 import com.esg.insight.entity.Company;
+import com.esg.insight.entity.ContentBlob;
 import com.esg.insight.entity.ESGAnalysis;
+import com.esg.insight.exception.ServiceDrainingException;
+import com.esg.insight.repository.AnalysisScoreView;
 import com.esg.insight.repository.CompanyRepository;
 import com.esg.insight.repository.ESGAnalysisRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ESGAnalysisService {
 
+    private static final Logger log = LoggerFactory.getLogger(ESGAnalysisService.class);
+    private static final long RESUME_RETRY_DELAY_MS = 5_000;
+
     private final CompanyRepository companyRepository;
     private final ESGAnalysisRepository esgAnalysisRepository;
-    private final AIClient aiClient;
+    private final AIBatchCollector aiBatchCollector;
     private final EntityManager entityManager;
+    private final IncidentIndexService incidentIndexService;
+    private final AnalysisSearchService analysisSearchService;
+    private final NearDuplicateService nearDuplicateService;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalysisArchive analysisArchive;
+    private final BlobStore blobStore;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final LeaderboardService leaderboardService;
+    private final CorrelationService correlationService;
+    private final ESGScoreEngine esgScoreEngine;
+    private final ShutdownCoordinator shutdownCoordinator;
+    private final ObjectMapper objectMapper;
 
     // ===============================
     // ESG ANALYSIS (AI CALL)
     // ===============================
-    @Transactional
-    public ESGResponse analyze(ESGRequest request) {
+    // Not @Transactional: the AI call can run for minutes and must not hold one of
+    // the pool's connections; only the final writes share a transaction.
+    public ESGResponse analyze(ESGRequest request, Deadline deadline) {
+        try (ShutdownCoordinator.Ticket ticket = shutdownCoordinator.admit(request.getCompanyId(), request.getNewsText())) {
+            return analyze(request, deadline, ticket);
+        }
+    }
+
+    private ESGResponse analyze(ESGRequest request, Deadline deadline, ShutdownCoordinator.Ticket ticket) {
 
         Company company = companyRepository.findById(request.getCompanyId())
                 .orElseThrow(() -> new RuntimeException("Company not found"));
 
-        Map<String, Object> aiResult = aiClient.analyzeText(request.getNewsText());
+        // Syndicated / lightly reworded articles reuse the earlier result instead of a new AI call
+        Long fingerprint = nearDuplicateService.fingerprint(request.getNewsText());
+        ESGAnalysis original = findOriginal(company.getId(), fingerprint);
+
+        ESGAnalysisPayload aiResult = original != null
+                ? original.getAnalysisPayload()
+                : aiBatchCollector.analyze(request.getNewsText(), deadline);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> overall =
-                (Map<String, Object>) aiResult.get("overallAssessment");
+        OverallAssessment overall = aiResult.overallAssessment();
 
         if (overall == null) {
             throw new RuntimeException("Invalid AI response: missing overallAssessment");
         }
 
-        Number esgScoreNumber = (Number) overall.get("esgScore");
-        String riskLevel = (String) overall.get("riskLevel");
+        Integer esgScore = overall.esgScore();
 
-        if (esgScoreNumber == null || riskLevel == null) {
-            throw new RuntimeException("Invalid AI response: missing ESG score or risk level");
+        if (esgScore == null) {
+            throw new RuntimeException("Invalid AI response: missing ESG score");
         }
 
-        Integer esgScore = esgScoreNumber.intValue();
-        String analystSummary = (String) aiResult.get("analystSummary");
+        // The stored payload keeps the AI's own label; the analysis follows the active thresholds
+        String riskLevel = esgScoreEngine.calculateRiskLevel(company.getSector(), esgScore);
+
+        String analystSummary = aiResult.analystSummary();
 
         ESGAnalysis analysis = ESGAnalysis.builder()
                 .company(company)
@@ -61,37 +115,129 @@ public class ESGAnalysisService {
                 .riskLevel(riskLevel)
                 .analystSummary(analystSummary)
                 .analysisPayload(aiResult)
+                .duplicateOfId(original != null ? original.getId() : null)
                 .build();
 
-        esgAnalysisRepository.save(analysis);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Content-addressed: a re-submitted article or a reused payload adds no new blob
+            analysis.setNewsTextBlob(blobStore.put(request.getNewsText()));
+            analysis.setPayloadBlob(original != null
+                    ? blobStore.reference(original.getPayloadBlob().getId())
+                    : blobStore.putPayload(ESGAnalysis.payloadJson(aiResult), company.getId()));
+            esgAnalysisRepository.save(analysis);
+            incidentIndexService.index(analysis);
+            analysisSearchService.indexAfterCommit(analysis, company);
+            resourceVersions.bumpCompanyAfterCommit(company.getId());
+
+            // REQUIRED for Supabase / PgBouncer
+            entityManager.flush();
+        });
+        ticket.complete();
 
-        // REQUIRED for Supabase / PgBouncer
-        entityManager.flush();
+        // Only originals are fingerprinted, so chains always resolve to the analysed article
+        if (original == null) {
+            nearDuplicateService.record(company.getId(), analysis.getId(), fingerprint, analysis.getCreatedAt());
+        }
+        portfolioAnalyticsService.record(
+                analysis.getId(), company.getId(), company.getSector(), analysis.getCreatedAt(), esgScore, riskLevel
+        );
+        leaderboardService.record(
+                company.getId(), company.getName(), company.getSector(), company.getCountry(),
+                analysis.getCreatedAt(), esgScore, riskLevel
+        );
+        correlationService.invalidate();
 
         return ESGResponse.builder()
                 .company(company.getName())
-                .overallAssessment(overall)
-                .pillarAssessment((Map<String, Object>) aiResult.get("pillarAssessment"))
-                .keyIncidents((List<Map<String, Object>>) aiResult.get("keyIncidents"))
-                .governanceAssessment((Map<String, Object>) aiResult.get("governanceAssessment"))
+                .overallAssessment(new OverallAssessment(esgScore, riskLevel))
+                .pillarAssessment(aiResult.pillarAssessment())
+                .keyIncidents(aiResult.keyIncidents())
+                .governanceAssessment(aiResult.governanceAssessment())
                 .analystSummary(analystSummary)
                 .timestamp(analysis.getCreatedAt())
+                .duplicateOf(analysis.getDuplicateOfId())
                 .build();
     }
 
+    // ===============================
+    // RESUME CHECKPOINTED ANALYSES
+    // ===============================
+    /**
+     * Re-runs analyses a previous shutdown could not drain. A client retrying
+     * the same article afterwards gets the stored result through dedup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        Thread thread = new Thread(() -> {
+            try {
+                ShutdownCoordinator.Checkpoint checkpoint;
+                while ((checkpoint = shutdownCoordinator.claim()) != null) {
+                    ESGRequest request = new ESGRequest();
+                    request.setCompanyId(checkpoint.companyId());
+                    request.setNewsText(checkpoint.newsText());
+                    try (ShutdownCoordinator.Ticket ticket = shutdownCoordinator.admit(checkpoint)) {
+                        analyze(request, Deadline.none(), ticket);
+                        shutdownCoordinator.recordResumed();
+                    } catch (ServiceDrainingException e) {
+                        return;
+                    } catch (RuntimeException e) {
+                        log.warn("Resumed analysis {} failed (attempt {}): {}",
+                                checkpoint.id(), checkpoint.attempts(), e.getMessage());
+                        Thread.sleep(RESUME_RETRY_DELAY_MS);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Resuming checkpointed analyses failed: {}", e.getMessage());
+            }
+        }, "analysis-resume");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private ESGAnalysis findOriginal(Long companyId, Long fingerprint) {
+        Long originalId = nearDuplicateService.findDuplicate(companyId, fingerprint);
+        if (originalId == null) {
+            return null;
+        }
+        // The index may briefly outlive a deleted row; fall back to a fresh analysis.
+        // Read in a transaction: a patch-encoded payload loads the blobs it builds on.
+        return transactionTemplate.execute(status -> {
+            ESGAnalysis original = esgAnalysisRepository.findWithPayloadById(originalId).orElse(null);
+            if (original != null) {
+                original.getAnalysisPayload();
+            }
+            return original;
+        });
+    }
+
     // ===============================
     // ESG HISTORY (NO AI CALLS ❗)
     // ===============================
     @Transactional(readOnly = true)
     public List<ESGHistoryResponse> getHistory(Long companyId) {
+        return getHistory(companyId, null, null);
+    }
+
+    /**
+     * History between {@code from} (inclusive) and {@code to} (exclusive), newest first.
+     * Archived months are only read when {@code from} reaches back into them;
+     * without a range only the live partitions are queried.
+     */
+    @Transactional(readOnly = true)
+    public List<ESGHistoryResponse> getHistory(Long companyId, LocalDateTime from, LocalDateTime to) {
 
         if (companyId == null) {
             throw new IllegalArgumentException("Company ID cannot be null");
         }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        List<ESGAnalysis> live = liveHistory(companyId, from, to);
 
-        return esgAnalysisRepository
-                .findByCompanyIdOrderByCreatedAtDesc(companyId)
-                .stream()
+        List<ESGHistoryResponse> history = new ArrayList<>(live.stream()
                 .map(a -> ESGHistoryResponse.builder()
                         .analysisId(a.getId())
                         .companyName(a.getCompany().getName())
@@ -99,8 +245,238 @@ public class ESGAnalysisService {
                         .riskLevel(a.getRiskLevel())
                         .analysisPayload(a.getAnalysisPayload())
                         .timestamp(a.getCreatedAt())
+                        .duplicateOf(a.getDuplicateOfId())
                         .build()
                 )
-                .toList();
+                .toList());
+
+        if (from != null) {
+            List<ESGHistoryResponse> archived = getArchivedHistory(companyId, from, to);
+            if (!archived.isEmpty()) {
+                history.addAll(archived);
+                history.sort(Comparator.comparing(ESGHistoryResponse::getTimestamp).reversed());
+            }
+        }
+        return history;
+    }
+
+    /**
+     * "What changed" view of the same range, newest first: every snapshot carries
+     * the merge patch from the next older one instead of its payload, and the
+     * oldest carries its full payload as the baseline. A patch-encoded payload
+     * stored against that older snapshot is returned as stored, without
+     * rebuilding either snapshot.
+     */
+    @Transactional(readOnly = true)
+    public List<ESGHistoryResponse> getHistoryChanges(Long companyId, LocalDateTime from, LocalDateTime to) {
+
+        if (companyId == null) {
+            throw new IllegalArgumentException("Company ID cannot be null");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        Map<Long, ESGAnalysis> liveById = new HashMap<>();
+        List<ESGHistoryResponse> history = new ArrayList<>();
+        for (ESGAnalysis a : liveHistory(companyId, from, to)) {
+            liveById.put(a.getId(), a);
+            history.add(ESGHistoryResponse.builder()
+                    .analysisId(a.getId())
+                    .companyName(a.getCompany().getName())
+                    .esgScore(a.getEsgScore())
+                    .riskLevel(a.getRiskLevel())
+                    .timestamp(a.getCreatedAt())
+                    .duplicateOf(a.getDuplicateOfId())
+                    .build());
+        }
+
+        Map<Long, ESGAnalysisPayload> archivedById = new HashMap<>();
+        if (from != null) {
+            List<ESGHistoryResponse> archived = getArchivedHistory(companyId, from, to);
+            if (!archived.isEmpty()) {
+                for (ESGHistoryResponse row : archived) {
+                    archivedById.put(row.getAnalysisId(), row.getAnalysisPayload());
+                    row.setAnalysisPayload(null);
+                }
+                history.addAll(archived);
+                history.sort(Comparator.comparing(ESGHistoryResponse::getTimestamp).reversed());
+            }
+        }
+
+        for (int i = 0; i < history.size(); i++) {
+            ESGHistoryResponse row = history.get(i);
+            ESGAnalysis analysis = liveById.get(row.getAnalysisId());
+            if (i == history.size() - 1) {
+                row.setAnalysisPayload(analysis != null
+                        ? analysis.getAnalysisPayload()
+                        : archivedById.get(row.getAnalysisId()));
+                break;
+            }
+            ESGAnalysis older = liveById.get(history.get(i + 1).getAnalysisId());
+            if (analysis != null && older != null) {
+                ContentBlob blob = analysis.getPayloadBlob();
+                ContentBlob olderBlob = older.getPayloadBlob();
+                if (blob.getId().equals(olderBlob.getId())) {
+                    row.setChanges(JsonMergePatch.read("{}"));
+                    continue;
+                }
+                if (blob.isPatch() && blob.getBase().getId().equals(olderBlob.getId())) {
+                    row.setChanges(JsonMergePatch.read(blob.patchText()));
+                    continue;
+                }
+            }
+            row.setChanges(JsonMergePatch.diff(
+                    payloadTree(history.get(i + 1).getAnalysisId(), liveById, archivedById),
+                    payloadTree(row.getAnalysisId(), liveById, archivedById)));
+        }
+        return history;
+    }
+
+    private List<ESGAnalysis> liveHistory(Long companyId, LocalDateTime from, LocalDateTime to) {
+        return from == null && to == null
+                ? esgAnalysisRepository.findByCompanyIdOrderByCreatedAtDesc(companyId)
+                : esgAnalysisRepository.findHistoryBetween(
+                        companyId,
+                        from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0),
+                        to != null ? to : LocalDateTime.of(9999, 1, 1, 0, 0)
+                );
+    }
+
+    /**
+     * Payload as stored, so archived and live snapshots compare field for field.
+     */
+    private static JsonNode payloadTree(Long analysisId, Map<Long, ESGAnalysis> live,
+                                        Map<Long, ESGAnalysisPayload> archived) {
+        ESGAnalysis analysis = live.get(analysisId);
+        if (analysis != null) {
+            return JsonMergePatch.read(analysis.getPayloadBlob().text());
+        }
+        ESGAnalysisPayload payload = archived.get(analysisId);
+        return JsonMergePatch.read(payload == null ? "{}" : ESGAnalysis.payloadJson(payload));
+    }
+
+    /**
+     * Same range as {@link #getHistory(Long, LocalDateTime, LocalDateTime)}, reduced to at most
+     * {@code points} snapshots with Largest-Triangle-Three-Buckets over the score, newest first.
+     * Payloads are left out: the live range is streamed through a score-only projection.
+     * Repeatable read keeps the count and the streamed rows on the same snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<ESGHistoryResponse> getDownsampledHistory(Long companyId, LocalDateTime from, LocalDateTime to, int points) {
+
+        if (companyId == null) {
+            throw new IllegalArgumentException("Company ID cannot be null");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (points < 3) {
+            throw new IllegalArgumentException("points must be at least 3");
+        }
+
+        Company company = companyRepository.findById(companyId).orElse(null);
+        if (company == null) {
+            return List.of();
+        }
+        String companyName = company.getName();
+
+        // Archived months are all older than the live partitions, so they lead the series
+        List<ArchivedAnalysis> archived = new ArrayList<>();
+        if (from != null) {
+            YearMonth last = to != null ? YearMonth.from(to) : YearMonth.now();
+            for (YearMonth month : analysisArchive.archivedMonths().subSet(YearMonth.from(from), true, last, true)) {
+                for (ArchivedAnalysis a : analysisArchive.read(month, companyId)) {
+                    if (!a.createdAt().isBefore(from) && (to == null || a.createdAt().isBefore(to))) {
+                        archived.add(a);
+                    }
+                }
+            }
+            archived.sort(Comparator.comparing(ArchivedAnalysis::createdAt));
+        }
+
+        LocalDateTime liveFrom = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime liveTo = to != null ? to : LocalDateTime.of(9999, 1, 1, 0, 0);
+        long total = archived.size() + esgAnalysisRepository.countHistoryBetween(companyId, liveFrom, liveTo);
+
+        LttbSampler<ESGHistoryResponse> sampler = new LttbSampler<>(total, points);
+        for (ArchivedAnalysis a : archived) {
+            sampler.offer(epochSecond(a.createdAt()), a.esgScore(), ESGHistoryResponse.builder()
+                    .analysisId(a.id())
+                    .companyName(companyName)
+                    .esgScore(a.esgScore())
+                    .riskLevel(esgScoreEngine.calculateRiskLevel(company.getSector(), a.esgScore()))
+                    .timestamp(a.createdAt())
+                    .duplicateOf(a.duplicateOfId())
+                    .build());
+        }
+        try (Stream<AnalysisScoreView> live = esgAnalysisRepository.streamScoresBetween(companyId, liveFrom, liveTo)) {
+            live.forEach(a -> sampler.offer(epochSecond(a.getCreatedAt()), a.getEsgScore(), ESGHistoryResponse.builder()
+                    .analysisId(a.getId())
+                    .companyName(companyName)
+                    .esgScore(a.getEsgScore())
+                    .riskLevel(a.getRiskLevel())
+                    .timestamp(a.getCreatedAt())
+                    .duplicateOf(a.getDuplicateOfId())
+                    .build()));
+        }
+
+        List<ESGHistoryResponse> history = new ArrayList<>(sampler.finish());
+        Collections.reverse(history);
+        return history;
+    }
+
+    private static double epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private List<ESGHistoryResponse> getArchivedHistory(Long companyId, LocalDateTime from, LocalDateTime to) {
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = to != null ? YearMonth.from(to) : YearMonth.now();
+
+        List<ESGHistoryResponse> rows = new ArrayList<>();
+        Company company = null;
+        for (YearMonth month : analysisArchive.archivedMonths().subSet(first, true, last, true)) {
+            for (ArchivedAnalysis a : analysisArchive.read(month, companyId)) {
+                if (a.createdAt().isBefore(from) || (to != null && !a.createdAt().isBefore(to))) {
+                    continue;
+                }
+                if (company == null) {
+                    company = companyRepository.findById(companyId).orElse(null);
+                    if (company == null) {
+                        return rows;
+                    }
+                }
+                // Archives are immutable, so re-scoring reaches them on read
+                rows.add(ESGHistoryResponse.builder()
+                        .analysisId(a.id())
+                        .companyName(company.getName())
+                        .esgScore(a.esgScore())
+                        .riskLevel(esgScoreEngine.calculateRiskLevel(company.getSector(), a.esgScore()))
+                        .analysisPayload(toPayload(a))
+                        .timestamp(a.createdAt())
+                        .duplicateOf(a.duplicateOfId())
+                        .build());
+            }
+        }
+        return rows;
+    }
+
+    private ESGAnalysisPayload toPayload(ArchivedAnalysis a) {
+        if (a.analysisPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(a.analysisPayload(), ESGAnalysisPayload.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unreadable archived payload for analysis " + a.id(), e);
+        }
+    }
+
+    /**
+     * Validator for {@link #getHistory(Long, LocalDateTime, LocalDateTime)}; answers without touching the database.
+     */
+    public String getHistoryETag(Long companyId) {
+        return resourceVersions.companyETag(companyId);
     }
 }
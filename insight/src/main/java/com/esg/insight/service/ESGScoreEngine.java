@@ -1,18 +1,155 @@
 package com.esg.insight.service;
 
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Owns risk classification: maps an ESG score to LOW / MEDIUM / HIGH with the
+ * active version of the per-sector threshold tables (risk_thresholds).
+ *
+ * The active table is held in memory, so classifying never touches the
+ * database. Versions are immutable; {@link #publish} adds a new one.
+ */
 @Component
 public class ESGScoreEngine {
 
-    public String calculateRiskLevel(int esgScore) {
+    public static final String DEFAULT_SECTOR = "*";
+
+    /**
+     * Scores below {@code highBelow} are HIGH risk, below {@code mediumBelow} MEDIUM, the rest LOW.
+     */
+    public record Band(int highBelow, int mediumBelow) {
 
-        if (esgScore >= 70) {
-            return "HIGH";
-        } else if (esgScore >= 40) {
-            return "MEDIUM";
-        } else {
-            return "LOW";
+        public Band {
+            if (highBelow < 0 || highBelow > mediumBelow || mediumBelow > 101) {
+                throw new IllegalArgumentException(
+                        "Invalid risk band: need 0 <= highBelow <= mediumBelow <= 101, got " + highBelow + "/" + mediumBelow);
+            }
         }
+
+        public String classify(int esgScore) {
+            if (esgScore < highBelow) {
+                return "HIGH";
+            } else if (esgScore < mediumBelow) {
+                return "MEDIUM";
+            } else {
+                return "LOW";
+            }
+        }
+    }
+
+    /**
+     * One immutable threshold version; sector keys are matched case-insensitively.
+     */
+    public record Thresholds(int version, Band defaults, Map<String, Band> sectors) {
+
+        public Thresholds {
+            sectors = Map.copyOf(sectors);
+        }
+
+        public String classify(String sector, int esgScore) {
+            Band band = sector == null ? null : sectors.get(key(sector));
+            return (band != null ? band : defaults).classify(esgScore);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Thresholds active;
+
+    public ESGScoreEngine(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // ===============================
+    // CLASSIFY
+    // ===============================
+    public String calculateRiskLevel(String sector, int esgScore) {
+        return thresholds().classify(sector, esgScore);
+    }
+
+    public Thresholds thresholds() {
+        Thresholds current = active;
+        return current != null ? current : reload();
+    }
+
+    // ===============================
+    // VERSIONS
+    // ===============================
+    /**
+     * Loads the newest version from the database, e.g. after another instance published one.
+     */
+    public synchronized Thresholds reload() {
+        Integer version = latestVersion();
+        if (version == null) {
+            throw new IllegalStateException("No risk thresholds configured");
+        }
+        if (active == null || active.version() != version) {
+            active = load(version);
+        }
+        return active;
+    }
+
+    public Integer latestVersion() {
+        return jdbcTemplate.queryForObject("SELECT max(version) FROM risk_threshold_versions", Integer.class);
+    }
+
+    /**
+     * Stores {@code defaults} and {@code sectors} as the next version and makes it active.
+     */
+    public synchronized Thresholds publish(Band defaults, Map<String, Band> sectors, String createdBy, String note) {
+        Integer version = transactionTemplate.execute(status -> {
+            // Serialises concurrent publishers, including other instances
+            jdbcTemplate.execute("LOCK TABLE risk_threshold_versions IN EXCLUSIVE MODE");
+            int next = jdbcTemplate.queryForObject(
+                    "SELECT coalesce(max(version), 0) + 1 FROM risk_threshold_versions", Integer.class);
+            jdbcTemplate.update(
+                    "INSERT INTO risk_threshold_versions (version, created_by, note) VALUES (?, ?, ?)",
+                    next, createdBy, note);
+
+            Map<String, Band> rows = new TreeMap<>(sectors);
+            rows.put(DEFAULT_SECTOR, defaults);
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO risk_thresholds (version, sector, high_below, medium_below) VALUES (?, ?, ?, ?)",
+                    rows.entrySet().stream()
+                            .map(e -> new Object[]{next, e.getKey(), e.getValue().highBelow(), e.getValue().mediumBelow()})
+                            .toList());
+            return next;
+        });
+        active = load(version);
+        return active;
+    }
+
+    private Thresholds load(int version) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT sector, high_below, medium_below FROM risk_thresholds WHERE version = ?", version);
+        Band defaults = null;
+        Map<String, Band> sectors = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Band band = new Band(((Number) row.get("high_below")).intValue(), ((Number) row.get("medium_below")).intValue());
+            String sector = (String) row.get("sector");
+            if (DEFAULT_SECTOR.equals(sector)) {
+                defaults = band;
+            } else {
+                sectors.put(key(sector), band);
+            }
+        }
+        if (defaults == null) {
+            throw new IllegalStateException("Risk threshold version " + version + " has no '*' row");
+        }
+        return new Thresholds(version, defaults, sectors);
+    }
+
+    private static String key(String sector) {
+        return sector.trim().toLowerCase(Locale.ROOT);
     }
 }
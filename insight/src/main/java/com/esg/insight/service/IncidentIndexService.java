@@ -0,0 +1,210 @@
+package com.esg.insight.service;
+
+import com.esg.insight.dto.ESGAnalysisPayload;
+import com.esg.insight.dto.IncidentResponse;
+import com.esg.insight.dto.KeyIncident;
+import com.esg.insight.dto.PageResponse;
+import com.esg.insight.entity.ESGAnalysis;
+import com.esg.insight.entity.ESGIncident;
+import com.esg.insight.repository.ESGAnalysisRepository;
+import com.esg.insight.repository.ESGIncidentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+public class IncidentIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(IncidentIndexService.class);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String INCIDENT_SUFFIX = " related issue";
+
+    private final ESGIncidentRepository incidentRepository;
+    private final ESGAnalysisRepository esgAnalysisRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // ===============================
+    // WRITE-TIME EXTRACTION
+    // ===============================
+    /**
+     * Copies the analysis' key incidents into esg_incidents.
+     * Runs inside the caller's transaction so index and analysis commit together.
+     */
+    public void index(ESGAnalysis analysis) {
+        List<ESGIncident> incidents = extract(analysis);
+        if (!incidents.isEmpty()) {
+            incidentRepository.saveAll(incidents);
+        }
+    }
+
+    private List<ESGIncident> extract(ESGAnalysis analysis) {
+        ESGAnalysisPayload payload = analysis.getAnalysisPayload();
+        if (payload == null || payload.keyIncidents() == null) {
+            return List.of();
+        }
+
+        List<ESGIncident> incidents = new ArrayList<>(payload.keyIncidents().size());
+        for (KeyIncident incident : payload.keyIncidents()) {
+            if (incident == null || incident.pillar() == null) {
+                continue;
+            }
+            incidents.add(ESGIncident.builder()
+                    .analysis(analysis)
+                    .company(analysis.getCompany())
+                    .pillar(incident.pillar().toUpperCase(Locale.ROOT))
+                    .category(categoryOf(incident))
+                    .severity(incident.severity() == null ? "UNKNOWN" : incident.severity().toUpperCase(Locale.ROOT))
+                    .incident(incident.incident())
+                    .createdAt(analysis.getCreatedAt())
+                    .build());
+        }
+        return incidents;
+    }
+
+    /**
+     * The AI service reports the matched keyword as first evidence item
+     * and as "<keyword> related issue"; either one names the category.
+     */
+    private static String categoryOf(KeyIncident incident) {
+        String category;
+        if (incident.evidence() != null && !incident.evidence().isEmpty() && incident.evidence().get(0) != null) {
+            category = incident.evidence().get(0);
+        } else if (incident.incident() != null) {
+            category = incident.incident().endsWith(INCIDENT_SUFFIX)
+                    ? incident.incident().substring(0, incident.incident().length() - INCIDENT_SUFFIX.length())
+                    : incident.incident();
+        } else {
+            category = "unknown";
+        }
+        category = category.trim().toLowerCase(Locale.ROOT);
+        return category.length() > 64 ? category.substring(0, 64) : category;
+    }
+
+    // ===============================
+    // ADMIN ONLY — BACKFILL EXISTING ROWS
+    // ===============================
+    /**
+     * Indexes analyses that have no incident rows yet, walking esg_analyses by id
+     * in small transactions so the two-connection pool is never held for long.
+     *
+     * @return number of incident rows written
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public int backfill() {
+        long afterId = 0;
+        int written = 0;
+        int scanned = 0;
+
+        while (true) {
+            final long cursor = afterId;
+            long[] result = transactionTemplate.execute(status -> {
+                List<ESGAnalysis> batch = esgAnalysisRepository.findUnindexedAfter(
+                        cursor, PageRequest.of(0, BACKFILL_BATCH_SIZE)
+                );
+                if (batch.isEmpty()) {
+                    return null;
+                }
+
+                List<ESGIncident> incidents = new ArrayList<>();
+                for (ESGAnalysis analysis : batch) {
+                    incidents.addAll(extract(analysis));
+                }
+                incidentRepository.saveAll(incidents);
+
+                return new long[]{batch.get(batch.size() - 1).getId(), batch.size(), incidents.size()};
+            });
+
+            if (result == null) {
+                break;
+            }
+            afterId = result[0];
+            scanned += (int) result[1];
+            written += (int) result[2];
+        }
+
+        log.info("Incident backfill done: {} analyses scanned, {} incidents indexed", scanned, written);
+        return written;
+    }
+
+    // ===============================
+    // ADMIN + ANALYST — QUERY INDEX
+    // ===============================
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    @Transactional(readOnly = true)
+    public PageResponse<IncidentResponse> search(
+            Long companyId,
+            String pillar,
+            String category,
+            String severity,
+            LocalDateTime from,
+            LocalDateTime to,
+            int page,
+            int size
+    ) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Specification<ESGIncident> spec = (root, query, cb) -> cb.conjunction();
+        if (companyId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("company").get("id"), companyId));
+        }
+        if (pillar != null && !pillar.isBlank()) {
+            String value = pillar.trim().toUpperCase(Locale.ROOT);
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("pillar"), value));
+        }
+        if (category != null && !category.isBlank()) {
+            String value = category.trim().toLowerCase(Locale.ROOT);
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("category"), value));
+        }
+        if (severity != null && !severity.isBlank()) {
+            String value = severity.trim().toUpperCase(Locale.ROOT);
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("severity"), value));
+        }
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("createdAt"), to));
+        }
+
+        PageRequest pageRequest = PageRequest.of(
+                page, pageSize, Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"))
+        );
+        Slice<ESGIncident> slice = incidentRepository.findBy(spec, q -> q.slice(pageRequest));
+
+        return PageResponse.<IncidentResponse>builder()
+                .items(slice.getContent().stream()
+                        .map(i -> IncidentResponse.builder()
+                                .incidentId(i.getId())
+                                .analysisId(i.getAnalysis().getId())
+                                .companyId(i.getCompany().getId())
+                                .pillar(i.getPillar())
+                                .category(i.getCategory())
+                                .severity(i.getSeverity())
+                                .incident(i.getIncident())
+                                .timestamp(i.getCreatedAt())
+                                .build())
+                        .toList())
+                .page(page)
+                .size(pageSize)
+                .hasNext(slice.hasNext())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.esg.insight.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * JSON merge patches (RFC 7396), the delta format of patch-encoded payload blobs.
+ *
+ * A patch lists only the members that changed: a nested object for changed
+ * objects, the new value for anything else, and null for removed members.
+ * Arrays are replaced whole. Payloads never contain explicit nulls (they are
+ * written with NON_NULL), and {@code BlobStore} only stores a patch after
+ * checking that applying it reproduces the snapshot byte for byte.
+ */
+public final class JsonMergePatch {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * Patch turning {@code source} into {@code target}; an empty object when they are equal.
+     */
+    public static JsonNode diff(JsonNode source, JsonNode target) {
+        if (source == null || !source.isObject() || !target.isObject()) {
+            return target;
+        }
+        ObjectNode patch = MAPPER.createObjectNode();
+        for (Iterator<String> names = source.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!target.has(name)) {
+                patch.putNull(name);
+            }
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> fields = target.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode before = source.get(field.getKey());
+            if (field.getValue().equals(before)) {
+                continue;
+            }
+            patch.set(field.getKey(), before != null && before.isObject() && field.getValue().isObject()
+                    ? diff(before, field.getValue())
+                    : field.getValue());
+        }
+        return patch;
+    }
+
+    /**
+     * {@code target} with {@code patch} applied; {@code target} itself is left unchanged.
+     */
+    public static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : MAPPER.createObjectNode();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    // ===============================
+    // TEXT FORM
+    // ===============================
+    public static String diff(String source, String target) {
+        return write(diff(read(source), read(target)));
+    }
+
+    public static String apply(String target, String patch) {
+        return write(apply(read(target), read(patch)));
+    }
+
+    public static JsonNode read(String json) {
+        try {
+            return MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable JSON", e);
+        }
+    }
+
+    public static String write(JsonNode node) {
+        try {
+            return MAPPER.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unserializable JSON", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.esg.insight.service;
+
+import com.esg.insight.analytics.RiskLeaderboard;
+import com.esg.insight.dto.LeaderboardEntry;
+import com.esg.insight.dto.LeaderboardResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+/**
+ * Risk leaderboards (riskiest or safest companies overall, per sector and
+ * per country, by latest ESG score) answered from {@link RiskLeaderboard}
+ * without touching the database.
+ *
+ * The rankings are filled from each company's latest analysis in the
+ * background after startup and then follow every committed analysis and
+ * company delete. The board keeps the newest score per company, so live
+ * writes and the load can arrive in any order.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+    private static final int LOAD_BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntries;
+    private final RiskLeaderboard leaderboard = new RiskLeaderboard();
+
+    private volatile boolean loaded;
+
+    public LeaderboardService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.leaderboard.max-entries:100}") int maxEntries
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntries = maxEntries;
+    }
+
+    // ===============================
+    // QUERY
+    // ===============================
+    /**
+     * @param scope  all | sector | country
+     * @param value  sector or country name, required unless scope is all
+     * @param order  riskiest (lowest score first) | safest
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public LeaderboardResponse leaderboard(String scope, String value, String order, int limit) {
+        RiskLeaderboard.Scope parsedScope = switch (scope.toLowerCase(Locale.ROOT)) {
+            case "all" -> RiskLeaderboard.Scope.ALL;
+            case "sector" -> RiskLeaderboard.Scope.SECTOR;
+            case "country" -> RiskLeaderboard.Scope.COUNTRY;
+            default -> throw new IllegalArgumentException("Unknown leaderboard scope: " + scope);
+        };
+        boolean safestFirst = switch (order.toLowerCase(Locale.ROOT)) {
+            case "riskiest" -> false;
+            case "safest" -> true;
+            default -> throw new IllegalArgumentException("Unknown leaderboard order: " + order);
+        };
+        if (parsedScope != RiskLeaderboard.Scope.ALL && (value == null || value.isBlank())) {
+            throw new IllegalArgumentException("A " + parsedScope.name().toLowerCase(Locale.ROOT) + " is required");
+        }
+        if (limit < 1 || limit > maxEntries) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxEntries);
+        }
+
+        List<RiskLeaderboard.Entry> top = leaderboard.top(parsedScope, value, limit, safestFirst);
+        List<LeaderboardEntry> entries = new ArrayList<>(top.size());
+        for (RiskLeaderboard.Entry entry : top) {
+            entries.add(LeaderboardEntry.builder()
+                    .rank(entries.size() + 1)
+                    .companyId(entry.companyId())
+                    .companyName(entry.companyName())
+                    .sector(entry.sector())
+                    .country(entry.country())
+                    .esgScore(entry.esgScore())
+                    .riskLevel(entry.riskLevel())
+                    .timestamp(entry.timestamp())
+                    .build());
+        }
+
+        return LeaderboardResponse.builder()
+                .scope(parsedScope.name().toLowerCase(Locale.ROOT))
+                .value(parsedScope == RiskLeaderboard.Scope.ALL ? null : value)
+                .order(safestFirst ? "safest" : "riskiest")
+                .complete(loaded)
+                .entries(entries)
+                .build();
+    }
+
+    // ===============================
+    // WRITES (after commit)
+    // ===============================
+    public void record(long companyId, String companyName, String sector, String country,
+                       LocalDateTime createdAt, int score, String riskLevel) {
+        leaderboard.offer(new RiskLeaderboard.Entry(companyId, companyName, sector, country, score, riskLevel, createdAt));
+    }
+
+    public void removeCompany(long companyId) {
+        leaderboard.remove(companyId);
+    }
+
+    public void reclassify(BiFunction<String, Integer, String> classifier) {
+        leaderboard.reclassify(classifier);
+    }
+
+    // ===============================
+    // STARTUP LOAD
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread thread = new Thread(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.warn("Leaderboard load failed: {}", e.getMessage());
+            }
+        }, "leaderboard-load");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Walks companies by id in short statements and takes each one's newest
+     * analysis through the (company_id, created_at) index of every partition.
+     */
+    void load() {
+        long started = System.currentTimeMillis();
+        long afterId = 0;
+        int companies = 0;
+
+        while (true) {
+            long[] last = {afterId};
+            int[] count = {0};
+            jdbcTemplate.query("""
+                    SELECT c.id, c.name, c.sector, c.country, l.created_at, l.esg_score, l.risk_level
+                    FROM (SELECT * FROM companies WHERE id > ? ORDER BY id LIMIT ?) c
+                    LEFT JOIN LATERAL (
+                        SELECT a.created_at, a.esg_score, a.risk_level
+                        FROM esg_analyses a
+                        WHERE a.company_id = c.id
+                        ORDER BY a.created_at DESC
+                        LIMIT 1
+                    ) l ON true
+                    ORDER BY c.id
+                    """, rs -> {
+                last[0] = rs.getLong(1);
+                count[0]++;
+                LocalDateTime createdAt = rs.getObject(5, LocalDateTime.class);
+                if (createdAt != null) {
+                    leaderboard.offer(new RiskLeaderboard.Entry(
+                            rs.getLong(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getInt(6),
+                            rs.getString(7),
+                            createdAt
+                    ));
+                }
+            }, afterId, LOAD_BATCH_SIZE);
+
+            if (count[0] == 0) {
+                break;
+            }
+            afterId = last[0];
+            companies += count[0];
+        }
+
+        loaded = true;
+        log.info("Leaderboards loaded: {} companies, {} ranked in {} ms",
+                companies, leaderboard.size(RiskLeaderboard.Scope.ALL, null), System.currentTimeMillis() - started);
+    }
+}
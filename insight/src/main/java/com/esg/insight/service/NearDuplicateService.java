@@ -0,0 +1,193 @@
+package com.esg.insight.service;
+
+import com.esg.insight.repository.AnalysisTextView;
+import com.esg.insight.repository.ESGAnalysisRepository;
+import com.esg.insight.search.NearDuplicateIndex;
+import com.esg.insight.search.SimHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Detects submissions that are near-identical to a recent article for the
+ * same company (syndicated news with small wording changes), so the existing
+ * analysis can be reused instead of running the AI again.
+ */
+@Service
+public class NearDuplicateService {
+
+    private static final Logger log = LoggerFactory.getLogger(NearDuplicateService.class);
+    private static final int MIN_TOKENS = 20; // SimHash is unreliable on very short texts
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final ESGAnalysisRepository esgAnalysisRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final double similarity;
+    private final int maxEntries;
+    private final int maxAgeDays;
+
+    // Replaced whole by a rebuild; writes made while it loads are replayed into the new one
+    private volatile NearDuplicateIndex index;
+    private List<NearDuplicateIndex.Entry> recordedWhileLoading; // guarded by "this", null unless rebuilding
+    private Set<Long> removedWhileLoading;                       // guarded by "this", null unless rebuilding
+
+    public NearDuplicateService(
+            ESGAnalysisRepository esgAnalysisRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${esg.dedup.enabled:true}") boolean enabled,
+            @Value("${esg.dedup.similarity:0.9}") double similarity,
+            @Value("${esg.dedup.max-entries:50000}") int maxEntries,
+            @Value("${esg.dedup.max-age-days:30}") int maxAgeDays
+    ) {
+        this.esgAnalysisRepository = esgAnalysisRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.similarity = similarity;
+        this.maxEntries = maxEntries;
+        this.maxAgeDays = maxAgeDays;
+        this.index = new NearDuplicateIndex(similarity, maxEntries);
+    }
+
+    /**
+     * @return the text's fingerprint, or null when dedup is off or the text is too short
+     */
+    public Long fingerprint(String text) {
+        if (!enabled) {
+            return null;
+        }
+        List<String> tokens = SimHash.tokenize(text);
+        return tokens.size() < MIN_TOKENS ? null : SimHash.fingerprint(tokens);
+    }
+
+    /**
+     * @return id of a recent analysis of the same company with a near-identical text, or null
+     */
+    public Long findDuplicate(Long companyId, Long fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        NearDuplicateIndex.Entry match = index.findNearest(
+                companyId, fingerprint, LocalDateTime.now().minusDays(maxAgeDays)
+        );
+        return match == null ? null : match.analysisId();
+    }
+
+    public void record(Long companyId, Long analysisId, Long fingerprint, LocalDateTime createdAt) {
+        if (fingerprint == null) {
+            return;
+        }
+        NearDuplicateIndex.Entry entry = new NearDuplicateIndex.Entry(companyId, analysisId, fingerprint, createdAt);
+        synchronized (this) {
+            index.add(entry);
+            if (recordedWhileLoading != null) {
+                recordedWhileLoading.add(entry);
+            }
+        }
+    }
+
+    public synchronized void removeCompany(Long companyId) {
+        index.removeCompany(companyId);
+        if (removedWhileLoading != null) {
+            removedWhileLoading.add(companyId);
+        }
+    }
+
+    // ===============================
+    // STARTUP REBUILD
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Near-duplicate index rebuild failed: {}", e.getMessage());
+            }
+        }, "dedup-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads fingerprints of the newest analyses inside the age window, newest
+     * first up to the memory bound, into a new index, oldest first so eviction
+     * order holds. Lookups use the current index until the new one is swapped
+     * in together with whatever was recorded or removed during the load.
+     */
+    void rebuild() {
+        synchronized (this) {
+            if (recordedWhileLoading != null) {
+                throw new IllegalStateException("Near-duplicate index rebuild already running");
+            }
+            recordedWhileLoading = new ArrayList<>();
+            removedWhileLoading = new HashSet<>();
+        }
+        try {
+            load();
+        } finally {
+            synchronized (this) {
+                recordedWhileLoading = null;
+                removedWhileLoading = null;
+            }
+        }
+    }
+
+    private void load() {
+        long started = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().minusDays(maxAgeDays);
+        List<NearDuplicateIndex.Entry> entries = new ArrayList<>();
+        long beforeId = Long.MAX_VALUE;
+
+        while (entries.size() < maxEntries) {
+            final long cursor = beforeId;
+            List<AnalysisTextView> batch = transactionTemplate.execute(status ->
+                    esgAnalysisRepository.findRecentTexts(since, cursor, PageRequest.of(0, LOAD_BATCH_SIZE))
+            );
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            for (AnalysisTextView row : batch) {
+                Long fingerprint = fingerprint(row.getNewsText());
+                if (fingerprint != null && entries.size() < maxEntries) {
+                    entries.add(new NearDuplicateIndex.Entry(
+                            row.getCompanyId(), row.getId(), fingerprint, row.getCreatedAt()
+                    ));
+                }
+            }
+            beforeId = batch.get(batch.size() - 1).getId();
+        }
+
+        NearDuplicateIndex loaded = new NearDuplicateIndex(similarity, maxEntries);
+        Set<Long> loadedIds = new HashSet<>();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            loaded.add(entries.get(i));
+            loadedIds.add(entries.get(i).analysisId());
+        }
+        synchronized (this) {
+            for (NearDuplicateIndex.Entry entry : recordedWhileLoading) {
+                if (!loadedIds.contains(entry.analysisId())) {
+                    loaded.add(entry);
+                }
+            }
+            removedWhileLoading.forEach(loaded::removeCompany);
+            index = loaded;
+        }
+        log.info("Near-duplicate index loaded: {} fingerprints in {}ms",
+                entries.size(), System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,346 @@
+package com.esg.insight.service;
+
+import com.esg.insight.archive.AnalysisArchive;
+import com.esg.insight.archive.ArchivedAnalysis;
+import com.esg.insight.entity.ContentBlob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the monthly partitions of esg_analyses (see V3 migration).
+ *
+ * Keeps partitions created ahead of time, moves rows that landed in the
+ * default partition into their month, and, when archiving is enabled,
+ * writes months older than {@code after-months} to {@link AnalysisArchive}
+ * and drops them. A month is only dropped after its archive has been read
+ * back and the row count matches the partition, together with its
+ * esg_incidents rows. Each pass also removes esg_blobs rows that no
+ * analysis references any more.
+ */
+@Service
+public class PartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionService.class);
+    private static final String PARENT = "esg_analyses";
+    private static final String DEFAULT_PARTITION = "esg_analyses_default";
+    private static final String PARTITION_PREFIX = "esg_analyses_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+    private static final long ADVISORY_LOCK_KEY = 0x65_73_67_70_61_72_74L; // "esgpart"
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalysisArchive archive;
+    private final BlobStore blobStore;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final ResourceVersions resourceVersions;
+    private final ObjectMapper objectMapper;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int archiveAfterMonths;
+    private final long intervalHours;
+
+    private ScheduledExecutorService scheduler;
+
+    public PartitionService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AnalysisArchive archive,
+            BlobStore blobStore,
+            PortfolioAnalyticsService portfolioAnalyticsService,
+            ResourceVersions resourceVersions,
+            ObjectMapper objectMapper,
+            @Value("${esg.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${esg.archive.enabled:false}") boolean archiveEnabled,
+            @Value("${esg.archive.after-months:24}") int archiveAfterMonths,
+            @Value("${esg.partitions.maintenance-interval-hours:24}") long intervalHours
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = transactionTemplate;
+        this.archive = archive;
+        this.blobStore = blobStore;
+        this.portfolioAnalyticsService = portfolioAnalyticsService;
+        this.resourceVersions = resourceVersions;
+        this.objectMapper = objectMapper;
+        this.monthsAhead = monthsAhead;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveAfterMonths = Math.max(1, archiveAfterMonths);
+        this.intervalHours = Math.max(1, intervalHours);
+    }
+
+    // ===============================
+    // SCHEDULE
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMaintenance() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                maintain();
+            } catch (RuntimeException e) {
+                log.warn("Partition maintenance failed: {}", e.getMessage());
+            }
+        }, 1, TimeUnit.HOURS.toMinutes(intervalHours), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stopMaintenance() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs one maintenance pass now instead of waiting for the schedule.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> runMaintenance() {
+        return maintain();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("partitions", partitionMonths().stream().map(YearMonth::toString).toList());
+        status.put("defaultRows", jdbcTemplate.queryForObject("SELECT count(*) FROM " + DEFAULT_PARTITION, Long.class));
+        status.put("archiveEnabled", archiveEnabled);
+        status.put("archivedMonths", archive.archivedMonths().stream().map(YearMonth::toString).toList());
+        return status;
+    }
+
+    synchronized Map<String, Object> maintain() {
+        List<String> created = ensurePartitions();
+        List<String> archived = archiveEnabled ? archiveColdPartitions() : List.of();
+        // Dropped months and deleted companies leave texts and payloads nobody references
+        int orphanBlobs = blobStore.deleteOrphans();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("created", created);
+        result.put("archived", archived);
+        result.put("orphanBlobsDeleted", orphanBlobs);
+        if (!created.isEmpty() || !archived.isEmpty() || orphanBlobs > 0) {
+            log.info("Partition maintenance: created {}, archived {}, {} orphan blobs deleted",
+                    created, archived, orphanBlobs);
+        }
+        return result;
+    }
+
+    // ===============================
+    // PARTITION CREATION
+    // ===============================
+    /**
+     * Creates partitions for the coming months and for every month that has
+     * rows stranded in the default partition.
+     *
+     * @return months created
+     */
+    List<String> ensurePartitions() {
+        NavigableSet<YearMonth> wanted = new TreeSet<>();
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            wanted.add(current.plusMonths(i));
+        }
+        jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', created_at)::date FROM " + DEFAULT_PARTITION,
+                LocalDate.class
+        ).forEach(day -> wanted.add(YearMonth.from(day)));
+
+        wanted.removeAll(partitionMonths());
+
+        List<String> created = new ArrayList<>();
+        for (YearMonth month : wanted) {
+            createPartition(month);
+            created.add(month.toString());
+        }
+        return created;
+    }
+
+    /**
+     * Creates the month's partition detached, moves any matching rows out of
+     * the default partition into it, then attaches it, all in one transaction.
+     * Attaching directly with CREATE ... PARTITION OF would fail while the
+     * default partition still holds rows of that month.
+     */
+    private void createPartition(YearMonth month) {
+        String table = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ADVISORY_LOCK_KEY + ")");
+            jdbcTemplate.execute("CREATE TABLE " + table
+                    + " (LIKE " + PARENT + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.execute("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE created_at >= '" + from + "' AND created_at < '" + to + "' RETURNING *)"
+                    + " INSERT INTO " + table + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + table
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        });
+    }
+
+    // ===============================
+    // ARCHIVAL
+    // ===============================
+    /**
+     * @return months archived and dropped
+     */
+    List<String> archiveColdPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(archiveAfterMonths);
+        NavigableSet<YearMonth> archivedAlready = archive.archivedMonths();
+
+        List<String> archived = new ArrayList<>();
+        for (YearMonth month : partitionMonths().headSet(cutoff, false)) {
+            if (archivedAlready.contains(month)) {
+                // Archive written but the drop did not happen (crash in between)
+                dropPartition(month, archive.verify(month));
+            } else {
+                archiveMonth(month);
+            }
+            archived.add(month.toString());
+        }
+
+        if (!archived.isEmpty()) {
+            resourceVersions.bumpAllAfterCommit();
+            // Analytics cover live partitions only, as after a restart
+            portfolioAnalyticsService.removeBefore(
+                    YearMonth.parse(archived.get(archived.size() - 1)).plusMonths(1).atDay(1).atStartOfDay()
+            );
+        }
+        return archived;
+    }
+
+    private void archiveMonth(YearMonth month) {
+        String table = partitionName(month);
+        long started = System.currentTimeMillis();
+
+        // Rows arrive grouped by company, newest first, as AnalysisArchive expects
+        Integer written = transactionTemplate.execute(status -> {
+            try (AnalysisArchive.MonthWriter writer = archive.open(month)) {
+                streamingJdbcTemplate.query("""
+                        SELECT a.id, a.company_id, a.esg_score, a.risk_level, a.analyst_summary,
+                               a.duplicate_of_id, a.created_at,
+                               t.codec AS text_codec, t.raw_size AS text_size, t.data AS text_data,
+                               p.id AS payload_id, p.codec AS payload_codec, p.raw_size AS payload_size,
+                               p.data AS payload_data
+                        FROM %s a
+                        JOIN esg_blobs t ON t.id = a.news_text_blob_id
+                        JOIN esg_blobs p ON p.id = a.payload_blob_id
+                        ORDER BY a.company_id, a.created_at DESC, a.id DESC
+                        """.formatted(table), rs -> {
+                    try {
+                        // Archives are self-contained: blob contents are inlined, decompressed
+                        byte[] text = ContentBlob.decode(
+                                rs.getShort("text_codec"), rs.getBytes("text_data"), rs.getInt("text_size"));
+                        short payloadCodec = rs.getShort("payload_codec");
+                        byte[] payload = ContentBlob.isPatch(payloadCodec)
+                                ? blobStore.text(rs.getLong("payload_id")).getBytes(StandardCharsets.UTF_8)
+                                : ContentBlob.decode(payloadCodec, rs.getBytes("payload_data"), rs.getInt("payload_size"));
+                        writer.add(new ArchivedAnalysis(
+                                rs.getLong("id"),
+                                rs.getLong("company_id"),
+                                new String(text, StandardCharsets.UTF_8),
+                                rs.getInt("esg_score"),
+                                rs.getString("risk_level"),
+                                rs.getString("analyst_summary"),
+                                objectMapper.readTree(payload),
+                                rs.getObject("duplicate_of_id", Long.class),
+                                rs.getObject("created_at", LocalDateTime.class)
+                        ));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return writer.commit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        int verified = archive.verify(month);
+        if (written == null || verified != written) {
+            throw new IllegalStateException("Archive of " + month + " wrote " + written + " rows but reads back " + verified);
+        }
+        dropPartition(month, verified);
+
+        log.info("Archived {} ({} rows) in {} ms", table, verified, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Detaches and drops the month, unless its row count no longer matches the
+     * archive. The month's esg_incidents rows go in the same transaction: no
+     * foreign key cascades to them since V3, and the archived payloads still
+     * list the incidents.
+     */
+    private void dropPartition(YearMonth month, int archivedRows) {
+        String table = partitionName(month);
+        Integer incidents = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ADVISORY_LOCK_KEY + ")");
+            Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+            if (rows == null || rows != archivedRows) {
+                throw new IllegalStateException(table + " has " + rows + " rows, archive has " + archivedRows);
+            }
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM esg_incidents i USING " + table + " a WHERE i.analysis_id = a.id");
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + table);
+            jdbcTemplate.execute("DROP TABLE " + table);
+            return deleted;
+        });
+        log.info("Dropped {} with {} incidents", table, incidents);
+    }
+
+    // ===============================
+    // CATALOG
+    // ===============================
+    private NavigableSet<YearMonth> partitionMonths() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                  AND p.relnamespace = current_schema()::regnamespace
+                """, String.class, PARENT).stream()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), SUFFIX))
+                .forEach(months::add);
+        return months;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+}
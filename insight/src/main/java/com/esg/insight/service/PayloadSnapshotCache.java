@@ -0,0 +1,76 @@
+package com.esg.insight.service;
+
+import com.esg.insight.entity.ContentBlob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Texts of payload snapshots stored as patches, keyed by content hash.
+ *
+ * A patched snapshot is rebuilt from its chain's keyframe on first read and
+ * kept here, least recently used first out, so the latest snapshots of busy
+ * companies are rebuilt once. Both {@link BlobStore#text(long)} and
+ * {@link ContentBlob#text()} read through it.
+ */
+@Component
+public class PayloadSnapshotCache implements ContentBlob.Snapshots {
+
+    private final Map<String, String> texts;
+
+    public PayloadSnapshotCache(@Value("${esg.blobs.reconstructed-cache-size:1024}") int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("esg.blobs.reconstructed-cache-size must not be negative");
+        }
+        this.texts = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Text of a patch blob, applying its patch to the base snapshot unless cached.
+     */
+    @Override
+    public String text(ContentBlob patch) {
+        String cached = get(patch.getHash());
+        return cached != null ? cached : patched(patch.getHash(), patch.getBase().text(), patch.patchText());
+    }
+
+    /**
+     * Text of the snapshot with content hash {@code hash}, built by applying {@code patch} to its base.
+     */
+    public String patched(byte[] hash, String baseText, String patch) {
+        String key = HexFormat.of().formatHex(hash);
+        String text = texts.get(key);
+        if (text == null) {
+            text = JsonMergePatch.apply(baseText, patch);
+            texts.put(key, text);
+        }
+        return text;
+    }
+
+    /**
+     * Cached text of a reconstructed snapshot, or null.
+     */
+    public String get(byte[] hash) {
+        return texts.get(HexFormat.of().formatHex(hash));
+    }
+
+    /**
+     * Caches the text of a snapshot just stored as a patch, which the next patch usually builds on.
+     */
+    public void put(byte[] hash, String text) {
+        texts.put(HexFormat.of().formatHex(hash), text);
+    }
+
+    public int size() {
+        return texts.size();
+    }
+}
@@ -0,0 +1,219 @@
+package com.esg.insight.service;
+
+import com.esg.insight.analytics.ScoreColumns;
+import com.esg.insight.analytics.ScoreQuery;
+import com.esg.insight.dto.ScoreAnalyticsResponse;
+import com.esg.insight.dto.ScoreGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+/**
+ * Portfolio score analytics (averages, risk mix, distributions by sector,
+ * company and period) answered from {@link ScoreColumns} instead of Postgres.
+ *
+ * The store is filled from esg_analyses in the background after startup and
+ * then follows every committed analysis. Writes that arrive while it is still
+ * loading are held back and replayed once, unless the load already saw them.
+ */
+@Service
+public class PortfolioAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioAnalyticsService.class);
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ScoreColumns columns = new ScoreColumns();
+
+    private record PendingRow(long analysisId, long companyId, String sector, LocalDateTime createdAt, int score, String riskLevel) {
+    }
+
+    // Guarded by "this" until loaded; afterwards writes go straight to the columns
+    private boolean loaded;
+    private List<PendingRow> pendingRows = new ArrayList<>();
+    private List<Long> pendingRemovedCompanies = new ArrayList<>();
+    private LocalDateTime pendingCutoff;
+
+    public PortfolioAnalyticsService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.analytics.enabled:true}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    // ===============================
+    // QUERY
+    // ===============================
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ScoreAnalyticsResponse scores(ScoreQuery query) {
+        if (!enabled) {
+            throw new IllegalStateException("Portfolio analytics are disabled");
+        }
+        long started = System.nanoTime();
+        ScoreColumns.Result result = columns.aggregate(query);
+
+        return ScoreAnalyticsResponse.builder()
+                .groupBy(query.groupBy().stream().map(d -> d.name().toLowerCase(Locale.ROOT)).toList())
+                .interval(query.interval().name().toLowerCase(Locale.ROOT))
+                .complete(isLoaded())
+                .scannedRows(result.scanned())
+                .matchedRows(result.matched())
+                .tookMicros((System.nanoTime() - started) / 1_000)
+                .groups(result.groups().stream()
+                        .map(g -> ScoreGroup.builder()
+                                .key(g.key())
+                                .count(g.count())
+                                .avgScore(Math.round(g.sum() * 100.0 / g.count()) / 100.0)
+                                .minScore(g.min())
+                                .maxScore(g.max())
+                                .scoreHistogram(g.histogram())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    // ===============================
+    // WRITES (after commit)
+    // ===============================
+    public void record(long analysisId, long companyId, String sector, LocalDateTime createdAt, int score, String riskLevel) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                pendingRows.add(new PendingRow(analysisId, companyId, sector, createdAt, score, riskLevel));
+                return;
+            }
+        }
+        columns.append(companyId, sector, createdAt, score, riskLevel);
+    }
+
+    public void removeCompany(long companyId) {
+        synchronized (this) {
+            if (!loaded) {
+                pendingRemovedCompanies.add(companyId);
+            }
+        }
+        columns.removeCompany(companyId);
+    }
+
+    /**
+     * Drops rows older than {@code cutoff}, e.g. months moved to the archive.
+     */
+    public void removeBefore(LocalDateTime cutoff) {
+        synchronized (this) {
+            if (!loaded) {
+                pendingCutoff = pendingCutoff == null || cutoff.isAfter(pendingCutoff) ? cutoff : pendingCutoff;
+            }
+        }
+        columns.removeBefore(cutoff);
+    }
+
+    /**
+     * Re-derives risk levels after the risk thresholds changed. Rows still
+     * loading come from the database, which the re-scoring job updates.
+     */
+    public void reclassify(BiFunction<String, Integer, String> classifier) {
+        if (enabled) {
+            columns.reclassify(classifier);
+        }
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    // ===============================
+    // STARTUP LOAD
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.warn("Portfolio analytics load failed: {}", e.getMessage());
+            }
+        }, "analytics-load");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Walks esg_analyses by id in short statements, so the pool is never held
+     * for the whole load, then replays writes that arrived meanwhile.
+     */
+    void load() {
+        long started = System.currentTimeMillis();
+        BitSet loadedIds = new BitSet();
+        long afterId = 0;
+
+        while (true) {
+            long[] last = {afterId};
+            int rows = jdbcTemplate.query("""
+                    SELECT a.id, a.company_id, c.sector, a.created_at, a.esg_score, a.risk_level
+                    FROM esg_analyses a
+                    JOIN companies c ON c.id = a.company_id
+                    WHERE a.id > ?
+                    ORDER BY a.id
+                    LIMIT ?
+                    """, rs -> {
+                int count = 0;
+                while (rs.next()) {
+                    long id = rs.getLong(1);
+                    columns.append(
+                            rs.getLong(2),
+                            rs.getString(3),
+                            rs.getObject(4, LocalDateTime.class),
+                            rs.getInt(5),
+                            rs.getString(6)
+                    );
+                    loadedIds.set(Math.toIntExact(id));
+                    last[0] = id;
+                    count++;
+                }
+                return count;
+            }, afterId, LOAD_BATCH_SIZE);
+
+            if (rows == 0) {
+                break;
+            }
+            afterId = last[0];
+        }
+
+        synchronized (this) {
+            for (PendingRow row : pendingRows) {
+                if (!loadedIds.get(Math.toIntExact(row.analysisId()))) {
+                    columns.append(row.companyId(), row.sector(), row.createdAt(), row.score(), row.riskLevel());
+                }
+            }
+            pendingRemovedCompanies.forEach(columns::removeCompany);
+            if (pendingCutoff != null) {
+                columns.removeBefore(pendingCutoff);
+            }
+            pendingRows = null;
+            pendingRemovedCompanies = null;
+            loaded = true;
+        }
+
+        log.info("Portfolio analytics loaded: {} analyses, {} KB in {} ms",
+                columns.liveRows(), columns.allocatedBytes() / 1024, System.currentTimeMillis() - started);
+    }
+}
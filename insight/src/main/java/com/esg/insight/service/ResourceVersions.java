@@ -0,0 +1,72 @@
+package com.esg.insight.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counters behind the ETags of read endpoints.
+ *
+ * Counters are bumped after a write commits, so a validator is never newer
+ * than the data it describes. Each process starts from a random epoch, so
+ * ETags issued before a restart never match again. Counters are per process:
+ * with several backend instances behind a balancer, writes on one instance
+ * are not seen by the others.
+ *
+ * The ETags are weak: one version is served as JSON, Smile or CBOR, gzipped
+ * or not, so the bytes differ while the content is the same. Tomcat also
+ * never compresses a response carrying a strong ETag.
+ */
+@Component
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    // Bumped by bulk changes (archival) that touch every resource at once
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong catalogue = new AtomicLong();
+    private final ConcurrentHashMap<Long, AtomicLong> companies = new ConcurrentHashMap<>();
+
+    // ===============================
+    // VALIDATORS
+    // ===============================
+    public String catalogueETag() {
+        return "W/\"companies-" + epoch + "-" + generation.get() + "-" + catalogue.get() + "\"";
+    }
+
+    public String companyETag(Long companyId) {
+        AtomicLong version = companies.get(companyId);
+        return "W/\"company-" + companyId + "-" + epoch + "-" + generation.get() + "-" + (version == null ? 0 : version.get()) + "\"";
+    }
+
+    // ===============================
+    // WRITES
+    // ===============================
+    public void bumpCatalogueAfterCommit() {
+        runAfterCommit(catalogue::incrementAndGet);
+    }
+
+    public void bumpCompanyAfterCommit(Long companyId) {
+        runAfterCommit(() -> companies.computeIfAbsent(companyId, id -> new AtomicLong()).incrementAndGet());
+    }
+
+    public void bumpAllAfterCommit() {
+        runAfterCommit(generation::incrementAndGet);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.esg.insight.service;
+
+import com.esg.insight.dto.RescoreStatus;
+import com.esg.insight.dto.RiskThresholdsRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Publishes risk threshold versions and re-classifies the stored history
+ * under the new version.
+ *
+ * The re-score walks every partition of esg_analyses in id-keyset chunks:
+ * one read of (id, score, sector) per chunk, classification in Java with
+ * {@link ESGScoreEngine}, and one batched UPDATE of only the rows whose
+ * level changed. Partitions are spread over {@code esg.rescore.parallelism}
+ * workers; each worker holds a connection only for the duration of one
+ * statement, so live requests interleave with the job. Publishing again
+ * while a job runs restarts it for the newer version.
+ *
+ * Archived months are immutable and are classified on read instead.
+ * Every instance polls the active version, so in-memory rankings and
+ * analytics follow a publish made elsewhere.
+ */
+@Service
+public class RiskRescoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(RiskRescoringService.class);
+    private static final String PARENT = "esg_analyses";
+    private static final Pattern PARTITION_NAME = Pattern.compile("esg_analyses_[a-z0-9_]+");
+
+    private record Row(long id, int esgScore, String riskLevel, String sector) {
+    }
+
+    /**
+     * Progress of one run; counters are written by the workers and read by status calls.
+     */
+    private static final class Job {
+        final int version;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicInteger partitionsTotal = new AtomicInteger();
+        final AtomicInteger partitionsDone = new AtomicInteger();
+        final AtomicLong rowsScanned = new AtomicLong();
+        final AtomicLong rowsChanged = new AtomicLong();
+        volatile long rowsEstimated;
+        volatile String state = "running";
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Job(int version) {
+            this.version = version;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ESGScoreEngine esgScoreEngine;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final LeaderboardService leaderboardService;
+    private final ResourceVersions resourceVersions;
+    private final int chunkSize;
+    private final int parallelism;
+    private final long pollSeconds;
+
+    private final Object lock = new Object();
+    private Thread runner;
+    private volatile boolean rerun;
+    private volatile Job job;
+
+    private ScheduledExecutorService scheduler;
+    private int knownVersion;
+
+    public RiskRescoringService(
+            JdbcTemplate jdbcTemplate,
+            ESGScoreEngine esgScoreEngine,
+            PortfolioAnalyticsService portfolioAnalyticsService,
+            LeaderboardService leaderboardService,
+            ResourceVersions resourceVersions,
+            @Value("${esg.rescore.chunk-size:5000}") int chunkSize,
+            @Value("${esg.rescore.parallelism:1}") int parallelism,
+            @Value("${esg.rescore.version-poll-seconds:60}") long pollSeconds
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.esgScoreEngine = esgScoreEngine;
+        this.portfolioAnalyticsService = portfolioAnalyticsService;
+        this.leaderboardService = leaderboardService;
+        this.resourceVersions = resourceVersions;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.pollSeconds = Math.max(1, pollSeconds);
+    }
+
+    // ===============================
+    // ADMIN + ANALYST — VIEW THRESHOLDS
+    // ===============================
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ESGScoreEngine.Thresholds getThresholds() {
+        return esgScoreEngine.thresholds();
+    }
+
+    // ===============================
+    // ADMIN ONLY — PUBLISH + RE-SCORE
+    // ===============================
+    /**
+     * Stores the thresholds as a new version, applies it to the in-memory
+     * stores right away and starts re-scoring the stored history.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public ESGScoreEngine.Thresholds publishThresholds(RiskThresholdsRequest request) {
+        if (request.getDefaults() == null) {
+            throw new IllegalArgumentException("defaults are required");
+        }
+        Map<String, ESGScoreEngine.Band> sectors = new HashMap<>();
+        if (request.getSectors() != null) {
+            request.getSectors().forEach((sector, band) -> {
+                if (sector == null || sector.isBlank() || ESGScoreEngine.DEFAULT_SECTOR.equals(sector.trim())) {
+                    throw new IllegalArgumentException("Invalid sector name: " + sector);
+                }
+                if (band == null) {
+                    throw new IllegalArgumentException("Missing band for sector " + sector);
+                }
+                if (sectors.put(sector.trim(), band) != null) {
+                    throw new IllegalArgumentException("Duplicate sector: " + sector);
+                }
+            });
+        }
+
+        String publishedBy = SecurityContextHolder.getContext().getAuthentication().getName();
+        ESGScoreEngine.Thresholds thresholds = esgScoreEngine.publish(
+                request.getDefaults(), sectors, publishedBy, request.getNote());
+        log.info("Risk thresholds version {} published by {}", thresholds.version(), publishedBy);
+
+        applyInMemory(thresholds);
+        start();
+        return thresholds;
+    }
+
+    /**
+     * Re-runs the re-score for the active version, e.g. after an instance
+     * stopped mid-way. Rows already at the right level are not rewritten.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public RescoreStatus rescore() {
+        start();
+        return status();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public RescoreStatus getStatus() {
+        return status();
+    }
+
+    private RescoreStatus status() {
+        Job current = job;
+        if (current == null) {
+            return RescoreStatus.builder().state("idle").build();
+        }
+        LocalDateTime end = current.finishedAt != null ? current.finishedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(current.startedAt, end).toMillis());
+        return RescoreStatus.builder()
+                .state(current.state)
+                .version(current.version)
+                .partitionsTotal(current.partitionsTotal.get())
+                .partitionsDone(current.partitionsDone.get())
+                .rowsEstimated(current.rowsEstimated)
+                .rowsScanned(current.rowsScanned.get())
+                .rowsChanged(current.rowsChanged.get())
+                .rowsPerSecond(current.rowsScanned.get() * 1000 / millis)
+                .startedAt(current.startedAt)
+                .finishedAt(current.finishedAt)
+                .error(current.error)
+                .build();
+    }
+
+    // ===============================
+    // JOB
+    // ===============================
+    private void start() {
+        synchronized (lock) {
+            rerun = true;
+            if (runner != null && runner.isAlive()) {
+                return; // the running job notices the new version and starts over
+            }
+            runner = new Thread(this::runUntilCurrent, "risk-rescore");
+            runner.setDaemon(true);
+            runner.start();
+        }
+    }
+
+    private void runUntilCurrent() {
+        while (true) {
+            synchronized (lock) {
+                if (!rerun) {
+                    runner = null;
+                    return;
+                }
+                rerun = false;
+            }
+            Job current = new Job(esgScoreEngine.thresholds().version());
+            job = current;
+            try {
+                run(current);
+            } catch (RuntimeException e) {
+                current.state = "failed";
+                current.error = e.getMessage();
+                current.finishedAt = LocalDateTime.now();
+                log.warn("Risk re-score for version {} failed: {}", current.version, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a re-score for the active version on the calling thread.
+     */
+    RescoreStatus runNow() {
+        Job current = new Job(esgScoreEngine.thresholds().version());
+        job = current;
+        run(current);
+        return status();
+    }
+
+    private void run(Job current) {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "risk-rescore-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Partition maintenance can move default-partition rows into a new
+            // month while the job runs, so partitions are listed until none is new
+            Set<String> done = new HashSet<>();
+            List<String> pending = partitions();
+            current.rowsEstimated = estimatedRows();
+            while (!pending.isEmpty()) {
+                current.partitionsTotal.addAndGet(pending.size());
+                List<Future<?>> futures = new ArrayList<>(pending.size());
+                for (String partition : pending) {
+                    futures.add(workers.submit(() -> rescorePartition(current, partition)));
+                }
+                for (Future<?> future : futures) {
+                    await(future);
+                }
+                if (superseded(current)) {
+                    current.state = "superseded";
+                    current.finishedAt = LocalDateTime.now();
+                    return;
+                }
+                done.addAll(pending);
+                pending = partitions().stream().filter(p -> !done.contains(p)).toList();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        current.state = "completed";
+        current.finishedAt = LocalDateTime.now();
+
+        // Rows the in-memory loads read before their partition was re-scored
+        applyInMemory(esgScoreEngine.thresholds());
+        RescoreStatus summary = status();
+        log.info("Risk re-score for version {}: {} rows scanned, {} changed, {} rows/s",
+                current.version, summary.getRowsScanned(), summary.getRowsChanged(), summary.getRowsPerSecond());
+    }
+
+    private void rescorePartition(Job current, String partition) {
+        Map<String, String[]> levelsBySector = new HashMap<>();
+        long afterId = 0;
+        while (!superseded(current)) {
+            List<Row> rows;
+            try {
+                rows = jdbcTemplate.query(
+                        "SELECT a.id, a.esg_score, a.risk_level, c.sector FROM " + partition + " a"
+                                + " JOIN companies c ON c.id = a.company_id"
+                                + " WHERE a.id > ? ORDER BY a.id LIMIT ?",
+                        (rs, i) -> new Row(rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getString(4)),
+                        afterId, chunkSize);
+            } catch (RuntimeException e) {
+                if (exists(partition)) {
+                    throw e;
+                }
+                break; // archived and dropped while the job ran
+            }
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            ESGScoreEngine.Thresholds thresholds = esgScoreEngine.thresholds();
+            List<Long> ids = new ArrayList<>();
+            List<String> levels = new ArrayList<>();
+            for (Row row : rows) {
+                String level = levelsBySector
+                        .computeIfAbsent(row.sector() == null ? "" : row.sector(), sector -> levels(thresholds, sector))
+                        [Math.clamp(row.esgScore(), 0, 100)];
+                if (!level.equals(row.riskLevel())) {
+                    ids.add(row.id());
+                    levels.add(level);
+                }
+            }
+            if (!ids.isEmpty()) {
+                int updated = jdbcTemplate.update(
+                        "UPDATE " + partition + " a SET risk_level = u.risk_level"
+                                + " FROM unnest(?::bigint[], ?::varchar[]) AS u(id, risk_level)"
+                                + " WHERE a.id = u.id",
+                        ids.toArray(Long[]::new), levels.toArray(String[]::new));
+                current.rowsChanged.addAndGet(updated);
+            }
+            current.rowsScanned.addAndGet(rows.size());
+            afterId = rows.get(rows.size() - 1).id();
+        }
+        current.partitionsDone.incrementAndGet();
+    }
+
+    private static String[] levels(ESGScoreEngine.Thresholds thresholds, String sector) {
+        String[] levels = new String[101];
+        for (int score = 0; score <= 100; score++) {
+            levels[score] = thresholds.classify(sector, score);
+        }
+        return levels;
+    }
+
+    private boolean superseded(Job current) {
+        return rerun || esgScoreEngine.thresholds().version() != current.version;
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private List<String> partitions() {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                  AND p.relnamespace = current_schema()::regnamespace
+                ORDER BY c.relname DESC
+                """, String.class, PARENT);
+        // Names are spliced into SQL, so only the ones partition maintenance creates are accepted
+        return names.stream().filter(name -> PARTITION_NAME.matcher(name).matches()).toList();
+    }
+
+    private long estimatedRows() {
+        Long rows = jdbcTemplate.queryForObject("""
+                SELECT coalesce(sum(greatest(c.reltuples, 0)), 0)::bigint
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                """, Long.class, PARENT);
+        return rows == null ? 0 : rows;
+    }
+
+    private boolean exists(String partition) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+    }
+
+    // ===============================
+    // IN-MEMORY STORES
+    // ===============================
+    private void applyInMemory(ESGScoreEngine.Thresholds thresholds) {
+        synchronized (lock) {
+            knownVersion = Math.max(knownVersion, thresholds.version());
+        }
+        portfolioAnalyticsService.reclassify(thresholds::classify);
+        leaderboardService.reclassify(thresholds::classify);
+        resourceVersions.bumpAllAfterCommit();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startVersionPoll() {
+        synchronized (lock) {
+            knownVersion = Math.max(knownVersion, esgScoreEngine.thresholds().version());
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "risk-thresholds");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                pollVersion();
+            } catch (RuntimeException e) {
+                log.warn("Risk threshold version poll failed: {}", e.getMessage());
+            }
+        }, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stopVersionPoll() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Picks up a version published by another instance; that instance runs the re-score.
+     */
+    void pollVersion() {
+        ESGScoreEngine.Thresholds thresholds = esgScoreEngine.reload();
+        boolean changed;
+        synchronized (lock) {
+            changed = thresholds.version() > knownVersion;
+        }
+        if (changed) {
+            log.info("Risk thresholds version {} picked up", thresholds.version());
+            applyInMemory(thresholds);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.esg.insight.service;
+
+import com.esg.insight.exception.ServiceDrainingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains analyze calls when the instance shuts down.
+ *
+ * Every analysis runs under a {@link Ticket}. On shutdown this bean stops
+ * before the web server does, and it stops admitting analyses: callers get
+ * 503 with Retry-After and {@code /health} reports DRAINING. Reads are still
+ * served. Running analyses get up to {@code drain-timeout} to finish their
+ * AI call and store the result. Any still running after that are written to
+ * pending_analyses, and an instance runs them again after the restart (see
+ * {@link ESGAnalysisService#resumePending}).
+ */
+@Component
+public class ShutdownCoordinator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ShutdownCoordinator.class);
+
+    /**
+     * Outcome of the last drain, logged and shown on /health/drain.
+     */
+    public record DrainReport(LocalDateTime startedAt, long drainMillis, int inFlightAtStart,
+                              int completed, int checkpointed, int lost) {
+    }
+
+    /**
+     * A checkpointed analysis claimed for another attempt.
+     */
+    public record Checkpoint(long id, long companyId, String newsText, int attempts) {
+    }
+
+    private enum State { RUNNING, DONE, CHECKPOINTED }
+
+    /**
+     * One admitted analysis. {@link #complete()} once its result is stored;
+     * {@link #close()} always, which is where failures end up.
+     */
+    public final class Ticket implements AutoCloseable {
+
+        private final Long companyId;
+        private final String newsText;
+        private Long checkpointId;
+        private State state = State.RUNNING;
+
+        private Ticket(Long companyId, String newsText, Long checkpointId) {
+            this.companyId = companyId;
+            this.newsText = newsText;
+            this.checkpointId = checkpointId;
+        }
+
+        public void complete() {
+            Long finished;
+            synchronized (this) {
+                finished = checkpointId;
+                state = State.DONE;
+            }
+            // Finished after all, or a resumed checkpoint: nothing left to run
+            if (finished != null) {
+                try {
+                    jdbcTemplate.update("DELETE FROM pending_analyses WHERE id = ?", finished);
+                } catch (RuntimeException e) {
+                    // The analysis is stored; a resume would only add a duplicate, which dedup absorbs
+                    log.warn("Could not remove checkpoint {}: {}", finished, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                synchronized (this) {
+                    if (state == State.RUNNING && checkpointId != null) {
+                        // A resumed checkpoint that failed stays queued for its next attempt
+                        jdbcTemplate.update("UPDATE pending_analyses SET claimed_at = NULL WHERE id = ?", checkpointId);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not release checkpoint {}: {}", checkpointId, e.getMessage());
+            } finally {
+                inFlight.remove(this);
+                synchronized (ShutdownCoordinator.this) {
+                    ShutdownCoordinator.this.notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Called at the end of the drain window; false if the ticket finished meanwhile.
+         */
+        private synchronized boolean checkpoint() {
+            if (state != State.RUNNING) {
+                return false;
+            }
+            if (checkpointId == null) {
+                checkpointId = jdbcTemplate.queryForObject(
+                        "INSERT INTO pending_analyses (company_id, news_text) VALUES (?, ?) RETURNING id",
+                        Long.class, companyId, newsText);
+            } else {
+                jdbcTemplate.update("UPDATE pending_analyses SET claimed_at = NULL WHERE id = ?", checkpointId);
+            }
+            state = State.CHECKPOINTED;
+            return true;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long drainTimeoutMillis;
+    private final long retryAfterSeconds;
+    private final long resumeClaimTimeoutSeconds;
+    private final int maxAttempts;
+
+    private final Set<Ticket> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong resumed = new AtomicLong();
+    private volatile boolean running;
+    private volatile boolean draining;
+    private volatile DrainReport lastDrain;
+
+    public ShutdownCoordinator(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.shutdown.drain-timeout:20s}") Duration drainTimeout,
+            @Value("${esg.shutdown.retry-after-seconds:30}") long retryAfterSeconds,
+            @Value("${esg.shutdown.resume-claim-timeout-seconds:600}") long resumeClaimTimeoutSeconds,
+            @Value("${esg.shutdown.resume-max-attempts:3}") int maxAttempts
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.drainTimeoutMillis = drainTimeout.toMillis();
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.resumeClaimTimeoutSeconds = resumeClaimTimeoutSeconds;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    // ===============================
+    // ADMISSION
+    // ===============================
+    public Ticket admit(Long companyId, String newsText) {
+        return admit(companyId, newsText, null);
+    }
+
+    Ticket admit(Checkpoint checkpoint) {
+        return admit(checkpoint.companyId(), checkpoint.newsText(), checkpoint.id());
+    }
+
+    private Ticket admit(Long companyId, String newsText, Long checkpointId) {
+        Ticket ticket = new Ticket(companyId, newsText, checkpointId);
+        inFlight.add(ticket);
+        // Checked after registering, so a drain starting concurrently either sees the ticket or refuses it
+        if (draining) {
+            inFlight.remove(ticket);
+            throw new ServiceDrainingException(
+                    "Service is restarting; retry in " + retryAfterSeconds + " seconds", retryAfterSeconds);
+        }
+        return ticket;
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", draining ? "DRAINING" : "ACCEPTING");
+        status.put("inFlight", inFlight.size());
+        status.put("pendingCheckpoints", jdbcTemplate.queryForObject("SELECT count(*) FROM pending_analyses", Long.class));
+        status.put("resumedSinceStart", resumed.get());
+        status.put("lastDrain", lastDrain);
+        return status;
+    }
+
+    // ===============================
+    // LIFECYCLE
+    // ===============================
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops ahead of the web server's graceful shutdown, which has a lower phase.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    @Override
+    public void stop() {
+        lastDrain = drain(drainTimeoutMillis);
+        running = false;
+    }
+
+    DrainReport drain(long timeoutMillis) {
+        draining = true;
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        long deadline = started + timeoutMillis * 1_000_000L;
+        int atStart = inFlight.size();
+        log.info("Draining {} in-flight analyses (up to {} ms)", atStart, timeoutMillis);
+
+        synchronized (this) {
+            long remaining;
+            while (!inFlight.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    wait(Math.max(1, remaining / 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        int checkpointed = 0;
+        int lost = 0;
+        List<Ticket> left = new ArrayList<>(inFlight);
+        for (Ticket ticket : left) {
+            try {
+                if (ticket.checkpoint()) {
+                    checkpointed++;
+                }
+            } catch (RuntimeException e) {
+                lost++;
+                log.warn("Could not checkpoint analysis for company {}: {}", ticket.companyId, e.getMessage());
+            }
+        }
+
+        DrainReport report = new DrainReport(startedAt, (System.nanoTime() - started) / 1_000_000L,
+                atStart, atStart - checkpointed - lost, checkpointed, lost);
+        log.info("Drain finished in {} ms: {} in flight, {} completed, {} checkpointed for resume, {} lost",
+                report.drainMillis(), atStart, report.completed(), checkpointed, lost);
+        return report;
+    }
+
+    // ===============================
+    // RESUME AFTER RESTART
+    // ===============================
+    /**
+     * Claims the oldest checkpoint no other instance is working on, or null if none is left.
+     * Checkpoints that have failed too often are dropped.
+     */
+    Checkpoint claim() {
+        while (!draining) {
+            List<Checkpoint> claimed = jdbcTemplate.query("""
+                    UPDATE pending_analyses SET claimed_at = now(), attempts = attempts + 1
+                    WHERE id = (
+                        SELECT id FROM pending_analyses
+                        WHERE claimed_at IS NULL OR claimed_at < now() - make_interval(secs => ?)
+                        ORDER BY id
+                        LIMIT 1
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    RETURNING id, company_id, news_text, attempts
+                    """, (rs, i) -> new Checkpoint(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getInt(4)),
+                    resumeClaimTimeoutSeconds);
+            if (claimed.isEmpty()) {
+                return null;
+            }
+            Checkpoint checkpoint = claimed.get(0);
+            if (checkpoint.attempts() <= maxAttempts) {
+                return checkpoint;
+            }
+            jdbcTemplate.update("DELETE FROM pending_analyses WHERE id = ?", checkpoint.id());
+            log.warn("Dropping checkpointed analysis {} for company {} after {} attempts",
+                    checkpoint.id(), checkpoint.companyId(), maxAttempts);
+        }
+        return null;
+    }
+
+    void recordResumed() {
+        resumed.incrementAndGet();
+    }
+}
@@ -0,0 +1,247 @@
+package com.esg.insight.service;
+
+import com.esg.insight.security.RevocationList;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT revocation before {@code jwt.expiration}: single tokens on logout and
+ * all of a user's tokens after a role change.
+ *
+ * Revocations are persisted in token_revocations and mirrored in a
+ * {@link RevocationList}, so the auth path never queries the database.
+ * Every instance polls the table for rows added since its last poll (with an
+ * overlap for inserts that committed late), and periodically purges
+ * rows whose tokens have expired and rebuilds its list from the rest.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final int REFRESH_OVERLAP_SECONDS = 60;
+    private static final int MIN_CAPACITY = 1_024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long jwtExpirationMillis;
+    private final int initialCapacity;
+    private final double falsePositiveRate;
+    private final long refreshSeconds;
+    private final long rebuildMinutes;
+
+    private volatile RevocationList list;
+    private LocalDateTime polledAt;   // database time the last poll started, guarded by "this"
+    private ScheduledExecutorService scheduler;
+
+    public TokenRevocationService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${esg.auth.revocation.enabled:true}") boolean enabled,
+            @Value("${jwt.expiration}") long jwtExpirationMillis,
+            @Value("${esg.auth.revocation.expected-entries:10000}") int initialCapacity,
+            @Value("${esg.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${esg.auth.revocation.refresh-seconds:5}") long refreshSeconds,
+            @Value("${esg.auth.revocation.rebuild-minutes:60}") long rebuildMinutes
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.jwtExpirationMillis = jwtExpirationMillis;
+        this.initialCapacity = Math.max(MIN_CAPACITY, initialCapacity);
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshSeconds = refreshSeconds;
+        this.rebuildMinutes = rebuildMinutes;
+    }
+
+    // ===============================
+    // AUTH PATH
+    // ===============================
+    /**
+     * Whether the (signature-checked) token has been revoked. The first call
+     * loads the list; afterwards this is memory-only.
+     */
+    public boolean isRevoked(Claims claims) {
+        if (!enabled) {
+            return false;
+        }
+        RevocationList current = list;
+        if (current == null) {
+            current = loaded();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return current.isRevoked(claims.getId(), claims.getSubject(), issuedAt != null ? issuedAt.getTime() / 1000 : 0);
+    }
+
+    private synchronized RevocationList loaded() {
+        if (list == null) {
+            rebuild();
+        }
+        return list;
+    }
+
+    // ===============================
+    // REVOKE
+    // ===============================
+    /**
+     * Revokes one token, e.g. on logout. Takes effect on this instance at once
+     * and on others within {@code esg.auth.revocation.refresh-seconds}.
+     */
+    public void revokeToken(Claims claims) {
+        requireEnabled();
+        if (claims.getId() == null) {
+            // Issued before tokens carried an id: only revocable together with the user's other tokens
+            revokeSubject(claims.getSubject());
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        jdbcTemplate.update(
+                "INSERT INTO token_revocations (token_id, expires_at) VALUES (?, ?)",
+                claims.getId(), expiresAt
+        );
+        loaded().revokeToken(claims.getId(), claims.getExpiration().getTime());
+    }
+
+    /**
+     * Revokes every token issued to {@code email} so far, e.g. after a role change;
+     * the user has to log in again.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public void revokeUser(String email) {
+        requireEnabled();
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("email is required");
+        }
+        revokeSubject(email);
+    }
+
+    private void revokeSubject(String subject) {
+        Timestamp revokedAt = jdbcTemplate.queryForObject("""
+                INSERT INTO token_revocations (subject, expires_at)
+                VALUES (?, now() + ? * interval '1 millisecond')
+                RETURNING revoked_at
+                """, Timestamp.class, subject, jwtExpirationMillis);
+        loaded().revokeSubject(subject, revokedAt.getTime() / 1000);
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("Token revocation is disabled");
+        }
+    }
+
+    // ===============================
+    // SYNC WITH token_revocations
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefresh() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Token revocation refresh failed: {}", e.getMessage());
+            }
+        }, 0, refreshSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                purgeAndRebuild();
+            } catch (RuntimeException e) {
+                log.warn("Token revocation rebuild failed: {}", e.getMessage());
+            }
+        }, rebuildMinutes, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stopRefresh() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Adds revocations written by any instance since the last poll.
+     */
+    synchronized void refresh() {
+        if (list == null) {
+            rebuild();
+            return;
+        }
+        if (list.isFull()) {
+            rebuild();
+            return;
+        }
+        RevocationList current = list;
+        LocalDateTime started = databaseNow();
+        jdbcTemplate.query("""
+                SELECT token_id, subject, revoked_at, expires_at
+                FROM token_revocations
+                WHERE revoked_at >= ?
+                  AND expires_at > now()
+                """, rs -> {
+            add(current, rs.getString(1), rs.getString(2), rs.getTimestamp(3), rs.getTimestamp(4));
+        }, polledAt.minusSeconds(REFRESH_OVERLAP_SECONDS));
+        polledAt = started;
+    }
+
+    /**
+     * Deletes revocations of tokens that have expired anyway and reloads the
+     * rest into a fresh list, which also drops them from memory.
+     */
+    synchronized void purgeAndRebuild() {
+        int purged = jdbcTemplate.update("DELETE FROM token_revocations WHERE expires_at <= now()");
+        rebuild();
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations, {} active", purged, list.size());
+        }
+    }
+
+    private void rebuild() {
+        Integer active = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM token_revocations WHERE expires_at > now()", Integer.class);
+        RevocationList fresh = new RevocationList(Math.max(initialCapacity, 2 * active), falsePositiveRate);
+        LocalDateTime started = databaseNow();
+        jdbcTemplate.query("""
+                SELECT token_id, subject, revoked_at, expires_at
+                FROM token_revocations
+                WHERE expires_at > now()
+                """, rs -> {
+            add(fresh, rs.getString(1), rs.getString(2), rs.getTimestamp(3), rs.getTimestamp(4));
+        });
+        list = fresh;
+        polledAt = started;
+    }
+
+    // revoked_at is set by the database clock, so polls are bounded by it too
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT localtimestamp", LocalDateTime.class);
+    }
+
+    private static void add(RevocationList target, String tokenId, String subject, Timestamp revokedAt, Timestamp expiresAt) {
+        if (tokenId != null) {
+            target.revokeToken(tokenId, expiresAt.getTime());
+        } else {
+            target.revokeSubject(subject, revokedAt.getTime() / 1000);
+        }
+    }
+}
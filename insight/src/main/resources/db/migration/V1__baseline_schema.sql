@@ -0,0 +1,79 @@
+-- Baseline schema. Written to be safe on databases created by hand before
+-- migrations existed: every object is created only if missing, and columns
+-- added over time are added if absent.
+
+-- ===============================
+-- COMPANIES
+-- ===============================
+CREATE TABLE IF NOT EXISTS companies (
+    id         BIGSERIAL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    sector     VARCHAR(255),
+    country    VARCHAR(255),
+    metadata   TEXT,
+    created_at TIMESTAMP    NOT NULL
+);
+
+-- ===============================
+-- ANALYSTS
+-- ===============================
+CREATE TABLE IF NOT EXISTS analysts (
+    id         BIGSERIAL PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(32)  NOT NULL,
+    created_at TIMESTAMP
+);
+
+-- ===============================
+-- ESG ANALYSES
+-- ===============================
+CREATE TABLE IF NOT EXISTS esg_analyses (
+    id               BIGSERIAL PRIMARY KEY,
+    company_id       BIGINT       NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    news_text        TEXT         NOT NULL,
+    esg_score        INTEGER      NOT NULL,
+    risk_level       VARCHAR(255) NOT NULL,
+    analyst_summary  TEXT,
+    analysis_payload JSONB,
+    duplicate_of_id  BIGINT REFERENCES esg_analyses(id) ON DELETE SET NULL,
+    created_at       TIMESTAMP    NOT NULL
+);
+
+-- Columns added after the table was first created by hand
+ALTER TABLE esg_analyses ADD COLUMN IF NOT EXISTS analyst_summary TEXT;
+ALTER TABLE esg_analyses ADD COLUMN IF NOT EXISTS analysis_payload JSONB;
+ALTER TABLE esg_analyses
+    ADD COLUMN IF NOT EXISTS duplicate_of_id BIGINT REFERENCES esg_analyses(id) ON DELETE SET NULL;
+
+UPDATE esg_analyses SET analysis_payload = '{}'::jsonb WHERE analysis_payload IS NULL;
+
+-- ===============================
+-- ESG INCIDENTS (normalized from analysis_payload.keyIncidents)
+-- ===============================
+-- Rows written before this table existed are filled by POST /api/incidents/backfill (ADMIN)
+CREATE TABLE IF NOT EXISTS esg_incidents (
+    id          BIGSERIAL PRIMARY KEY,
+    analysis_id BIGINT      NOT NULL REFERENCES esg_analyses(id) ON DELETE CASCADE,
+    company_id  BIGINT      NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    pillar      VARCHAR(1)  NOT NULL,
+    category    VARCHAR(64) NOT NULL,
+    severity    VARCHAR(16) NOT NULL,
+    incident    TEXT,
+    created_at  TIMESTAMP   NOT NULL
+);
+
+-- Portfolio-wide filters ("all bribery incidents in the last 90 days")
+CREATE INDEX IF NOT EXISTS idx_esg_incidents_category_created
+    ON esg_incidents (category, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_esg_incidents_pillar_severity_created
+    ON esg_incidents (pillar, severity, created_at DESC);
+
+-- Per-company incident timeline
+CREATE INDEX IF NOT EXISTS idx_esg_incidents_company_created
+    ON esg_incidents (company_id, created_at DESC);
+
+-- Backfill lookup / cascade deletes
+CREATE INDEX IF NOT EXISTS idx_esg_incidents_analysis
+    ON esg_incidents (analysis_id);
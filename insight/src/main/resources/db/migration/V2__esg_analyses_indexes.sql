@@ -0,0 +1,23 @@
+-- Indexes for the esg_analyses read paths. SchemaIndexCheck refuses to start
+-- the application if any of these are missing.
+
+-- History: findByCompanyIdOrderByCreatedAtDesc reads one company newest-first without a sort
+CREATE INDEX IF NOT EXISTS idx_esg_analyses_company_created
+    ON esg_analyses (company_id, created_at DESC);
+
+-- Portfolio filters by risk band, then score range
+CREATE INDEX IF NOT EXISTS idx_esg_analyses_risk_score
+    ON esg_analyses (risk_level, esg_score);
+
+-- Near-duplicate index rebuild: originals inside the recent window only
+CREATE INDEX IF NOT EXISTS idx_esg_analyses_originals
+    ON esg_analyses (created_at)
+    WHERE duplicate_of_id IS NULL;
+
+-- Few rows are duplicates; keeps ON DELETE SET NULL from scanning the table
+CREATE INDEX IF NOT EXISTS idx_esg_analyses_duplicate_of
+    ON esg_analyses (duplicate_of_id)
+    WHERE duplicate_of_id IS NOT NULL;
+
+-- Superseded by idx_esg_analyses_originals
+DROP INDEX IF EXISTS idx_esg_analyses_created_at;
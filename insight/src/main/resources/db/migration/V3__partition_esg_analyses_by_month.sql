@@ -0,0 +1,92 @@
+-- Monthly range partitions for esg_analyses on created_at, so cold months can
+-- be archived and dropped as whole tables (PartitionService / AnalysisArchive).
+--
+-- A partitioned table's keys must include the partition column, so id is no
+-- longer unique on its own as far as PostgreSQL is concerned. Foreign keys
+-- pointing at esg_analyses(id) are dropped; the application already treats a
+-- missing duplicate_of target as "analyse again", and incidents are removed
+-- with their company.
+
+-- ===============================
+-- DROP FOREIGN KEYS THAT TARGET esg_analyses
+-- ===============================
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS tbl, conname
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'esg_analyses'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE esg_analyses RENAME TO esg_analyses_unpartitioned;
+
+-- ===============================
+-- PARTITIONED TABLE
+-- ===============================
+CREATE SEQUENCE esg_analyses_partitioned_id_seq;
+SELECT setval('esg_analyses_partitioned_id_seq', COALESCE((SELECT MAX(id) FROM esg_analyses_unpartitioned), 0) + 1, false);
+
+CREATE TABLE esg_analyses (
+    id               BIGINT       NOT NULL DEFAULT nextval('esg_analyses_partitioned_id_seq'),
+    company_id       BIGINT       NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    news_text        TEXT         NOT NULL,
+    esg_score        INTEGER      NOT NULL,
+    risk_level       VARCHAR(255) NOT NULL,
+    analyst_summary  TEXT,
+    analysis_payload JSONB,
+    duplicate_of_id  BIGINT,
+    created_at       TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE esg_analyses_partitioned_id_seq OWNED BY esg_analyses.id;
+
+-- Rows outside every monthly partition land here; PartitionService moves them out
+CREATE TABLE esg_analyses_default PARTITION OF esg_analyses DEFAULT;
+
+-- One partition per month from the oldest row to three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM esg_analyses_unpartitioned), now()))::date;
+    last_month  DATE := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF esg_analyses FOR VALUES FROM (%L) TO (%L)',
+            'esg_analyses_p' || to_char(month_start, 'YYYYMM'),
+            month_start,
+            (month_start + interval '1 month')::date
+        );
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO esg_analyses (id, company_id, news_text, esg_score, risk_level, analyst_summary,
+                          analysis_payload, duplicate_of_id, created_at)
+SELECT id, company_id, news_text, esg_score, risk_level, analyst_summary,
+       analysis_payload, duplicate_of_id, created_at
+FROM esg_analyses_unpartitioned;
+
+DROP TABLE esg_analyses_unpartitioned;
+
+-- ===============================
+-- INDEXES (created on the parent, inherited by every partition)
+-- ===============================
+CREATE INDEX idx_esg_analyses_company_created
+    ON esg_analyses (company_id, created_at DESC);
+
+CREATE INDEX idx_esg_analyses_risk_score
+    ON esg_analyses (risk_level, esg_score);
+
+CREATE INDEX idx_esg_analyses_originals
+    ON esg_analyses (created_at)
+    WHERE duplicate_of_id IS NULL;
+
+CREATE INDEX idx_esg_analyses_duplicate_of
+    ON esg_analyses (duplicate_of_id)
+    WHERE duplicate_of_id IS NOT NULL;
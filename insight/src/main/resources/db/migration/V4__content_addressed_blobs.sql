@@ -0,0 +1,65 @@
+-- Content-addressed storage for news texts and analysis payloads (BlobStore).
+--
+-- esg_analyses used to carry both inline. The same article analysed for
+-- several companies, or re-submitted later, was stored once per row, and
+-- every scan of esg_analyses dragged the TOAST pointers along. Rows now
+-- reference one esg_blobs row per distinct content, keyed by SHA-256 of
+-- the uncompressed bytes.
+--
+-- codec 0 = raw bytes, codec 1 = DEFLATE (written by the application).
+-- Existing rows are copied as codec 0 while the column still uses the
+-- default EXTENDED storage, so PostgreSQL's own TOAST compression covers
+-- them; new blobs are compressed by the application and stored EXTERNAL
+-- so they are not compressed twice.
+
+CREATE TABLE esg_blobs (
+    id         BIGSERIAL PRIMARY KEY,
+    hash       BYTEA     NOT NULL UNIQUE,
+    codec      SMALLINT  NOT NULL,
+    raw_size   INTEGER   NOT NULL,
+    data       BYTEA     NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- ===============================
+-- COPY DISTINCT CONTENT
+-- ===============================
+INSERT INTO esg_blobs (hash, codec, raw_size, data)
+SELECT DISTINCT ON (hash) hash, 0, length(bytes), bytes
+FROM (
+    SELECT sha256(bytes) AS hash, bytes
+    FROM (
+        SELECT convert_to(news_text, 'UTF8') AS bytes FROM esg_analyses
+        UNION ALL
+        SELECT convert_to(COALESCE(analysis_payload, '{}'::jsonb)::text, 'UTF8') FROM esg_analyses
+    ) contents
+) hashed
+ORDER BY hash;
+
+ALTER TABLE esg_blobs ALTER COLUMN data SET STORAGE EXTERNAL;
+
+-- ===============================
+-- POINT ANALYSES AT THEIR BLOBS
+-- ===============================
+ALTER TABLE esg_analyses
+    ADD COLUMN news_text_blob_id BIGINT,
+    ADD COLUMN payload_blob_id   BIGINT;
+
+UPDATE esg_analyses a
+SET news_text_blob_id = t.id,
+    payload_blob_id   = p.id
+FROM esg_blobs t, esg_blobs p
+WHERE t.hash = sha256(convert_to(a.news_text, 'UTF8'))
+  AND p.hash = sha256(convert_to(COALESCE(a.analysis_payload, '{}'::jsonb)::text, 'UTF8'));
+
+ALTER TABLE esg_analyses
+    ALTER COLUMN news_text_blob_id SET NOT NULL,
+    ALTER COLUMN payload_blob_id SET NOT NULL,
+    ADD CONSTRAINT fk_esg_analyses_news_text_blob FOREIGN KEY (news_text_blob_id) REFERENCES esg_blobs (id),
+    ADD CONSTRAINT fk_esg_analyses_payload_blob FOREIGN KEY (payload_blob_id) REFERENCES esg_blobs (id),
+    DROP COLUMN news_text,
+    DROP COLUMN analysis_payload;
+
+-- Back the foreign keys, so orphan cleanup and blob deletes do not scan every partition
+CREATE INDEX idx_esg_analyses_news_text_blob ON esg_analyses (news_text_blob_id);
+CREATE INDEX idx_esg_analyses_payload_blob ON esg_analyses (payload_blob_id);
@@ -0,0 +1,19 @@
+-- JWT revocation list (TokenRevocationService).
+--
+-- A row revokes either one token (token_id = its jti, e.g. on logout) or
+-- every token of a subject issued up to revoked_at (e.g. after a role
+-- change). Rows are only needed until the tokens they cover would have
+-- expired anyway, which is expires_at; maintenance deletes them after that.
+-- Instances mirror the table in memory and poll it by revoked_at.
+
+CREATE TABLE token_revocations (
+    id         BIGSERIAL    PRIMARY KEY,
+    token_id   VARCHAR(64),
+    subject    VARCHAR(255),
+    revoked_at TIMESTAMP    NOT NULL DEFAULT now(),
+    expires_at TIMESTAMP    NOT NULL,
+    CONSTRAINT chk_token_revocations_target CHECK ((token_id IS NULL) <> (subject IS NULL))
+);
+
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations (expires_at);
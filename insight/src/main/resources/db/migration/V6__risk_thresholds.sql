@@ -0,0 +1,32 @@
+-- Versioned, per-sector risk thresholds (ESGScoreEngine).
+--
+-- A version is an immutable table of score bands: scores below high_below
+-- are HIGH risk, below medium_below MEDIUM, anything else LOW. The row for
+-- sector '*' applies to sectors without their own row. The highest version
+-- is active; changing thresholds publishes a new version and re-scores the
+-- stored analyses (RiskRescoringService).
+--
+-- Version 1 carries the bands the AI service has been using (< 30 HIGH,
+-- < 55 MEDIUM), so existing risk levels stay as they are.
+
+CREATE TABLE risk_threshold_versions (
+    version    INTEGER      PRIMARY KEY,
+    created_at TIMESTAMP    NOT NULL DEFAULT now(),
+    created_by VARCHAR(255),
+    note       TEXT
+);
+
+CREATE TABLE risk_thresholds (
+    version      INTEGER      NOT NULL REFERENCES risk_threshold_versions (version),
+    sector       VARCHAR(255) NOT NULL,
+    high_below   SMALLINT     NOT NULL,
+    medium_below SMALLINT     NOT NULL,
+    PRIMARY KEY (version, sector),
+    CONSTRAINT chk_risk_thresholds_bands CHECK (0 <= high_below AND high_below <= medium_below AND medium_below <= 101)
+);
+
+INSERT INTO risk_threshold_versions (version, created_by, note)
+VALUES (1, 'migration', 'AI service defaults');
+
+INSERT INTO risk_thresholds (version, sector, high_below, medium_below)
+VALUES (1, '*', 30, 55);
@@ -0,0 +1,18 @@
+-- Analyses interrupted by a shutdown (ShutdownCoordinator).
+--
+-- When an instance stops, analyze calls still running at the end of the
+-- drain window are written here. After a restart an instance claims them
+-- (claimed_at) and runs them again. A row is deleted once its analysis has
+-- been stored, or after too many attempts. Claims older than the resume
+-- timeout are treated as abandoned by an instance that died mid-way.
+
+CREATE TABLE pending_analyses (
+    id              BIGSERIAL PRIMARY KEY,
+    company_id      BIGINT    NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    news_text       TEXT      NOT NULL,
+    checkpointed_at TIMESTAMP NOT NULL DEFAULT now(),
+    attempts        INTEGER   NOT NULL DEFAULT 0,
+    claimed_at      TIMESTAMP
+);
+
+CREATE INDEX idx_pending_analyses_claimed_at ON pending_analyses (claimed_at);
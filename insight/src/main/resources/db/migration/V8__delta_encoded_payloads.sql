@@ -0,0 +1,21 @@
+-- Analysis payloads stored as deltas against the company's previous payload (BlobStore.putPayload).
+--
+-- Consecutive analyses of one company usually change a handful of fields,
+-- yet each stored its full snapshot. A payload blob may now hold a JSON
+-- merge patch (RFC 7396) against base_id instead. Every chain starts at a
+-- full snapshot (keyframe, chain_length 0), and chains are cut after
+-- esg.blobs.payload-keyframe-interval snapshots so a read applies a bounded
+-- number of patches.
+--
+-- codec 2 = patch, raw bytes; codec 3 = patch, DEFLATE. raw_size is the
+-- size of the uncompressed patch. hash stays the SHA-256 of the full
+-- snapshot, so identical content is still found however it is stored.
+-- Existing blobs are all keyframes.
+
+ALTER TABLE esg_blobs
+    ADD COLUMN base_id      BIGINT   REFERENCES esg_blobs (id),
+    ADD COLUMN chain_length SMALLINT NOT NULL DEFAULT 0,
+    ADD CONSTRAINT chk_esg_blobs_patch_base CHECK ((codec IN (2, 3)) = (base_id IS NOT NULL));
+
+-- Orphan cleanup must not delete a blob that a newer patch still builds on
+CREATE INDEX idx_esg_blobs_base ON esg_blobs (base_id) WHERE base_id IS NOT NULL;
@@ -0,0 +1,7 @@
+-- esg_incidents.analysis_id lost its ON DELETE CASCADE in V3. Incidents do
+-- still go when their company is deleted, but before PartitionService removed
+-- them together with an archived month, every dropped month left incidents
+-- pointing at analyses that only exist in the archive. Remove those; the
+-- archived payloads still list them.
+DELETE FROM esg_incidents i
+WHERE NOT EXISTS (SELECT 1 FROM esg_analyses a WHERE a.id = i.analysis_id);
@@ -0,0 +1,128 @@
+package com.esg.insight.ai;
+
+import com.esg.insight.dto.ESGAnalysisPayload;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrent analyses grouped by size and window, each caller getting its
+ * own result back, and no caller left waiting when the collector stops.
+ */
+class AIBatchCollectorTest {
+
+    @Test
+    void groupsConcurrentCallsAndRoutesEachResultToItsCaller() throws Exception {
+        StubClient client = new StubClient(texts -> texts.stream().map(AIBatchCollectorTest::payload).toList());
+        AIBatchCollector collector = collector(client, 300, 3);
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            List<CompletableFuture<ESGAnalysisPayload>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                String text = "article " + i;
+                results.add(CompletableFuture.supplyAsync(() -> collector.analyze(text, Deadline.after(5_000)), callers));
+            }
+
+            for (int i = 0; i < 5; i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS).analystSummary()).isEqualTo("article " + i);
+            }
+            // A full batch goes at once; the rest waits out the window
+            assertThat(client.batchSizes).containsExactly(3, 2);
+            assertThat(client.singleCalls).isZero();
+        } finally {
+            callers.shutdownNow();
+            collector.stop();
+        }
+    }
+
+    @Test
+    void aFailedBatchFailsEveryCallerInIt() throws Exception {
+        StubClient client = new StubClient(texts -> {
+            throw new RuntimeException("AI service HTTP error: 503");
+        });
+        AIBatchCollector collector = collector(client, 200, 8);
+        try {
+            CompletableFuture<ESGAnalysisPayload> first =
+                    CompletableFuture.supplyAsync(() -> collector.analyze("a", Deadline.after(5_000)));
+            CompletableFuture<ESGAnalysisPayload> second =
+                    CompletableFuture.supplyAsync(() -> collector.analyze("b", Deadline.after(5_000)));
+
+            for (CompletableFuture<ESGAnalysisPayload> result : List.of(first, second)) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasMessageContaining("503");
+            }
+        } finally {
+            collector.stop();
+        }
+    }
+
+    @Test
+    void stoppingFailsCallersWithoutADeadline() throws Exception {
+        StubClient client = new StubClient(texts -> texts.stream().map(AIBatchCollectorTest::payload).toList());
+        // A long window keeps the text in the dispatcher's hands when stop() arrives
+        AIBatchCollector collector = collector(client, 60_000, 8);
+        CompletableFuture<ESGAnalysisPayload> resumed =
+                CompletableFuture.supplyAsync(() -> collector.analyze("resumed after restart", Deadline.none()));
+        Thread.sleep(200);
+
+        collector.stop();
+
+        assertThatThrownBy(() -> resumed.get(5, TimeUnit.SECONDS)).hasMessageContaining("shutting down");
+        assertThatThrownBy(() -> collector.analyze("too late", Deadline.none())).hasMessageContaining("shutting down");
+        assertThat(client.batchSizes).isEmpty();
+    }
+
+    @Test
+    void callsGoStraightToTheClientWhenBatchingIsOff() {
+        StubClient client = new StubClient(texts -> List.of());
+        AIBatchCollector collector = new AIBatchCollector(client, false, 20, 32, 4, false);
+        collector.start();
+
+        assertThat(collector.analyze("single", Deadline.none()).analystSummary()).isEqualTo("single");
+        assertThat(client.singleCalls).isEqualTo(1);
+        assertThat(client.batchSizes).isEmpty();
+    }
+
+    private static AIBatchCollector collector(AIClient client, long windowMs, int maxSize) {
+        AIBatchCollector collector = new AIBatchCollector(client, true, windowMs, maxSize, 1, false);
+        collector.start();
+        return collector;
+    }
+
+    private static ESGAnalysisPayload payload(String text) {
+        return new ESGAnalysisPayload(null, null, null, null, text);
+    }
+
+    private static final class StubClient extends AIClient {
+
+        private final Function<List<String>, List<ESGAnalysisPayload>> batches;
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private volatile int singleCalls;
+
+        private StubClient(Function<List<String>, List<ESGAnalysisPayload>> batches) {
+            super("http://localhost:1", 1_000, 1_000, false, 99, 3, 1_000, 3, 30_000, false, 95, 50, 64, false);
+            this.batches = batches;
+        }
+
+        @Override
+        public ESGAnalysisPayload analyzeText(String text, Deadline deadline) {
+            singleCalls++;
+            return payload(text);
+        }
+
+        @Override
+        public List<ESGAnalysisPayload> analyzeBatch(List<String> texts, Deadline deadline) {
+            batchSizes.add(texts.size());
+            return batches.apply(texts);
+        }
+    }
+}
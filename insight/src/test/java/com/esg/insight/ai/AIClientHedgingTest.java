@@ -0,0 +1,97 @@
+package com.esg.insight.ai;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A call stuck on one replica is hedged to another, and the losing call is
+ * aborted at once instead of holding its replica slot until it times out.
+ */
+class AIClientHedgingTest {
+
+    private final List<HttpServer> replicas = new ArrayList<>();
+    private final AtomicBoolean stalled = new AtomicBoolean();
+
+    @AfterEach
+    void stop() {
+        replicas.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void theLosingCallIsAbortedWhenTheHedgeWins() throws Exception {
+        String urls = replica() + "," + replica();
+        AIClient client = new AIClient(urls, 1_000, 30_000, false, 99, 3, 1_000,
+                3, 30_000, true, 95, 50, 8, false);
+        try {
+            // Latency history first: without it there is no hedge delay
+            for (int i = 0; i < 24; i++) {
+                assertThat(client.analyzeText("warm-up", Deadline.after(5_000)).analystSummary()).isEqualTo("ok");
+            }
+
+            long started = System.nanoTime();
+            assertThat(client.analyzeText("stall the first replica", Deadline.after(20_000)).analystSummary())
+                    .isEqualTo("ok");
+            assertThat((System.nanoTime() - started) / 1_000_000L).isLessThan(5_000);
+            assertThat(client.hedgesSent()).isEqualTo(1);
+            assertThat(client.hedgesWon()).isEqualTo(1);
+
+            // The stalled replica answers only after 20s; the aborted call frees its slot well before
+            long until = System.nanoTime() + 2_000_000_000L;
+            while (client.endpointStats().stream().anyMatch(stats -> stats.getOutstanding() > 0)
+                    && System.nanoTime() < until) {
+                Thread.sleep(10);
+            }
+            assertThat(client.endpointStats()).allSatisfy(stats -> {
+                assertThat(stats.getOutstanding()).isZero();
+                assertThat(stats.getErrors()).isZero();
+            });
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    /**
+     * A replica that answers at once, except that the first "stall" request
+     * anywhere hangs for 20 seconds.
+     */
+    private String replica() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/analyze", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (body.contains("stall") && stalled.compareAndSet(false, true)) {
+                try {
+                    Thread.sleep(20_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange);
+        });
+        server.start();
+        replicas.add(server);
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/analyze";
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        byte[] json = "{\"analystSummary\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.esg.insight.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Least-outstanding routing across replicas, and passive ejection of a
+ * failing replica until its ejection period has passed.
+ */
+class AIEndpointPoolTest {
+
+    @Test
+    void picksTheReplicaWithFewestCallsInFlight() {
+        AIEndpoint a = new AIEndpoint("http://a/analyze");
+        AIEndpoint b = new AIEndpoint("http://b/analyze");
+        AIEndpoint c = new AIEndpoint("http://c/analyze");
+        AIEndpointPool pool = new AIEndpointPool(List.of(a, b, c));
+        assertThat(List.of(a, b, c)).allMatch(AIEndpoint::isHealthy);
+
+        a.onStart();
+        a.onStart();
+        b.onStart();
+        assertThat(pool.pick(null)).isSameAs(c);
+        assertThat(pool.pick(c)).isSameAs(b);
+
+        // Idle replicas share sequential traffic
+        a.onSuccess(10);
+        a.onSuccess(10);
+        b.onSuccess(10);
+        Map<AIEndpoint, Long> picks = IntStream.range(0, 300).mapToObj(i -> pool.pick(null))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertThat(picks).containsOnlyKeys(a, b, c).allSatisfy((endpoint, count) -> assertThat(count).isEqualTo(100));
+
+        AIEndpointPool single = new AIEndpointPool(List.of(a));
+        assertThat(single.pick(a)).isNull();
+    }
+
+    @Test
+    void ejectsAfterConsecutiveFailuresAndRecovers() throws InterruptedException {
+        AIEndpoint flaky = new AIEndpoint("http://flaky/analyze");
+        AIEndpoint steady = new AIEndpoint("http://steady/analyze");
+        AIEndpointPool pool = new AIEndpointPool(List.of(flaky, steady));
+        steady.onStart(); // busier, but healthy
+
+        fail(flaky, 2, 200);
+        assertThat(flaky.isHealthy()).isTrue();
+        flaky.onStart();
+        flaky.onSuccess(10); // a success resets the streak
+        fail(flaky, 2, 200);
+        assertThat(flaky.isHealthy()).isTrue();
+        assertThat(pool.pick(null)).isSameAs(flaky);
+
+        fail(flaky, 1, 200);
+        assertThat(flaky.isHealthy()).isFalse();
+        assertThat(flaky.stats().getEjections()).isEqualTo(1);
+        assertThat(pool.pick(null)).isSameAs(steady);
+
+        // Every replica ejected: fail open to the least loaded one
+        fail(steady, 3, 200);
+        assertThat(pool.pick(null)).isSameAs(flaky);
+
+        Thread.sleep(250);
+        assertThat(flaky.isHealthy()).isTrue();
+        // Back from ejection, one more failure ejects it again
+        fail(flaky, 1, 200);
+        assertThat(flaky.isHealthy()).isFalse();
+        assertThat(flaky.stats().getEjections()).isEqualTo(2);
+    }
+
+    private static void fail(AIEndpoint endpoint, int times, long ejectForMs) {
+        for (int i = 0; i < times; i++) {
+            endpoint.onStart();
+            endpoint.onFailure(3, ejectForMs);
+        }
+    }
+}
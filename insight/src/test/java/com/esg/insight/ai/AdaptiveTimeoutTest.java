@@ -0,0 +1,76 @@
+package com.esg.insight.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Latency percentiles over the sliding window, and the read timeout derived
+ * from them: floored at min-ms, capped at the configured maximum and at the
+ * caller's deadline, never 0.
+ */
+class AdaptiveTimeoutTest {
+
+    @Test
+    void percentilesCoverOnlyTheLatestWindow() {
+        AILatencyTracker tracker = new AILatencyTracker(4);
+        assertThat(tracker.percentile(50)).isEqualTo(-1);
+
+        for (long latency : new long[]{40, 10, 30, 20}) {
+            tracker.record(latency);
+        }
+        assertThat(tracker.percentile(0)).isEqualTo(10);
+        assertThat(tracker.percentile(50)).isEqualTo(20);
+        assertThat(tracker.percentile(75)).isEqualTo(30);
+        assertThat(tracker.percentile(99)).isEqualTo(40);
+
+        // The two oldest samples (40, 10) fall out of the window
+        tracker.record(5);
+        tracker.record(6);
+        assertThat(tracker.sampleCount()).isEqualTo(4);
+        assertThat(tracker.percentile(0)).isEqualTo(5);
+        assertThat(tracker.percentile(100)).isEqualTo(30);
+
+        assertThatThrownBy(() -> new AILatencyTracker(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readTimeoutFollowsObservedLatencyWithinItsBounds() {
+        // max read timeout 60s, p99 x 3, floor 1s
+        AIClient client = new AIClient("http://localhost:1", 1_000, 60_000, true, 99, 3, 1_000,
+                3, 30_000, false, 95, 50, 64, false);
+
+        // Too few samples to trust: the configured maximum
+        record(client, 2_000, 19);
+        assertThat(client.readTimeoutFor(Deadline.none())).isEqualTo(60_000);
+
+        record(client, 2_000, 256);
+        assertThat(client.readTimeoutFor(Deadline.none())).isEqualTo(6_000);
+
+        record(client, 100, 256);
+        assertThat(client.readTimeoutFor(Deadline.none())).isEqualTo(1_000);
+
+        record(client, 50_000, 256);
+        assertThat(client.readTimeoutFor(Deadline.none())).isEqualTo(60_000);
+
+        // The caller's remaining budget wins, and an expired one still yields a usable timeout
+        assertThat(client.readTimeoutFor(Deadline.after(500))).isBetween(1, 500);
+        assertThat(client.readTimeoutFor(Deadline.after(0))).isEqualTo(1);
+    }
+
+    @Test
+    void readTimeoutIgnoresLatencyWhenAdaptiveTimeoutIsOff() {
+        AIClient client = new AIClient("http://localhost:1", 1_000, 60_000, false, 99, 3, 1_000,
+                3, 30_000, false, 95, 50, 64, false);
+        record(client, 100, 256);
+
+        assertThat(client.readTimeoutFor(Deadline.none())).isEqualTo(60_000);
+    }
+
+    private static void record(AIClient client, long latencyMs, int times) {
+        for (int i = 0; i < times; i++) {
+            client.latencyTracker().record(latencyMs);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.esg.insight.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the streaming sampler against the textbook array-based LTTB.
+ */
+class LttbSamplerTest {
+
+    @Test
+    void keepsTheSamePointsAsTheArrayAlgorithm() {
+        Random random = new Random(3);
+        for (int n : new int[]{4, 5, 17, 100, 1_001, 25_000}) {
+            double[] x = new double[n];
+            double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = (i == 0 ? 0 : x[i - 1]) + 1 + random.nextInt(5_000);
+                y[i] = random.nextInt(101);
+            }
+            for (int threshold : new int[]{3, 4, 10, 99, 500}) {
+                LttbSampler<Integer> sampler = new LttbSampler<>(n, threshold);
+                for (int i = 0; i < n; i++) {
+                    sampler.offer(x[i], y[i], i);
+                }
+                assertThat(sampler.finish())
+                        .as("n=%d threshold=%d", n, threshold)
+                        .containsExactlyElementsOf(reference(x, y, threshold));
+            }
+        }
+    }
+
+    @Test
+    void keepsSpikesThatEveryNthSamplingWouldDrop() {
+        LttbSampler<Integer> sampler = new LttbSampler<>(1_000, 20);
+        for (int i = 0; i < 1_000; i++) {
+            sampler.offer(i, i == 637 ? 0 : 80, i);
+        }
+        assertThat(sampler.finish()).hasSize(20).contains(0, 637, 999);
+    }
+
+    @Test
+    void rejectsMoreOrFewerPointsThanAnnounced() {
+        LttbSampler<Integer> tooFew = new LttbSampler<>(10, 5);
+        tooFew.offer(0, 0, 0);
+        assertThatThrownBy(tooFew::finish).isInstanceOf(IllegalStateException.class);
+
+        LttbSampler<Integer> tooMany = new LttbSampler<>(1, 5);
+        tooMany.offer(0, 0, 0);
+        assertThatThrownBy(() -> tooMany.offer(1, 0, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<Integer> reference(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        List<Integer> sampled = new ArrayList<>();
+        if (threshold >= n) {
+            for (int i = 0; i < n; i++) {
+                sampled.add(i);
+            }
+            return sampled;
+        }
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        sampled.add(0);
+        for (int i = 0; i < threshold - 2; i++) {
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            avgX /= avgEnd - avgStart;
+            avgY /= avgEnd - avgStart;
+
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled.add(next);
+            a = next;
+        }
+        sampled.add(n - 1);
+        return sampled;
+    }
+}
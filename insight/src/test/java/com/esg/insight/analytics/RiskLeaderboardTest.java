@@ -0,0 +1,80 @@
+package com.esg.insight.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks rankings against a straightforward sort of each company's latest score.
+ */
+class RiskLeaderboardTest {
+
+    private static final String[] SECTORS = {"Energy", "Banking", "Mining"};
+    private static final String[] COUNTRIES = {"DE", "US"};
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void ranksByLatestScoreInAnyArrivalOrder() {
+        RiskLeaderboard leaderboard = new RiskLeaderboard();
+        Map<Long, RiskLeaderboard.Entry> latest = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 20_000; i++) {
+            long company = 1 + random.nextInt(500);
+            RiskLeaderboard.Entry entry = new RiskLeaderboard.Entry(
+                    company, "Company " + company,
+                    SECTORS[(int) (company % SECTORS.length)],
+                    COUNTRIES[(int) (company % COUNTRIES.length)],
+                    random.nextInt(101), "MEDIUM",
+                    START.plusMinutes(random.nextInt(1_000_000))
+            );
+            leaderboard.offer(entry);
+            latest.merge(company, entry, (a, b) -> b.timestamp().isAfter(a.timestamp()) ? b : a);
+        }
+        for (long company = 1; company <= 500; company += 7) {
+            leaderboard.remove(company);
+            latest.remove(company);
+        }
+
+        Comparator<RiskLeaderboard.Entry> riskiest = Comparator.comparingInt(RiskLeaderboard.Entry::esgScore)
+                .thenComparing(RiskLeaderboard.Entry::timestamp, Comparator.reverseOrder())
+                .thenComparingLong(RiskLeaderboard.Entry::companyId);
+
+        assertThat(leaderboard.top(RiskLeaderboard.Scope.ALL, null, 25, false))
+                .containsExactlyElementsOf(latest.values().stream().sorted(riskiest).limit(25).toList());
+        assertThat(leaderboard.top(RiskLeaderboard.Scope.SECTOR, "mining", 10, true))
+                .containsExactlyElementsOf(latest.values().stream()
+                        .filter(e -> e.sector().equals("Mining"))
+                        .sorted(riskiest.reversed()).limit(10).toList());
+        assertThat(leaderboard.top(RiskLeaderboard.Scope.COUNTRY, "US", 1_000, false))
+                .containsExactlyElementsOf(latest.values().stream()
+                        .filter(e -> e.country().equals("US"))
+                        .sorted(riskiest).toList());
+    }
+
+    @Test
+    void ignoresStaleScoresAndDeletedCompanies() {
+        RiskLeaderboard leaderboard = new RiskLeaderboard();
+        RiskLeaderboard.Entry current = entry(1, 80, START.plusDays(2));
+
+        assertThat(leaderboard.offer(current)).isTrue();
+        assertThat(leaderboard.offer(entry(1, 10, START.plusDays(1)))).isFalse();
+        assertThat(leaderboard.top(RiskLeaderboard.Scope.ALL, null, 5, false)).containsExactly(current);
+
+        leaderboard.remove(1);
+        assertThat(leaderboard.offer(entry(1, 10, START.plusDays(3)))).isFalse();
+        assertThat(leaderboard.top(RiskLeaderboard.Scope.SECTOR, "Energy", 5, false)).isEmpty();
+        assertThat(leaderboard.top(RiskLeaderboard.Scope.COUNTRY, "nowhere", 5, false)).isEqualTo(List.of());
+    }
+
+    private static RiskLeaderboard.Entry entry(long company, int score, LocalDateTime timestamp) {
+        return new RiskLeaderboard.Entry(company, "Company " + company, "Energy", "DE", score, "LOW", timestamp);
+    }
+}
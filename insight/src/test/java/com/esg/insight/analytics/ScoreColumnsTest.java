@@ -0,0 +1,103 @@
+package com.esg.insight.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks column-store aggregates against a straightforward computation over the same rows.
+ */
+class ScoreColumnsTest {
+
+    private record Row(long companyId, String sector, LocalDateTime createdAt, int score, String risk) {
+    }
+
+    private static final String[] SECTORS = {"Energy", "Banking", "Mining", "Tech"};
+    private static final String[] RISKS = {"LOW", "MEDIUM", "HIGH"};
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final List<Row> rows = new ArrayList<>();
+    private final ScoreColumns columns = new ScoreColumns();
+
+    ScoreColumnsTest() {
+        // Enough rows to span several chunks
+        Random random = new Random(7);
+        for (int i = 0; i < 150_000; i++) {
+            long company = 1 + random.nextInt(300);
+            Row row = new Row(
+                    company,
+                    SECTORS[(int) (company % SECTORS.length)],
+                    START.plusMinutes(random.nextInt(2 * 365 * 24 * 60)),
+                    random.nextInt(101),
+                    RISKS[random.nextInt(RISKS.length)]
+            );
+            rows.add(row);
+            columns.append(row.companyId(), row.sector(), row.createdAt(), row.score(), row.risk());
+        }
+    }
+
+    @Test
+    void averageBySectorAndMonthMatchesBruteForce() {
+        LocalDateTime from = LocalDateTime.of(2024, 3, 15, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+        ScoreColumns.Result result = columns.aggregate(new ScoreQuery(
+                from, to, null, null, "high",
+                List.of(ScoreQuery.Dimension.SECTOR, ScoreQuery.Dimension.PERIOD), ScoreQuery.Interval.MONTH
+        ));
+
+        Map<String, long[]> expected = new TreeMap<>();
+        for (Row row : rows) {
+            if (row.risk().equals("HIGH") && !row.createdAt().isBefore(from) && row.createdAt().isBefore(to)) {
+                long[] acc = expected.computeIfAbsent(
+                        row.sector() + "|" + row.createdAt().toLocalDate().toString().substring(0, 7), k -> new long[2]);
+                acc[0]++;
+                acc[1] += row.score();
+            }
+        }
+
+        assertThat(result.groups()).hasSize(expected.size());
+        assertThat(result.matched()).isEqualTo(expected.values().stream().mapToLong(a -> a[0]).sum());
+        for (ScoreColumns.Group group : result.groups()) {
+            long[] acc = expected.get(group.key().get("sector") + "|" + group.key().get("period"));
+            assertThat(group.count()).isEqualTo(acc[0]);
+            assertThat(group.sum()).isEqualTo(acc[1]);
+            assertThat(group.histogram()).hasSize(ScoreColumns.HISTOGRAM_BUCKETS);
+        }
+        assertThat(result.groups().get(0).key()).containsEntry("sector", "Banking").containsEntry("period", "2024-03");
+    }
+
+    @Test
+    void riskMixForOneCompanyAndRemoval() {
+        ScoreQuery query = new ScoreQuery(null, null, 42L, null, null,
+                List.of(ScoreQuery.Dimension.RISK_LEVEL), null);
+
+        long expected = rows.stream().filter(r -> r.companyId() == 42).count();
+        assertThat(columns.aggregate(query).groups().stream().mapToLong(ScoreColumns.Group::count).sum())
+                .isEqualTo(expected);
+        assertThat(columns.aggregate(query).groups()).extracting(g -> g.key().get("riskLevel"))
+                .containsExactly("HIGH", "LOW", "MEDIUM");
+
+        assertThat(columns.removeCompany(42)).isEqualTo((int) expected);
+        assertThat(columns.aggregate(query).groups()).isEmpty();
+        assertThat(columns.liveRows()).isEqualTo(rows.size() - expected);
+    }
+
+    @Test
+    void unknownFilterValuesMatchNothingAndHugeGroupingsAreRejected() {
+        assertThat(columns.aggregate(new ScoreQuery(null, null, null, "Shipping", null, List.of(), null)).matched())
+                .isZero();
+
+        assertThatThrownBy(() -> columns.aggregate(new ScoreQuery(null, null, null, null, null,
+                List.of(ScoreQuery.Dimension.COMPANY, ScoreQuery.Dimension.PERIOD), ScoreQuery.Interval.DAY)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
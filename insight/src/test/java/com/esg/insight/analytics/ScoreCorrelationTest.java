@@ -0,0 +1,168 @@
+package com.esg.insight.analytics;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the tiled, parallel matrix against a pair-by-pair computation, and
+ * clusters against components found sequentially.
+ */
+class ScoreCorrelationTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void stop() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    void findsCompaniesMovingTogether() {
+        double nan = Double.NaN;
+        double[][] series = {
+                {50, 55, 60, 58, 65, 70},       // 0
+                {30, 35, 40, 38, 45, 50},       // 1: 0 shifted down
+                {70, 65, 60, 62, 55, 50},       // 2: 0 mirrored
+                {50, nan, 60, 58, nan, 70},     // 3: 0 with gaps
+                {40, 40, 40, 40, 40, 40},       // 4: flat, undefined
+                {nan, nan, nan, nan, 20, 30},   // 5: too little overlap
+        };
+
+        ScoreCorrelation.Result result = ScoreCorrelation.compute(series, 3, 0.9, 3, true, POOL);
+
+        assertThat(result.topPairs()).extracting(ScoreCorrelation.Pair::r)
+                .allSatisfy(r -> assertThat(r).isCloseTo(1.0, within(1e-9)));
+        assertThat(result.topPairs()).extracting(p -> p.first() + "-" + p.second())
+                .containsExactlyInAnyOrder("0-1", "0-3", "1-3");
+        assertThat(result.clusters()).hasSize(1);
+        assertThat(result.clusters().get(0)).containsExactly(0, 1, 3);
+
+        float[] matrix = result.matrix();
+        assertThat(matrix[2]).isCloseTo(-1f, within(1e-6f));          // 0 vs 2
+        assertThat(matrix[2 * 6]).isEqualTo(matrix[2]);               // symmetric
+        assertThat(matrix[4]).isNaN();                                // flat series
+        assertThat(matrix[5]).isNaN();                                // two shared periods
+        // pairs with a defined correlation: 0,1,2,3 with each other
+        assertThat(result.pairsCompared()).isEqualTo(6);
+    }
+
+    @Test
+    void matchesPairwiseComputation() {
+        Random random = new Random(5);
+        int n = 300;
+        int periods = 24;
+        double[][] series = new double[n][periods];
+        // A few shared trends plus noise, so there are real clusters to find
+        double[][] trends = new double[5][periods];
+        for (double[] trend : trends) {
+            for (int p = 0; p < periods; p++) {
+                trend[p] = 50 + 30 * Math.sin(p * (0.2 + random.nextDouble()));
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            double[] trend = trends[random.nextInt(trends.length)];
+            double noise = random.nextInt(4) == 0 ? 25 : 3;
+            for (int p = 0; p < periods; p++) {
+                series[i][p] = random.nextInt(5) == 0 && i % 2 == 0
+                        ? Double.NaN
+                        : Math.round(trend[p] + noise * random.nextGaussian());
+            }
+        }
+
+        double threshold = 0.85;
+        ScoreCorrelation.Result result = ScoreCorrelation.compute(series, 6, threshold, 20, true, POOL);
+
+        int[] component = new int[n];
+        Arrays.setAll(component, i -> i);
+        List<Double> all = new ArrayList<>();
+        long compared = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double r = naive(series[i], series[j], 6);
+                if (Double.isNaN(r)) {
+                    assertThat(result.matrix()[i * n + j]).isNaN();
+                    continue;
+                }
+                compared++;
+                all.add(r);
+                assertThat((double) result.matrix()[i * n + j]).isCloseTo(r, within(1e-5));
+                if (r >= threshold) {
+                    merge(component, i, j);
+                }
+            }
+        }
+        assertThat(result.pairsCompared()).isEqualTo(compared);
+
+        all.sort((a, b) -> Double.compare(b, a));
+        assertThat(result.topPairs()).hasSize(20);
+        for (int k = 0; k < 20; k++) {
+            assertThat(result.topPairs().get(k).r()).isCloseTo(all.get(k), within(1e-9));
+        }
+
+        Set<Set<Integer>> expected = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            Set<Integer> members = new HashSet<>();
+            for (int j = 0; j < n; j++) {
+                if (root(component, j) == root(component, i)) {
+                    members.add(j);
+                }
+            }
+            if (members.size() > 1) {
+                expected.add(members);
+            }
+        }
+        Set<Set<Integer>> actual = new HashSet<>();
+        for (int[] cluster : result.clusters()) {
+            Set<Integer> members = new HashSet<>();
+            for (int member : cluster) {
+                members.add(member);
+            }
+            actual.add(members);
+        }
+        assertThat(expected).isNotEmpty();
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static double naive(double[] x, double[] y, int minOverlap) {
+        List<double[]> shared = new ArrayList<>();
+        for (int p = 0; p < x.length; p++) {
+            if (!Double.isNaN(x[p]) && !Double.isNaN(y[p])) {
+                shared.add(new double[]{x[p], y[p]});
+            }
+        }
+        if (shared.size() < minOverlap) {
+            return Double.NaN;
+        }
+        double mx = shared.stream().mapToDouble(v -> v[0]).average().orElseThrow();
+        double my = shared.stream().mapToDouble(v -> v[1]).average().orElseThrow();
+        double sxy = 0, sxx = 0, syy = 0;
+        for (double[] v : shared) {
+            sxy += (v[0] - mx) * (v[1] - my);
+            sxx += (v[0] - mx) * (v[0] - mx);
+            syy += (v[1] - my) * (v[1] - my);
+        }
+        return sxx == 0 || syy == 0 ? Double.NaN : sxy / Math.sqrt(sxx * syy);
+    }
+
+    private static int root(int[] parent, int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void merge(int[] parent, int a, int b) {
+        parent[root(parent, a)] = root(parent, b);
+    }
+}
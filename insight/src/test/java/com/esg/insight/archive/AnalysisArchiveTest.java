@@ -0,0 +1,50 @@
+package com.esg.insight.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Archiving refuses to start without a writable directory, since archived
+ * months exist nowhere else; with archiving off, no directory means nothing archived.
+ */
+class AnalysisArchiveTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void archivingRequiresAWritableDirectory() throws IOException {
+        assertThatThrownBy(() -> new AnalysisArchive("", true, objectMapper))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("esg.archive.dir");
+
+        Path file = Files.writeString(tmp.resolve("not-a-directory"), "x");
+        assertThatThrownBy(() -> new AnalysisArchive(file.resolve("archive").toString(), true, objectMapper))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not writable");
+
+        Path directory = tmp.resolve("archive");
+        new AnalysisArchive(directory.toString(), true, objectMapper);
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void withoutADirectoryNothingIsArchived() {
+        AnalysisArchive archive = new AnalysisArchive("", false, objectMapper);
+
+        assertThat(archive.archivedMonths()).isEmpty();
+        assertThat(archive.read(YearMonth.of(2024, 1), 1L)).isEmpty();
+        assertThatThrownBy(() -> archive.open(YearMonth.of(2024, 1))).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.esg.insight.config;
+
+import com.esg.insight.entity.ContentBlob;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a database holding inline news texts and payloads to the
+ * content-addressed esg_blobs layout and checks every row still reads back.
+ */
+class BlobMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrateWithInlineData() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).target("3").load().migrate();
+
+        // 3 companies; the same 10 articles and 4 payloads repeat across 300 analyses
+        jdbc.execute("""
+                INSERT INTO companies (name, sector, created_at)
+                SELECT 'Company ' || g, 'Energy', now() FROM generate_series(1, 3) g
+                """);
+        jdbc.execute("""
+                INSERT INTO esg_analyses (company_id, news_text, esg_score, risk_level, analysis_payload, created_at)
+                SELECT 1 + (g % 3),
+                       'Syndicated article ' || (g % 10) || ' — émissions ' || repeat('lorem ipsum ', 50),
+                       g % 100,
+                       'LOW',
+                       jsonb_build_object('analystSummary', 'summary ' || (g % 4)),
+                       now() - g * interval '1 hour'
+                FROM generate_series(1, 300) g
+                """);
+
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() {
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_analyses", Long.class)).isEqualTo(300L);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_blobs", Long.class)).isEqualTo(14L);
+        assertThat(jdbc.queryForList("""
+                SELECT column_name FROM information_schema.columns
+                WHERE table_name = 'esg_analyses' AND column_name IN ('news_text', 'analysis_payload')
+                """, String.class)).isEmpty();
+    }
+
+    @Test
+    void migratedRowsReadBackUnchanged() {
+        List<Map<String, Object>> rows = jdbc.queryForList("""
+                SELECT b.codec, b.raw_size, b.data
+                FROM esg_analyses a JOIN esg_blobs b ON b.id = a.news_text_blob_id
+                WHERE a.esg_score = 17
+                """);
+
+        assertThat(rows).isNotEmpty().allSatisfy(row -> {
+            String text = new String(ContentBlob.decode(
+                    ((Number) row.get("codec")).shortValue(), (byte[]) row.get("data"), (Integer) row.get("raw_size")
+            ), StandardCharsets.UTF_8);
+            assertThat(text).startsWith("Syndicated article 7 — émissions lorem ipsum");
+        });
+    }
+
+    @Test
+    void deflateRoundTripsAndSkipsIncompressibleInput() {
+        byte[] raw = ("Émissions de CO₂ " + "lorem ipsum ".repeat(200)).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = ContentBlob.deflate(raw);
+
+        assertThat(compressed).isNotNull().hasSizeLessThan(raw.length / 4);
+        assertThat(ContentBlob.decode(ContentBlob.CODEC_DEFLATE, compressed, raw.length)).isEqualTo(raw);
+        assertThat(ContentBlob.deflate("short".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package com.esg.insight.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A permit is held from checkout to close() and released exactly once,
+ * including when the pool or the connection itself fails.
+ */
+class BoundedDataSourceTest {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicBoolean poolFails = new AtomicBoolean();
+    private final AtomicBoolean closeFails = new AtomicBoolean();
+
+    @Test
+    void permitIsHeldUntilCloseAndReleasedOnce() throws Exception {
+        BoundedDataSource dataSource = new BoundedDataSource(pool(), 2, 1_000);
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // A waiter queues until a connection is closed
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertThat(waiter.isDone()).isFalse();
+        assertThat(dataSource.getQueueLength()).isEqualTo(1);
+
+        first.close();
+        first.close(); // a second close must not free a second permit
+        Connection third = waiter.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        second.close();
+        third.close();
+        assertThat(open.get()).isZero();
+    }
+
+    @Test
+    void failuresDoNotLeakPermits() throws Exception {
+        BoundedDataSource dataSource = new BoundedDataSource(pool(), 1, 100);
+
+        poolFails.set(true);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class).hasMessage("pool exhausted");
+        poolFails.set(false);
+
+        Connection connection = dataSource.getConnection();
+        closeFails.set(true);
+        assertThatThrownBy(connection::close).isInstanceOf(SQLException.class).hasMessage("socket closed");
+        closeFails.set(false);
+
+        dataSource.getConnection().close();
+        assertThat(dataSource.getQueueLength()).isZero();
+    }
+
+    /**
+     * Connections that only count how many are open; no database behind them.
+     */
+    private DataSource pool() {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (poolFails.get()) {
+                        throw new SQLException("pool exhausted");
+                    }
+                    open.incrementAndGet();
+                    return connection();
+                });
+    }
+
+    private Connection connection() {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        if (closeFails.get()) {
+                            throw new SQLException("socket closed");
+                        }
+                        if (closed.compareAndSet(false, true)) {
+                            open.decrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,175 @@
+package com.esg.insight.config;
+
+import com.esg.insight.archive.AnalysisArchive;
+import com.esg.insight.service.BlobStore;
+import com.esg.insight.service.PortfolioAnalyticsService;
+import com.esg.insight.service.PartitionService;
+import com.esg.insight.service.PayloadSnapshotCache;
+import com.esg.insight.service.ResourceVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Flyway migrations against an embedded PostgreSQL with a realistic
+ * amount of data and checks the planner actually picks the intended indexes.
+ */
+class SchemaIndexesTest {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("uuuuMM");
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    @TempDir
+    static Path archiveDir;
+
+    @BeforeAll
+    static void migrateAndSeed() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+
+        // 200 companies x 100 analyses over ~3 years from a month boundary up to about now;
+        // ids and timestamps grow together like in production
+        jdbc.execute("""
+                INSERT INTO companies (name, sector, created_at)
+                SELECT 'Company ' || g, 'Energy', now() FROM generate_series(1, 200) g
+                """);
+        jdbc.execute("""
+                INSERT INTO esg_blobs (hash, codec, raw_size, data)
+                SELECT sha256(convert_to(t, 'UTF8')), 0, length(t), convert_to(t, 'UTF8')
+                FROM (SELECT 'news ' || g AS t FROM generate_series(1, 20000) g UNION ALL SELECT '{}') texts
+                """);
+        jdbc.execute("""
+                INSERT INTO esg_analyses (company_id, news_text_blob_id, esg_score, risk_level, payload_blob_id, created_at)
+                SELECT 1 + (g % 200),
+                       (SELECT id FROM esg_blobs WHERE hash = sha256(convert_to('news ' || g, 'UTF8'))),
+                       s,
+                       CASE WHEN s < 30 THEN 'HIGH' WHEN s < 55 THEN 'MEDIUM' ELSE 'LOW' END,
+                       (SELECT id FROM esg_blobs WHERE hash = sha256(convert_to('{}', 'UTF8'))),
+                       date_trunc('month', now()) - interval '35 months' + g * interval '77 minutes'
+                FROM generate_series(1, 20000) g, LATERAL (SELECT (g * 37) % 100 AS s) score
+                """);
+        jdbc.execute("UPDATE esg_analyses SET duplicate_of_id = id - 1 WHERE id % 20 = 0");
+
+        // Rows older than the migration's partitions landed in the default partition; give them their months
+        new PartitionService(
+                jdbc,
+                new TransactionTemplate(new DataSourceTransactionManager(postgres.getPostgresDatabase())),
+                new AnalysisArchive(archiveDir.toString(), true, new ObjectMapper()),
+                new BlobStore(jdbc, null, new PayloadSnapshotCache(1024), 16),
+                new PortfolioAnalyticsService(jdbc, false),
+                new ResourceVersions(),
+                new ObjectMapper(),
+                3, false, 24, 24
+        ).runMaintenance();
+        jdbc.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void historyReadsCompanyIndex() {
+        String plan = explain("""
+                SELECT * FROM esg_analyses WHERE company_id = 42 ORDER BY created_at DESC
+                """);
+
+        // Index scan or bitmap scan + small sort are both fine on every full month; only the
+        // current, partly filled month and the empty future ones may be read sequentially
+        String current = "esg_analyses_p" + YearMonth.now().format(MONTH);
+        assertThat(plan).containsAnyOf(partitionIndexes("idx_esg_analyses_company_created"));
+        assertThat(plan.lines().filter(line -> line.contains("Seq Scan")
+                && !line.contains(current) && !line.contains("cost=0.00..0.00"))).isEmpty();
+    }
+
+    @Test
+    void riskAndScoreFilterUsesRiskScoreIndex() {
+        String plan = explain("""
+                SELECT id FROM esg_analyses WHERE risk_level = 'HIGH' AND esg_score BETWEEN 10 AND 12
+                """);
+
+        assertThat(plan).containsAnyOf(partitionIndexes("idx_esg_analyses_risk_score"));
+    }
+
+    @Test
+    void nearDuplicateRebuildOnlyScansRecentPartitions() {
+        String plan = explain("""
+                SELECT id, company_id, news_text_blob_id, created_at FROM esg_analyses
+                WHERE created_at >= now() - interval '30 days'
+                  AND id < 9223372036854775807
+                  AND duplicate_of_id IS NULL
+                ORDER BY id DESC LIMIT 500
+                """);
+
+        // The 30-day window is pruned to the last month or two; within those, the
+        // partition already is the range, so a scan of it is the expected plan
+        String older = "esg_analyses_p" + YearMonth.now().minusMonths(2).format(MONTH);
+        assertThat(plan).contains("esg_analyses_p" + YearMonth.now().format(MONTH))
+                .doesNotContain(older);
+    }
+
+    @Test
+    void startupCheckPassesOnMigratedSchemaAndFailsWhenAnIndexIsDropped() throws Exception {
+        new SchemaIndexCheck(jdbc, true).run(null);
+
+        jdbc.execute("DROP INDEX idx_esg_analyses_risk_score");
+        try {
+            assertThatThrownBy(() -> new SchemaIndexCheck(jdbc, true).run(null))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("idx_esg_analyses_risk_score");
+        } finally {
+            jdbc.execute("CREATE INDEX idx_esg_analyses_risk_score ON esg_analyses (risk_level, esg_score)");
+        }
+    }
+
+    @Test
+    void rowsLiveInMonthlyPartitionsAndRangesPrune() {
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_analyses_default", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_analyses", Long.class)).isEqualTo(20000L);
+
+        String plan = explain("""
+                SELECT * FROM esg_analyses
+                WHERE company_id = 42
+                  AND created_at >= date_trunc('month', now()) - interval '2 months'
+                  AND created_at < date_trunc('month', now())
+                ORDER BY created_at DESC
+                """);
+
+        assertThat(plan.lines().filter(line -> line.matches(".* on esg_analyses_p\\d{6} .*"))).hasSize(2);
+    }
+
+    /**
+     * Plans name the per-partition indexes, not the partitioned parent index.
+     */
+    private static String[] partitionIndexes(String parentIndex) {
+        return jdbc.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                """, String.class, parentIndex).toArray(String[]::new);
+    }
+
+    private static String explain(String sql) {
+        List<String> lines = jdbc.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,116 @@
+package com.esg.insight.controller;
+
+import com.esg.insight.security.JwtUtil;
+import com.esg.insight.service.BlobStore;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Large history responses are gzipped by the server while still carrying an
+ * ETag, and that ETag still answers a conditional request with 304.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HistoryCompressionTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("DB_URL", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("DB_USERNAME", () -> "postgres");
+        registry.add("DB_PASSWORD", () -> "postgres");
+        registry.add("JWT_SECRET", () -> "history-compression-test-secret-0123456789abcdef0123456789");
+        registry.add("SEARCH_INDEX_DIR", () -> tempDir("search"));
+        registry.add("ARCHIVE_DIR", () -> tempDir("archive"));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    BlobStore blobStore;
+
+    @Autowired
+    TransactionTemplate transactions;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void historyIsGzippedAndRevalidatedWithItsETag() throws Exception {
+        Long companyId = jdbc.queryForObject(
+                "INSERT INTO companies (name, sector, created_at) VALUES ('Drill Co', 'Energy', now()) RETURNING id",
+                Long.class);
+        for (int i = 0; i < 20; i++) {
+            String summary = "Quarter " + i + ": offshore expansion raises spill exposure; governance steady.";
+            transactions.executeWithoutResult(status -> jdbc.update("""
+                    INSERT INTO esg_analyses (company_id, news_text_blob_id, esg_score, risk_level, payload_blob_id, created_at)
+                    VALUES (?, ?, 45, 'MEDIUM', ?, clock_timestamp())
+                    """, companyId, blobStore.put("Drill Co news " + summary).getId(),
+                    blobStore.putPayload("{\"overallAssessment\":{\"esgScore\":45,\"riskLevel\":\"MEDIUM\"},"
+                            + "\"analystSummary\":\"" + summary + "\"}", companyId).getId()));
+        }
+        String token = "Bearer " + jwtUtil.generateToken("admin@example.com", "ADMIN");
+        URI history = URI.create("http://localhost:" + port + "/api/esg/history/" + companyId);
+
+        HttpResponse<byte[]> gzipped = http.send(HttpRequest.newBuilder(history)
+                .header("Authorization", token)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(gzipped.statusCode()).isEqualTo(200);
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        String etag = gzipped.headers().firstValue("ETag").orElseThrow();
+        assertThat(etag).startsWith("W/\"company-" + companyId + "-");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertThat(new String(body.readAllBytes())).contains("Quarter 19");
+        }
+
+        // The same validator covers the identity encoding
+        HttpResponse<byte[]> notModified = http.send(HttpRequest.newBuilder(history)
+                .header("Authorization", token)
+                .header("Accept", "application/json")
+                .header("If-None-Match", etag)
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(notModified.statusCode()).isEqualTo(304);
+    }
+
+    private static String tempDir(String name) {
+        try {
+            return Files.createTempDirectory("history-compression-" + name).toString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.esg.insight.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation per analysis on the AI response path: bind the response, read
+ * the score, write the payload back out (storage and history responses).
+ * The typed records must keep the JSON shape and allocate clearly less than
+ * the Map&lt;String, Object&gt; binding they replaced; the measured bytes per
+ * operation are printed so the comparison can be rerun.
+ */
+class ESGAnalysisPayloadAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 50_000;
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+    private final byte[] response = aiResponse().getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void typedPayloadKeepsTheWireShape() throws IOException {
+        ESGAnalysisPayload payload = mapper.readValue(response, ESGAnalysisPayload.class);
+
+        assertThat(payload.keyIncidents()).hasSize(6);
+        assertThat(payload.pillarAssessment().governance().drivers()).containsExactly("board", "audit");
+        assertThat(mapper.readTree(mapper.writeValueAsBytes(payload))).isEqualTo(mapper.readTree(response));
+    }
+
+    @Test
+    void typedPayloadAllocatesLessThanMaps() {
+        long typed = bytesPerOp(() -> {
+            ESGAnalysisPayload payload = mapper.readValue(response, ESGAnalysisPayload.class);
+            return payload.overallAssessment().esgScore() + mapper.writeValueAsBytes(payload).length;
+        });
+        long maps = bytesPerOp(() -> {
+            Map<String, Object> payload = mapper.readValue(response, MAP);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> overall = (Map<String, Object>) payload.get("overallAssessment");
+            return (Integer) overall.get("esgScore") + mapper.writeValueAsBytes(payload).length;
+        });
+
+        System.out.printf("AI payload bind + write (%d B response): typed %d B/op, Map %d B/op (%.0f%% less)%n",
+                response.length, typed, maps, 100.0 * (maps - typed) / maps);
+        assertThat(typed).isLessThan(maps * 8 / 10);
+    }
+
+    private interface Op {
+        int run() throws IOException;
+    }
+
+    /**
+     * Bytes allocated by the current thread per call, after a warm-up so the JIT has settled.
+     */
+    private static long bytesPerOp(Op op) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try {
+            long sink = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                sink += op.run();
+            }
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED; i++) {
+                sink += op.run();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            assertThat(sink).isPositive();
+            return allocated / MEASURED;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A typical response: all three pillars and six key incidents.
+     */
+    private static String aiResponse() {
+        List<String> incidents = List.of(
+                incident("E", "oil spill", "HIGH", "spill", "cleanup"),
+                incident("E", "emissions breach", "MEDIUM", "emissions"),
+                incident("S", "worker injury", "HIGH", "injury", "safety"),
+                incident("S", "labor strike", "MEDIUM", "strike"),
+                incident("G", "bribery probe", "HIGH", "bribery", "investigation"),
+                incident("G", "audit delay", "MEDIUM", "audit"));
+        return """
+                {"overallAssessment":{"esgScore":42,"riskLevel":"HIGH"},\
+                "pillarAssessment":{\
+                "E":{"score":35,"risk":"HIGH","drivers":["spill","emissions"]},\
+                "S":{"score":48,"risk":"MEDIUM","drivers":["injury","strike"]},\
+                "G":{"score":44,"risk":"HIGH","drivers":["board","audit"]}},\
+                "keyIncidents":[%s],\
+                "governanceAssessment":{"overallRisk":"HIGH","concerns":["bribery probe","delayed audit"]},\
+                "analystSummary":"Offshore spill and a bribery probe weigh on the rating; social risks are contained."}\
+                """.formatted(String.join(",", incidents));
+    }
+
+    private static String incident(String pillar, String incident, String severity, String... evidence) {
+        return """
+                {"pillar":"%s","incident":"%s related issue","severity":"%s","evidence":["%s"]}\
+                """.formatted(pillar, incident, severity, String.join("\",\"", evidence));
+    }
+}
@@ -0,0 +1,105 @@
+package com.esg.insight.search;
+
+import com.esg.insight.entity.Company;
+import com.esg.insight.entity.ESGAnalysis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Analyses indexed and found again by text, filters and facets, and a
+ * rebuild that replaces documents in place without the index ever emptying.
+ */
+class AnalysisSearchIndexTest {
+
+    private static final LocalDateTime MARCH = LocalDateTime.of(2026, 3, 10, 9, 0);
+    private static final LocalDateTime APRIL = LocalDateTime.of(2026, 4, 2, 9, 0);
+
+    @TempDir
+    Path indexDir;
+
+    private AnalysisSearchIndex index;
+    private final Company drill = Company.builder().id(1L).name("Drill Co").sector("Energy").build();
+    private final Company chip = Company.builder().id(2L).name("Chip Co").sector("Technology").build();
+
+    @BeforeEach
+    void open() throws IOException {
+        index = new AnalysisSearchIndex(indexDir.toString(), 60_000);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void indexedAnalysesAreFoundByTextFiltersAndFacets() {
+        index.index(analysis(10L, "Offshore oil spill near the coast", "Spill raises environmental risk", "HIGH", 30, MARCH), drill);
+        index.index(analysis(11L, "New pipeline approved", "Permitting progress", "MEDIUM", 55, APRIL), drill);
+        index.index(analysis(12L, "Supplier audit finds forced labour", "Supply chain labour risk", "HIGH", 35, APRIL), chip);
+
+        AnalysisSearchIndex.Result spill = index.search("spill", null, null, null, null, 0, 10, 10);
+        assertThat(spill.totalHits()).isEqualTo(1);
+        AnalysisSearchIndex.Hit hit = spill.hits().get(0);
+        assertThat(hit.analysisId()).isEqualTo(10L);
+        assertThat(hit.companyName()).isEqualTo("Drill Co");
+        assertThat(hit.esgScore()).isEqualTo(30);
+        assertThat(hit.riskLevel()).isEqualTo("HIGH");
+        assertThat(hit.timestamp()).isEqualTo(MARCH);
+
+        // Without text: newest first, filters applied, facets over every match
+        AnalysisSearchIndex.Result high = index.search(null, "high", null, null, null, 0, 10, 10);
+        assertThat(high.hits()).extracting(AnalysisSearchIndex.Hit::analysisId).containsExactly(12L, 10L);
+        assertThat(high.facets().get(AnalysisSearchIndex.FACET_SECTOR)).containsEntry("Energy", 1L).containsEntry("Technology", 1L);
+        assertThat(high.facets().get(AnalysisSearchIndex.FACET_MONTH)).containsEntry("2026-03", 1L).containsEntry("2026-04", 1L);
+
+        assertThat(index.search(null, null, "energy", APRIL, null, 0, 10, 10).hits())
+                .extracting(AnalysisSearchIndex.Hit::analysisId).containsExactly(11L);
+        assertThat(index.search("\"drill co\"", null, null, null, null, 0, 10, 10).totalHits()).isEqualTo(2);
+
+        index.deleteCompany(1L);
+        assertThat(index.search(null, null, null, null, null, 0, 10, 10).hits())
+                .extracting(AnalysisSearchIndex.Hit::analysisId).containsExactly(12L);
+    }
+
+    @Test
+    void rebuildReplacesDocumentsInPlaceAndDropsOnlyStaleOnes() {
+        index.index(analysis(10L, "Offshore oil spill", "Old summary", "HIGH", 30, MARCH), drill);
+        index.index(analysis(11L, "Pipeline approved", "Permitting progress", "MEDIUM", 55, APRIL), drill);
+        index.index(analysis(12L, "Analysis deleted since", "Gone", "LOW", 80, APRIL), chip);
+
+        long generation = index.newGeneration();
+        index.index(analysis(10L, "Offshore oil spill", "Corrected summary", "HIGH", 30, MARCH), drill);
+        // Mid-rebuild, every analysis is still searchable
+        assertThat(index.documentCount()).isEqualTo(3);
+        assertThat(index.search(null, null, null, null, null, 0, 10, 10).totalHits()).isEqualTo(3);
+        // Written by the incremental feed while the rebuild runs
+        index.index(analysis(13L, "Fresh article", "Arrived during the rebuild", "LOW", 75, APRIL), chip);
+        index.index(analysis(11L, "Pipeline approved", "Permitting progress", "MEDIUM", 55, APRIL), drill);
+
+        index.deleteBefore(generation);
+
+        AnalysisSearchIndex.Result all = index.search(null, null, null, null, null, 0, 10, 10);
+        assertThat(all.hits()).extracting(AnalysisSearchIndex.Hit::analysisId).containsExactlyInAnyOrder(10L, 11L, 13L);
+        assertThat(index.search("corrected", null, null, null, null, 0, 10, 10).totalHits()).isEqualTo(1);
+        assertThat(index.search("old", null, null, null, null, 0, 10, 10).totalHits()).isZero();
+    }
+
+    private static ESGAnalysis analysis(Long id, String newsText, String summary, String risk, int score, LocalDateTime at) {
+        return ESGAnalysis.builder()
+                .id(id)
+                .newsText(newsText)
+                .analystSummary(summary)
+                .riskLevel(risk)
+                .esgScore(score)
+                .createdAt(at)
+                .build();
+    }
+}
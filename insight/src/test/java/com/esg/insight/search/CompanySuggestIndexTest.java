@@ -0,0 +1,77 @@
+package com.esg.insight.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Folding, multi-term matching, ranking and keeping up with writes.
+ */
+class CompanySuggestIndexTest {
+
+    @Test
+    void foldsAccentsCaseAndPunctuation() {
+        assertThat(CompanySuggestIndex.fold("  Société-Générale S.A. ")).isEqualTo("societe generale s a");
+
+        CompanySuggestIndex index = new CompanySuggestIndex();
+        index.put(new CompanySuggestIndex.Entry(1, "Société Générale", "Banking", "France"));
+        index.put(new CompanySuggestIndex.Entry(2, "Nestlé", "Consumer Goods", "Switzerland"));
+
+        assertThat(ids(index.suggest("SOC", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("gén", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("nestle", 10))).containsExactly(2L);
+        assertThat(index.suggest("  -- ", 10)).isEmpty();
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        CompanySuggestIndex index = new CompanySuggestIndex();
+        index.put(new CompanySuggestIndex.Entry(1, "Shell", "Energy", "Netherlands"));
+        index.put(new CompanySuggestIndex.Entry(2, "Siemens Energy", "Energy", "Germany"));
+        index.put(new CompanySuggestIndex.Entry(3, "Siemens", "Industrials", "Germany"));
+
+        assertThat(ids(index.suggest("energy ger", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("sie ind", 10))).containsExactly(3L);
+        assertThat(index.suggest("shell germany", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksNamesAboveSectorAndExactAbovePrefix() {
+        CompanySuggestIndex index = new CompanySuggestIndex();
+        index.put(new CompanySuggestIndex.Entry(1, "Acme Solar", "Energy", "US"));
+        index.put(new CompanySuggestIndex.Entry(2, "Solaris Holdings", "Utilities", "US"));
+        index.put(new CompanySuggestIndex.Entry(3, "Bright Co", "Solar", "US"));
+        index.put(new CompanySuggestIndex.Entry(4, "Solar", "Energy", "US"));
+        index.put(new CompanySuggestIndex.Entry(5, "Solar Power Corp", "Energy", "US"));
+
+        // whole name, then names starting with the query, then a later name word, then sector
+        assertThat(ids(index.suggest("solar", 10))).containsExactly(4L, 5L, 2L, 1L, 3L);
+        assertThat(ids(index.suggest("solar", 2))).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void followsWritesIncludingMemoisedQueries() {
+        CompanySuggestIndex index = new CompanySuggestIndex();
+        index.put(new CompanySuggestIndex.Entry(1, "Orsted", "Energy", "Denmark"));
+        assertThat(ids(index.suggest("o", 10))).containsExactly(1L);
+
+        index.put(new CompanySuggestIndex.Entry(2, "Oracle", "Technology", "US"));
+        assertThat(ids(index.suggest("o", 10))).containsExactly(2L, 1L);
+
+        // Renaming replaces the old tokens
+        index.put(new CompanySuggestIndex.Entry(1, "Dong Offshore", "Energy", "Denmark"));
+        assertThat(index.suggest("orsted", 10)).isEmpty();
+        assertThat(ids(index.suggest("offsh", 10))).containsExactly(1L);
+
+        assertThat(index.remove(2)).isTrue();
+        assertThat(index.remove(2)).isFalse();
+        assertThat(ids(index.suggest("o", 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private static List<Long> ids(List<CompanySuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(s -> s.company().id()).toList();
+    }
+}
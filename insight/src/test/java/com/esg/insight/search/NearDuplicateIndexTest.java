@@ -0,0 +1,124 @@
+package com.esg.insight.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fingerprints exactly at the configured distance are always found, however
+ * the differing bits fall across bands, and one bit more never is.
+ */
+class NearDuplicateIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 1, 12, 0);
+
+    @Test
+    void findsEveryFingerprintAtTheMaximumDistanceAndNoneBeyond() {
+        Random random = new Random(7);
+        for (double similarity : new double[]{1.0, 0.95, 0.9, 0.85, 0.8, 1 - 15.0 / 64}) {
+            NearDuplicateIndex index = new NearDuplicateIndex(similarity, 10_000);
+            int maxDistance = index.getMaxDistance();
+            for (int trial = 0; trial < 200; trial++) {
+                long fingerprint = random.nextLong();
+                index.add(new NearDuplicateIndex.Entry(1L, trial, fingerprint, NOW));
+
+                assertThat(index.findNearest(1L, flip(fingerprint, maxDistance, random), null))
+                        .as("similarity %s, %d bits", similarity, maxDistance)
+                        .isNotNull()
+                        .extracting(NearDuplicateIndex.Entry::analysisId).isEqualTo((long) trial);
+                assertThat(index.findNearest(1L, flip(fingerprint, maxDistance + 1, random), null)).isNull();
+            }
+        }
+    }
+
+    @Test
+    void oneDifferingBitInEveryBandButOneIsStillFound() {
+        NearDuplicateIndex index = new NearDuplicateIndex(0.9, 100);
+        int maxDistance = index.getMaxDistance(); // 6 bits, 7 bands of 9 or more bits
+        int bandBits = SimHash.BITS / (maxDistance + 1);
+        long fingerprint = 0x5deece66dL * 0x9e3779b97f4a7c15L;
+        index.add(new NearDuplicateIndex.Entry(1L, 1L, fingerprint, NOW));
+
+        for (int untouched = 0; untouched <= maxDistance; untouched++) {
+            long probe = fingerprint;
+            for (int band = 0; band <= maxDistance; band++) {
+                if (band != untouched) {
+                    probe ^= 1L << (band * bandBits);
+                }
+            }
+            assertThat(SimHash.distance(fingerprint, probe)).isEqualTo(maxDistance);
+            assertThat(index.findNearest(1L, probe, null)).as("band %d untouched", untouched).isNotNull();
+        }
+    }
+
+    @Test
+    void matchesStayWithinTheCompanyAndAgeWindowAndPreferTheClosest() {
+        NearDuplicateIndex index = new NearDuplicateIndex(0.9, 3);
+        long fingerprint = 0x0123456789abcdefL;
+        index.add(new NearDuplicateIndex.Entry(1L, 1L, fingerprint ^ 0b111, NOW.minusDays(40)));
+        index.add(new NearDuplicateIndex.Entry(1L, 2L, fingerprint ^ 0b11, NOW));
+        index.add(new NearDuplicateIndex.Entry(2L, 3L, fingerprint, NOW));
+
+        assertThat(index.findNearest(1L, fingerprint, null).analysisId()).isEqualTo(2L);
+        assertThat(index.findNearest(1L, fingerprint ^ 0b100, null).analysisId()).isEqualTo(1L);
+        assertThat(index.findNearest(1L, fingerprint ^ 0b100, NOW.minusDays(30)).analysisId()).isEqualTo(2L);
+        assertThat(index.findNearest(3L, fingerprint, null)).isNull();
+
+        // Oldest entry is evicted past maxEntries; a deleted company's entries go at once
+        index.add(new NearDuplicateIndex.Entry(1L, 4L, ~fingerprint, NOW));
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.findNearest(1L, fingerprint ^ 0b100, null).analysisId()).isEqualTo(2L);
+        index.removeCompany(2L);
+        assertThat(index.findNearest(2L, fingerprint, null)).isNull();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsThresholdsTheBandsCannotGuarantee() {
+        assertThatThrownBy(() -> new NearDuplicateIndex(0.75, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("15 differing bits");
+        assertThatThrownBy(() -> new NearDuplicateIndex(0, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new NearDuplicateIndex(1 - 15.0 / 64, 100).getMaxDistance()).isEqualTo(15);
+    }
+
+    @Test
+    void similarTextsGetCloseFingerprints() {
+        String article = "Drill Co reported an offshore oil spill near the northern coast on Monday, "
+                + "regulators opened an investigation and the company suspended two platforms while "
+                + "cleanup crews contained the slick and local fishing was halted for the week";
+        String reformatted = article.toUpperCase().replace(",", " -") + "!";
+        String reworded = article.replace("Monday", "Tuesday");
+        String unrelated = "Chip Co announced record quarterly revenue driven by data centre demand, "
+                + "raised its full year guidance and approved a new share buyback programme worth "
+                + "two billion dollars as gross margins expanded across every product segment";
+
+        long original = SimHash.fingerprint(SimHash.tokenize(article));
+        // Case and punctuation are ignored; one changed word moves a few bits, an unrelated text about half
+        assertThat(SimHash.fingerprint(SimHash.tokenize(reformatted))).isEqualTo(original);
+        assertThat(SimHash.similarity(original, SimHash.fingerprint(SimHash.tokenize(reworded)))).isBetween(0.8, 1.0);
+        assertThat(SimHash.similarity(original, SimHash.fingerprint(SimHash.tokenize(unrelated)))).isLessThan(0.7);
+    }
+
+    /**
+     * {@code fingerprint} with exactly {@code bits} randomly chosen bits flipped.
+     */
+    private static long flip(long fingerprint, int bits, Random random) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < SimHash.BITS; i++) {
+            positions.add(i);
+        }
+        Collections.shuffle(positions, random);
+        for (int i = 0; i < bits; i++) {
+            fingerprint ^= 1L << positions.get(i);
+        }
+        return fingerprint;
+    }
+}
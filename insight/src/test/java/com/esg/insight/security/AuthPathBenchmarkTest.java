@@ -0,0 +1,109 @@
+package com.esg.insight.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost per request of the JwtAuthFilter token path: the old path (validate,
+ * then extract email and role, each building its own parser), one parse with
+ * the cached parser, that parse plus the revocation check against 110k
+ * revocations, and the check alone. The measured times per token are printed
+ * so the comparison can be rerun.
+ */
+class AuthPathBenchmarkTest {
+
+    private static final String SECRET = "auth-path-benchmark-secret-0123456789abcdef0123456789";
+    private static final int REVOCATIONS = 110_000;
+    private static final int TOKENS = 256;
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000L);
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void parsingOnceWithTheCachedParserAndCheckingRevocationBeatsTheOldPath() {
+        String[] tokens = new String[TOKENS];
+        Claims[] claims = new Claims[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken("analyst" + i + "@example.com", "ANALYST");
+            claims[i] = jwtUtil.parseClaims(tokens[i]);
+        }
+        RevocationList revocations = new RevocationList(2 * REVOCATIONS, 0.01);
+        for (int i = 0; i < REVOCATIONS; i++) {
+            revocations.revokeToken(UUID.randomUUID().toString(), Long.MAX_VALUE);
+        }
+
+        double oldPath = nanosPerOp(2_000, 5_000, i -> {
+            String token = tokens[i % TOKENS];
+            if (!legacyValid(token)) {
+                return 0;
+            }
+            return legacyClaims(token).getSubject().length() + legacyClaims(token).get("role", String.class).length();
+        });
+        double parse = nanosPerOp(20_000, 50_000, i -> {
+            Claims parsed = jwtUtil.parseClaims(tokens[i % TOKENS]);
+            return parsed.getSubject().length() + parsed.get("role", String.class).length();
+        });
+        double parseAndCheck = nanosPerOp(20_000, 50_000, i -> {
+            Claims parsed = jwtUtil.parseClaims(tokens[i % TOKENS]);
+            return isRevoked(revocations, parsed) ? 0 : parsed.getSubject().length();
+        });
+        double check = nanosPerOp(200_000, 2_000_000, i -> isRevoked(revocations, claims[i % TOKENS]) ? 0 : 1);
+
+        System.out.printf("Auth path per token: old %.1f us, parse %.1f us, parse + check (%d revocations) %.1f us, "
+                        + "check alone %.0f ns%n",
+                oldPath / 1_000, parse / 1_000, REVOCATIONS, parseAndCheck / 1_000, check);
+        assertThat(parse).isLessThan(oldPath / 2);
+        assertThat(check).isLessThan(parse / 10);
+    }
+
+    // Same call as TokenRevocationService#isRevoked makes on its current list
+    private static boolean isRevoked(RevocationList list, Claims claims) {
+        return list.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt().getTime() / 1000);
+    }
+
+    // ===============================
+    // OLD PATH: A NEW PARSER PER CALL
+    // ===============================
+    private boolean legacyValid(String token) {
+        try {
+            legacyClaims(token);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    /**
+     * Wall-clock nanoseconds per call on the current thread, after a warm-up so the JIT has settled.
+     */
+    private static double nanosPerOp(int warmup, int measured, ToIntFunction<Integer> op) {
+        long sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += op.applyAsInt(i);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < measured; i++) {
+            sink += op.applyAsInt(i);
+        }
+        long elapsed = System.nanoTime() - started;
+        assertThat(sink).isPositive();
+        return (double) elapsed / measured;
+    }
+}
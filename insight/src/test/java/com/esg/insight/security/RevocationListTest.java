@@ -0,0 +1,59 @@
+package com.esg.insight.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationListTest {
+
+    @Test
+    void revokedTokensAreAlwaysFoundAndOthersNever() {
+        RevocationList list = new RevocationList(20_000, 0.01);
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String id = UUID.randomUUID().toString();
+            revoked.add(id);
+            list.revokeToken(id, Long.MAX_VALUE);
+        }
+
+        assertThat(revoked).allMatch(id -> list.isRevoked(id, "someone@example.com", 0));
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(list.isRevoked(UUID.randomUUID().toString(), "someone@example.com", 0)).isFalse();
+        }
+        assertThat(list.isFull()).isFalse();
+    }
+
+    @Test
+    void filterFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put("token-" + i, 1);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 200_000; i++) {
+            if (filter.mightContain("other-" + i, 1)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 200_000.0).isLessThan(0.015);
+    }
+
+    @Test
+    void subjectRevocationCoversTokensIssuedUpToItsSecond() {
+        RevocationList list = new RevocationList(1_024, 0.01);
+        list.revokeSubject("analyst@example.com", 1_000);
+
+        assertThat(list.isRevoked(null, "analyst@example.com", 999)).isTrue();
+        assertThat(list.isRevoked("any-id", "analyst@example.com", 1_000)).isTrue();
+        assertThat(list.isRevoked("any-id", "analyst@example.com", 1_001)).isFalse();
+        assertThat(list.isRevoked("any-id", "admin@example.com", 999)).isFalse();
+
+        // A later revocation moves the cutoff forward, never back
+        list.revokeSubject("analyst@example.com", 900);
+        assertThat(list.isRevoked(null, "analyst@example.com", 950)).isTrue();
+    }
+}
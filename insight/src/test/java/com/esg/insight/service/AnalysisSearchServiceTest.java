@@ -0,0 +1,36 @@
+package com.esg.insight.service;
+
+import com.esg.insight.search.AnalysisSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Paging stays within the result window; pages past it, including ones whose
+ * offset would overflow an int, are rejected as bad requests.
+ */
+class AnalysisSearchServiceTest {
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    void rejectsPagesBeyondTheResultWindow() throws IOException {
+        AnalysisSearchService service = new AnalysisSearchService(
+                new AnalysisSearchIndex(indexDir.toString(), 60_000), null, null);
+
+        assertThat(service.search("spill", null, null, null, null, 99, 100).getHits()).isEmpty();
+        assertThatThrownBy(() -> service.search("spill", null, null, null, null, 100, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search("spill", null, null, null, null, Integer.MAX_VALUE / 10, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("first 10000 results");
+        assertThatThrownBy(() -> service.search("spill", null, null, null, null, -1, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,132 @@
+package com.esg.insight.service;
+
+import com.esg.insight.entity.ContentBlob;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Successive payloads of one company stored as patch chains with periodic
+ * keyframes, read back exactly, and cleaned up link by link.
+ */
+class BlobStoreTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+    private static PayloadSnapshotCache snapshots;
+    private static BlobStore blobStore;
+    private static Long newsBlob;
+
+    @BeforeAll
+    static void migrate() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+        snapshots = new PayloadSnapshotCache(2);
+        blobStore = new BlobStore(jdbc, null, snapshots, 4);
+        jdbc.update("INSERT INTO companies (name, sector, created_at) VALUES ('Drill Co', 'Energy', now()), ('Chip Co', 'Technology', now())");
+        newsBlob = blobStore.store("Drill Co expands offshore drilling");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void storesPatchChainsWithKeyframes() {
+        List<String> payloads = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int version = 0; version < 10; version++) {
+            String json = payload(40 + version, version / 3);
+            payloads.add(json);
+            ids.add(record(1L, json));
+        }
+
+        assertThat(jdbc.queryForList(
+                "SELECT chain_length FROM esg_blobs WHERE id = ANY(?::bigint[]) ORDER BY id", Integer.class,
+                (Object) ids.toArray(Long[]::new)))
+                .containsExactly(0, 1, 2, 3, 0, 1, 2, 3, 0, 1);
+        assertThat(jdbc.queryForObject("SELECT codec FROM esg_blobs WHERE id = ?", Short.class, ids.get(2)))
+                .isIn(ContentBlob.CODEC_PATCH, ContentBlob.CODEC_PATCH_DEFLATE);
+        for (int version = 0; version < 10; version++) {
+            assertThat(blobStore.text(ids.get(version))).isEqualTo(payloads.get(version));
+        }
+        // Only the most recently rebuilt snapshots stay cached; evicted ones are rebuilt from the chain
+        assertThat(snapshots.size()).isEqualTo(2);
+        assertThat(blobStore.text(ids.get(3))).isEqualTo(payloads.get(3));
+
+        // Patches hold only the changed fields
+        Integer largestPatch = jdbc.queryForObject(
+                "SELECT max(raw_size) FROM esg_blobs WHERE codec IN (2, 3) AND id = ANY(?::bigint[])", Integer.class,
+                (Object) ids.toArray(Long[]::new));
+        assertThat(largestPatch).isLessThan(payloads.get(0).length() / 3);
+
+        // Identical content is still found by hash, whatever its encoding
+        assertThat(blobStore.storePayload(payloads.get(6), 1L)).isEqualTo(ids.get(6));
+    }
+
+    @Test
+    void keepsSnapshotsWholeWhenAPatchCannotReproduceThem() {
+        String summary = "Steady quarter; no new incidents, disclosures unchanged, targets reaffirmed. ".repeat(3);
+        Long first = record(2L, "{\"overallAssessment\":{\"esgScore\":50},\"analystSummary\":\"" + summary + "\"}");
+        // Same members in another order: applying the patch would keep overallAssessment first
+        Long reordered = record(2L, "{\"analystSummary\":\"" + summary + "\",\"overallAssessment\":{\"esgScore\":51}}");
+
+        assertThat(jdbc.queryForObject("SELECT base_id FROM esg_blobs WHERE id = ?", Long.class, first)).isNull();
+        assertThat(jdbc.queryForObject("SELECT base_id FROM esg_blobs WHERE id = ?", Long.class, reordered)).isNull();
+        assertThat(blobStore.text(reordered)).startsWith("{\"analystSummary\"");
+    }
+
+    @Test
+    void orphanCleanupFollowsChains() {
+        long before = jdbc.queryForObject("SELECT count(*) FROM esg_blobs", Long.class);
+        jdbc.update("INSERT INTO companies (name, sector, created_at) VALUES ('Gone Co', 'Energy', now())");
+        Long companyId = jdbc.queryForObject("SELECT id FROM companies WHERE name = 'Gone Co'", Long.class);
+        for (int version = 0; version < 3; version++) {
+            record(companyId, payload(10 + version, 100 + version));
+        }
+        jdbc.update("UPDATE esg_blobs SET created_at = now() - interval '2 days'");
+
+        jdbc.update("DELETE FROM companies WHERE id = ?", companyId);
+
+        assertThat(blobStore.deleteOrphans()).isEqualTo(3);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_blobs", Long.class)).isEqualTo(before);
+    }
+
+    private static Long record(Long companyId, String json) {
+        Long payloadBlob = blobStore.storePayload(json, companyId);
+        jdbc.update("""
+                INSERT INTO esg_analyses (company_id, news_text_blob_id, esg_score, risk_level, payload_blob_id, created_at)
+                VALUES (?, ?, 50, 'MEDIUM', ?, clock_timestamp())
+                """, companyId, newsBlob, payloadBlob);
+        return payloadBlob;
+    }
+
+    /**
+     * A realistic snapshot: long texts that stay the same, a score and an incident that move.
+     */
+    static String payload(int score, int incident) {
+        return """
+                {"overallAssessment":{"esgScore":%d,"riskLevel":"MEDIUM"},\
+                "pillarAssessment":{"environmental":{"score":%d,"summary":"Emissions intensity is above the sector median; \
+                the offshore expansion adds flaring and spill exposure while the transition plan lacks interim targets."},\
+                "social":{"score":61,"summary":"Contractor safety record in line with peers; community consultation documented \
+                for new sites."},"governance":{"score":70,"summary":"Independent board majority; climate oversight sits \
+                with the audit committee."}},\
+                "keyIncidents":[{"pillar":"Environmental","incident":"spill %d related issue","severity":"HIGH",\
+                "evidence":["spill"]}],\
+                "governanceAssessment":{"boardIndependence":"HIGH","executivePay":"MEDIUM"},\
+                "analystSummary":"Expansion raises environmental risk; governance remains a relative strength."}\
+                """.formatted(score, score - 5, incident);
+    }
+}
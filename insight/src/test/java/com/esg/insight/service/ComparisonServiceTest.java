@@ -0,0 +1,135 @@
+package com.esg.insight.service;
+
+import com.esg.insight.dto.CompanySeries;
+import com.esg.insight.dto.CompareRequest;
+import com.esg.insight.dto.CompareResponse;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the batched comparison query against per-company series computed from the seeded rows.
+ */
+class ComparisonServiceTest {
+
+    private record Row(long companyId, LocalDateTime createdAt, int score, String risk) {
+    }
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static EmbeddedPostgres postgres;
+    private static ComparisonService service;
+    private static final List<Row> rows = new ArrayList<>();
+
+    @BeforeAll
+    static void migrateAndSeed() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+
+        jdbc.execute("""
+                INSERT INTO companies (name, sector, created_at)
+                SELECT 'Company ' || g, 'Energy', now() FROM generate_series(1, 4) g
+                """);
+        Long blobId = jdbc.queryForObject(
+                "INSERT INTO esg_blobs (hash, codec, raw_size, data) VALUES (sha256('x'), 0, 1, 'x') RETURNING id",
+                Long.class
+        );
+
+        // Company 4 has no analyses; company 3 only in the first month
+        Random random = new Random(5);
+        for (int i = 0; i < 600; i++) {
+            long company = 1 + random.nextInt(3);
+            LocalDateTime createdAt = START.plusMinutes(random.nextInt(company == 3 ? 31 * 24 * 60 : 120 * 24 * 60));
+            int score = random.nextInt(101);
+            String risk = score < 30 ? "HIGH" : score < 55 ? "MEDIUM" : "LOW";
+            rows.add(new Row(company, createdAt, score, risk));
+            jdbc.update("""
+                    INSERT INTO esg_analyses (company_id, news_text_blob_id, esg_score, risk_level, payload_blob_id, created_at)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """, company, blobId, score, risk, blobId, createdAt);
+        }
+        service = new ComparisonService(jdbc, 50, 1000);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void seriesAreAlignedOnEveryPeriodOfTheRange() {
+        LocalDateTime from = START.plusDays(10);
+        LocalDateTime to = START.plusDays(100);
+        CompareResponse response = service.compare(request(List.of(2L, 4L, 1L, 3L), from, to,
+                List.of("avg_score", "last_score", "analyses", "high_risk", "min_score", "max_score"), "month"));
+
+        assertThat(response.getPeriods()).containsExactly(
+                START, START.plusMonths(1), START.plusMonths(2), START.plusMonths(3));
+        assertThat(response.getCompanies()).extracting(CompanySeries::getCompanyId).containsExactly(2L, 4L, 1L, 3L);
+        assertThat(response.getCompanies().get(1).getSeries().get("avg_score")).containsOnlyNulls().hasSize(4);
+
+        for (CompanySeries company : response.getCompanies()) {
+            for (int p = 0; p < response.getPeriods().size(); p++) {
+                LocalDateTime periodStart = response.getPeriods().get(p);
+                LocalDateTime periodEnd = periodStart.plusMonths(1);
+                List<Row> inPeriod = rows.stream()
+                        .filter(r -> r.companyId() == company.getCompanyId())
+                        .filter(r -> !r.createdAt().isBefore(from) && r.createdAt().isBefore(to))
+                        .filter(r -> !r.createdAt().isBefore(periodStart) && r.createdAt().isBefore(periodEnd))
+                        .toList();
+                int period = p;
+                if (inPeriod.isEmpty()) {
+                    company.getSeries().values().forEach(values -> assertThat(values.get(period)).isNull());
+                    continue;
+                }
+                Row last = inPeriod.stream().max((a, b) -> a.createdAt().compareTo(b.createdAt())).orElseThrow();
+                double avg = inPeriod.stream().mapToInt(Row::score).average().orElseThrow();
+
+                assertThat(company.getSeries().get("avg_score").get(p).doubleValue()).isCloseTo(avg, within(0.005));
+                assertThat(company.getSeries().get("last_score").get(p)).isEqualTo(last.score());
+                assertThat(company.getSeries().get("analyses").get(p)).isEqualTo((long) inPeriod.size());
+                assertThat(company.getSeries().get("high_risk").get(p))
+                        .isEqualTo(inPeriod.stream().filter(r -> r.risk().equals("HIGH")).count());
+                assertThat(company.getSeries().get("min_score").get(p))
+                        .isEqualTo(inPeriod.stream().mapToInt(Row::score).min().orElseThrow());
+                assertThat(company.getSeries().get("max_score").get(p))
+                        .isEqualTo(inPeriod.stream().mapToInt(Row::score).max().orElseThrow());
+            }
+        }
+    }
+
+    @Test
+    void rejectsUnknownCompaniesAndOversizedRanges() {
+        assertThatThrownBy(() -> service.compare(request(List.of(1L, 99L), START, START.plusDays(5), null, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+        assertThatThrownBy(() -> service.compare(request(List.of(1L), START, START.plusYears(5), null, "day")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.compare(request(List.of(1L), START, START.plusDays(5), List.of("median"), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CompareRequest request(List<Long> ids, LocalDateTime from, LocalDateTime to, List<String> metrics, String interval) {
+        CompareRequest request = new CompareRequest();
+        request.setCompanyIds(ids);
+        request.setFrom(from);
+        request.setTo(to);
+        request.setMetrics(metrics);
+        request.setInterval(interval);
+        return request;
+    }
+}
@@ -0,0 +1,146 @@
+package com.esg.insight.service;
+
+import com.esg.insight.analytics.ScoreQuery;
+import com.esg.insight.archive.AnalysisArchive;
+import com.esg.insight.archive.ArchivedAnalysis;
+import com.esg.insight.entity.ContentBlob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archives the cold months of a seeded database and checks nothing is lost
+ * between the dropped partitions and the archive files, and that portfolio
+ * analytics follow the archival.
+ */
+class PartitionServiceTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    @TempDir
+    static Path archiveDir;
+
+    @BeforeAll
+    static void migrateAndSeed() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+
+        // 5 companies x ~600 analyses, one every 36 hours over the last 30 months
+        jdbc.execute("""
+                INSERT INTO companies (name, sector, created_at)
+                SELECT 'Company ' || g, 'Energy', now() FROM generate_series(1, 5) g
+                """);
+        // Texts stored raw as the V4 migration copies them, payloads DEFLATE-compressed as BlobStore writes them
+        for (int g = 1; g <= 600; g++) {
+            byte[] text = ("news " + g).getBytes(StandardCharsets.UTF_8);
+            byte[] payload = ("{\"analystSummary\":\"" + "summary ".repeat(40) + g + "\",\"extra\":" + g + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            Long textId = insertBlob(text, ContentBlob.CODEC_RAW, text);
+            Long payloadId = insertBlob(payload, ContentBlob.CODEC_DEFLATE, ContentBlob.deflate(payload));
+            jdbc.update("""
+                    INSERT INTO esg_analyses (company_id, news_text_blob_id, esg_score, risk_level, payload_blob_id, created_at)
+                    VALUES (?, ?, ?, 'LOW', ?, now() - ? * interval '36 hours')
+                    """, 1 + (g % 5), textId, g % 100, payloadId, g);
+        }
+        jdbc.execute("""
+                INSERT INTO esg_incidents (analysis_id, company_id, pillar, category, severity, incident, created_at)
+                SELECT id, company_id, 'E', 'spill', 'HIGH', 'spill related issue', created_at FROM esg_analyses
+                """);
+    }
+
+    private static Long insertBlob(byte[] raw, short codec, byte[] data) {
+        return jdbc.queryForObject(
+                "INSERT INTO esg_blobs (hash, codec, raw_size, data) VALUES (sha256(?), ?, ?, ?) RETURNING id",
+                Long.class, raw, codec, raw.length, data
+        );
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void coldMonthsAreArchivedVerifiedAndDropped() {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        AnalysisArchive archive = new AnalysisArchive(archiveDir.toString(), true, objectMapper);
+        PortfolioAnalyticsService analytics = new PortfolioAnalyticsService(jdbc, true);
+        analytics.load();
+        ScoreQuery everything = new ScoreQuery(null, null, null, null, null, List.of(), null);
+        PartitionService service = new PartitionService(
+                jdbc,
+                new TransactionTemplate(new DataSourceTransactionManager(postgres.getPostgresDatabase())),
+                archive,
+                new BlobStore(jdbc, null, new PayloadSnapshotCache(1024), 16),
+                analytics,
+                new ResourceVersions(),
+                objectMapper,
+                3, true, 24, 24
+        );
+
+        YearMonth cutoff = YearMonth.now().minusMonths(24);
+        long coldRows = jdbc.queryForObject(
+                "SELECT count(*) FROM esg_analyses WHERE created_at < ?::date", Long.class, cutoff.atDay(1).toString()
+        );
+        Long company3Cold = jdbc.queryForObject(
+                "SELECT count(*) FROM esg_analyses WHERE company_id = 3 AND created_at < ?::date",
+                Long.class, cutoff.atDay(1).toString()
+        );
+        long total = jdbc.queryForObject("SELECT count(*) FROM esg_analyses", Long.class);
+
+        assertThat(analytics.scores(everything).getMatchedRows()).isEqualTo(total);
+
+        Map<String, Object> result = service.runMaintenance();
+
+        assertThat(coldRows).isPositive();
+        assertThat((List<?>) result.get("archived")).isNotEmpty();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_analyses_default", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_analyses", Long.class)).isEqualTo(total - coldRows);
+        assertThat(archive.archivedMonths()).allMatch(month -> month.isBefore(cutoff));
+        assertThat(analytics.scores(everything).getMatchedRows()).isEqualTo(total - coldRows);
+        // Incidents of the dropped months go with them; no incident points at a missing analysis
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_incidents", Long.class)).isEqualTo(total - coldRows);
+        assertThat(jdbc.queryForObject("""
+                SELECT count(*) FROM esg_incidents i
+                WHERE NOT EXISTS (SELECT 1 FROM esg_analyses a WHERE a.id = i.analysis_id)
+                """, Long.class)).isZero();
+
+        long archivedRows = archive.archivedMonths().stream().mapToLong(archive::verify).sum();
+        assertThat(archivedRows).isEqualTo(coldRows);
+
+        List<ArchivedAnalysis> company3 = archive.archivedMonths().stream()
+                .flatMap(month -> archive.read(month, 3L).stream())
+                .toList();
+        assertThat(company3).hasSize(company3Cold.intValue()).allMatch(a -> a.companyId() == 3L);
+        assertThat(company3.get(0).analysisPayload().get("extra").isInt()).isTrue();
+        assertThat(company3.get(0).newsText()).startsWith("news ");
+
+        // The dropped months' blobs are only orphans once they are older than a day
+        jdbc.update("UPDATE esg_blobs SET created_at = created_at - interval '2 days'");
+        long blobsBefore = jdbc.queryForObject("SELECT count(*) FROM esg_blobs", Long.class);
+        assertThat(service.runMaintenance().get("orphanBlobsDeleted")).isEqualTo((int) (2 * coldRows));
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM esg_blobs", Long.class)).isEqualTo(blobsBefore - 2 * coldRows);
+
+        // Nothing left to archive on later passes
+        assertThat((List<?>) service.runMaintenance().get("archived")).isEmpty();
+    }
+}
@@ -0,0 +1,83 @@
+package com.esg.insight.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETags change only once the write behind them has committed, never on
+ * rollback, and each process issues its own.
+ */
+class ResourceVersionsTest {
+
+    private final TransactionTemplate transactions = new TransactionTemplate(new NoOpTransactionManager());
+
+    @Test
+    void versionsMoveAfterCommitOnly() {
+        ResourceVersions versions = new ResourceVersions();
+        String catalogue = versions.catalogueETag();
+        String company = versions.companyETag(7L);
+
+        transactions.executeWithoutResult(status -> {
+            versions.bumpCatalogueAfterCommit();
+            versions.bumpCompanyAfterCommit(7L);
+            // Readers inside the transaction still see the committed state
+            assertThat(versions.catalogueETag()).isEqualTo(catalogue);
+            assertThat(versions.companyETag(7L)).isEqualTo(company);
+        });
+        assertThat(versions.catalogueETag()).isNotEqualTo(catalogue);
+        assertThat(versions.companyETag(7L)).isNotEqualTo(company);
+
+        String committed = versions.companyETag(7L);
+        transactions.executeWithoutResult(status -> {
+            versions.bumpCompanyAfterCommit(7L);
+            status.setRollbackOnly();
+        });
+        assertThat(versions.companyETag(7L)).isEqualTo(committed);
+    }
+
+    @Test
+    void companiesAreVersionedIndependentlyAndBulkChangesMoveAll() {
+        ResourceVersions versions = new ResourceVersions();
+        String other = versions.companyETag(8L);
+
+        // Outside a transaction the bump applies at once
+        versions.bumpCompanyAfterCommit(7L);
+        assertThat(versions.companyETag(8L)).isEqualTo(other);
+
+        String catalogue = versions.catalogueETag();
+        transactions.executeWithoutResult(status -> versions.bumpAllAfterCommit());
+        assertThat(versions.companyETag(8L)).isNotEqualTo(other);
+        assertThat(versions.catalogueETag()).isNotEqualTo(catalogue);
+
+        // A restarted process never reissues an earlier ETag
+        assertThat(new ResourceVersions().catalogueETag()).isNotEqualTo(new ResourceVersions().catalogueETag());
+    }
+
+    /**
+     * Runs the transaction synchronizations without any resource behind them.
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.esg.insight.service;
+
+import com.esg.insight.dto.RescoreStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishing new thresholds and re-scoring history spread over several
+ * partitions, in chunks smaller than a partition and on two workers.
+ */
+class RiskRescoringServiceTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+    private static ESGScoreEngine engine;
+
+    @BeforeAll
+    static void seed() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        engine = new ESGScoreEngine(jdbc, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+
+        jdbc.update("INSERT INTO companies (name, sector, created_at) VALUES ('Drill Co', 'Energy', now()), ('Chip Co', 'Technology', now())");
+        Long blob = jdbc.queryForObject(
+                "INSERT INTO esg_blobs (hash, codec, raw_size, data) VALUES (sha256('x'), 0, 1, 'x') RETURNING id", Long.class);
+        // Scores 0..99 for both companies, a few days apart, labelled with version 1
+        for (int score = 0; score < 100; score++) {
+            for (long companyId = 1; companyId <= 2; companyId++) {
+                jdbc.update("""
+                        INSERT INTO esg_analyses (company_id, news_text_blob_id, esg_score, risk_level, payload_blob_id, created_at)
+                        VALUES (?, ?, ?, ?, ?, now() - ? * interval '4 days')
+                        """, companyId, blob, score, engine.calculateRiskLevel(null, score), blob, score);
+            }
+        }
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void rescoresEveryPartitionWithTheNewVersion() {
+        assertThat(engine.thresholds().version()).isEqualTo(1);
+        assertThat(engine.calculateRiskLevel("Energy", 29)).isEqualTo("HIGH");
+        assertThat(engine.calculateRiskLevel("Energy", 30)).isEqualTo("MEDIUM");
+        assertThat(engine.calculateRiskLevel("Energy", 55)).isEqualTo("LOW");
+
+        ESGScoreEngine.Thresholds v2 = engine.publish(
+                new ESGScoreEngine.Band(40, 60), Map.of("ENERGY", new ESGScoreEngine.Band(20, 50)), "admin@example.com", "test");
+        assertThat(v2.version()).isEqualTo(2);
+
+        RiskRescoringService service = new RiskRescoringService(
+                jdbc, engine, new PortfolioAnalyticsService(jdbc, false), new LeaderboardService(jdbc, 100),
+                new ResourceVersions(), 7, 2, 60);
+        RescoreStatus status = service.runNow();
+
+        assertThat(status.getState()).isEqualTo("completed");
+        assertThat(status.getVersion()).isEqualTo(2);
+        assertThat(status.getPartitionsTotal()).isGreaterThan(1);
+        assertThat(status.getPartitionsDone()).isEqualTo(status.getPartitionsTotal());
+        assertThat(status.getRowsScanned()).isEqualTo(200);
+        // Energy: 20..29 become MEDIUM, 50..54 LOW; Technology: 30..39 HIGH, 55..59 MEDIUM
+        assertThat(status.getRowsChanged()).isEqualTo(30);
+
+        List<Map<String, Object>> rows = jdbc.queryForList("""
+                SELECT c.sector, a.esg_score, a.risk_level
+                FROM esg_analyses a JOIN companies c ON c.id = a.company_id
+                """);
+        assertThat(rows).hasSize(200).allSatisfy(row -> assertThat(row.get("risk_level"))
+                .isEqualTo(v2.classify((String) row.get("sector"), (Integer) row.get("esg_score"))));
+
+        // Nothing left to change
+        assertThat(service.runNow().getRowsChanged()).isZero();
+    }
+}
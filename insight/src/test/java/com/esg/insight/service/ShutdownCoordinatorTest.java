@@ -0,0 +1,101 @@
+package com.esg.insight.service;
+
+import com.esg.insight.exception.ServiceDrainingException;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * One instance draining with an analysis that finishes in time and one that
+ * does not, and the next instance picking up the checkpoint.
+ */
+class ShutdownCoordinatorTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbc.update("INSERT INTO companies (name, sector, created_at) VALUES ('Drill Co', 'Energy', now())");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void drainsCheckpointsAndResumes() throws Exception {
+        ShutdownCoordinator stopping = coordinator();
+        ShutdownCoordinator.Ticket quick = stopping.admit(1L, "finishes during the drain");
+        ShutdownCoordinator.Ticket slow = stopping.admit(1L, "still waiting on the AI service");
+
+        Thread finisher = new Thread(() -> {
+            try (quick) {
+                Thread.sleep(100);
+                quick.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        finisher.start();
+
+        ShutdownCoordinator.DrainReport report = stopping.drain(1_000);
+        finisher.join();
+
+        assertThat(report.inFlightAtStart()).isEqualTo(2);
+        assertThat(report.completed()).isEqualTo(1);
+        assertThat(report.checkpointed()).isEqualTo(1);
+        assertThat(report.lost()).isZero();
+        assertThat(report.drainMillis()).isGreaterThanOrEqualTo(1_000);
+        assertThatThrownBy(() -> stopping.admit(1L, "too late"))
+                .isInstanceOf(ServiceDrainingException.class);
+        assertThat(jdbc.queryForList("SELECT news_text FROM pending_analyses", String.class))
+                .containsExactly("still waiting on the AI service");
+
+        // The slow call fails once the process goes away; its checkpoint stays
+        slow.close();
+
+        ShutdownCoordinator restarted = coordinator();
+        ShutdownCoordinator.Checkpoint checkpoint = restarted.claim();
+        assertThat(checkpoint.newsText()).isEqualTo("still waiting on the AI service");
+        assertThat(checkpoint.attempts()).isEqualTo(1);
+        assertThat(coordinator().claim()).isNull(); // claimed by the other instance
+
+        // A failed attempt releases the claim, a successful one removes the row
+        restarted.admit(checkpoint).close();
+        ShutdownCoordinator.Checkpoint again = restarted.claim();
+        assertThat(again.attempts()).isEqualTo(2);
+        try (ShutdownCoordinator.Ticket ticket = restarted.admit(again)) {
+            ticket.complete();
+        }
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM pending_analyses", Integer.class)).isZero();
+    }
+
+    @Test
+    void dropsCheckpointsThatKeepFailing() {
+        jdbc.update("INSERT INTO pending_analyses (company_id, news_text) VALUES (1, 'never works')");
+        ShutdownCoordinator coordinator = coordinator();
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            coordinator.admit(coordinator.claim()).close();
+        }
+        assertThat(coordinator.claim()).isNull();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM pending_analyses", Integer.class)).isZero();
+    }
+
+    private static ShutdownCoordinator coordinator() {
+        return new ShutdownCoordinator(jdbc, Duration.ofSeconds(5), 30, 600, 2);
+    }
+}
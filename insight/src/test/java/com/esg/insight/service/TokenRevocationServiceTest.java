@@ -0,0 +1,84 @@
+package com.esg.insight.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two instances sharing token_revocations: revocations made on one reach
+ * the other on its next refresh, and expired rows are purged.
+ */
+class TokenRevocationServiceTest {
+
+    private static final long DAY_MS = 86_400_000L;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void revocationsReachOtherInstancesAndExpire() {
+        TokenRevocationService first = service();
+        TokenRevocationService second = service();
+
+        Claims loggedOut = claims("analyst@example.com", System.currentTimeMillis() - 60_000);
+        Claims stillValid = claims("analyst@example.com", System.currentTimeMillis() - 60_000);
+        assertThat(second.isRevoked(loggedOut)).isFalse();
+
+        first.revokeToken(loggedOut);
+        assertThat(first.isRevoked(loggedOut)).isTrue();
+        assertThat(second.isRevoked(loggedOut)).isFalse();
+
+        second.refresh();
+        assertThat(second.isRevoked(loggedOut)).isTrue();
+        assertThat(second.isRevoked(stillValid)).isFalse();
+
+        // Role change: every token issued so far, but not the next login
+        first.revokeUser("analyst@example.com");
+        second.refresh();
+        assertThat(second.isRevoked(stillValid)).isTrue();
+        assertThat(second.isRevoked(claims("analyst@example.com", System.currentTimeMillis() + 2_000))).isFalse();
+        assertThat(second.isRevoked(claims("admin@example.com", System.currentTimeMillis() - 60_000))).isFalse();
+
+        // Once the covered tokens have expired the rows go, and so do the in-memory entries
+        jdbc.update("UPDATE token_revocations SET expires_at = now() - interval '1 minute'");
+        second.purgeAndRebuild();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM token_revocations", Integer.class)).isZero();
+        assertThat(second.isRevoked(loggedOut)).isFalse();
+    }
+
+    private static TokenRevocationService service() {
+        return new TokenRevocationService(jdbc, true, DAY_MS, 1_024, 0.01, 5, 60);
+    }
+
+    private static Claims claims(String subject, long issuedAtMillis) {
+        Claims claims = Jwts.claims();
+        claims.setId(UUID.randomUUID().toString());
+        claims.setSubject(subject);
+        claims.setIssuedAt(new Date(issuedAtMillis));
+        claims.setExpiration(new Date(issuedAtMillis + DAY_MS));
+        return claims;
+    }
+}
@@ -0,0 +1,118 @@
+package com.esg.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates news texts and AI-style payloads with the same shape and scoring
+ * rules as ai-service/nlp.py (keyword taxonomy, resolution discount, pillar
+ * floors), without spaCy, so responses vary with the text like the real service.
+ */
+final class EsgPayloads {
+
+    private static final Map<String, Map<String, Integer>> NEGATIVE_EVENTS = Map.of(
+            "E", Map.of("toxic", 5, "contamination", 5, "pollution", 4, "emissions", 4, "spill", 4, "waste", 4),
+            "S", Map.of("injury", 3, "fatality", 4, "harassment", 4, "discrimination", 4, "unsafe", 3),
+            "G", Map.of("fraud", 5, "bribery", 5, "investigation", 4, "audit", 3, "regulatory", 4, "whistleblower", 4)
+    );
+    private static final List<String> RESOLUTION_TERMS =
+            List.of("completed", "resolved", "settled", "approved", "introduced", "implemented");
+    private static final List<String> ONGOING_RISK_TERMS =
+            List.of("lawsuit", "class action", "alleged", "pending", "ongoing investigation");
+
+    private static final List<String> SENTENCES = List.of(
+            "Regulators opened an investigation into alleged bribery at the %s procurement unit.",
+            "A chemical spill near the %s plant led to local water contamination complaints.",
+            "Workers at %s reported unsafe conditions after a warehouse injury last quarter.",
+            "%s said its emissions reduction programme was completed ahead of schedule.",
+            "An internal audit at %s found weaknesses in supplier payment controls.",
+            "A whistleblower alleged that %s managers ignored harassment complaints.",
+            "%s settled a pending lawsuit over waste disposal at two former sites.",
+            "The board of %s approved a new anti-fraud policy and independent oversight committee.",
+            "Analysts expect %s to publish its first third-party verified sustainability report.",
+            "Local communities near the %s mine raised concerns about toxic tailings.",
+            "%s introduced a diversity programme following discrimination claims.",
+            "Quarterly results at %s were broadly in line with market expectations."
+    );
+
+    private EsgPayloads() {
+    }
+
+    static String newsText(String company) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sentences = 4 + random.nextInt(6);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            text.append(String.format(SENTENCES.get(random.nextInt(SENTENCES.size())), company)).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    static Map<String, Object> analyze(String text) {
+        String clean = text.toLowerCase();
+        boolean resolved = RESOLUTION_TERMS.stream().anyMatch(clean::contains);
+        boolean ongoing = ONGOING_RISK_TERMS.stream().anyMatch(clean::contains);
+
+        Map<String, Object> pillars = new LinkedHashMap<>();
+        List<Map<String, Object>> incidents = new ArrayList<>();
+        int total = 0;
+
+        for (String pillar : List.of("E", "S", "G")) {
+            int penalty = 0;
+            Set<String> drivers = new TreeSet<>();
+            for (Map.Entry<String, Integer> event : NEGATIVE_EVENTS.get(pillar).entrySet()) {
+                if (!clean.contains(event.getKey())) {
+                    continue;
+                }
+                int hit = event.getValue() * 4;
+                if (resolved && !ongoing) {
+                    hit = (int) (hit * 0.35);
+                }
+                if (ongoing) {
+                    hit += pillar.equals("E") ? 1 : 2;
+                }
+                penalty += hit;
+                drivers.add(event.getKey());
+                incidents.add(Map.of(
+                        "pillar", pillar,
+                        "incident", event.getKey() + " related issue",
+                        "severity", event.getValue() >= 4 ? "HIGH" : "MEDIUM",
+                        "evidence", List.of(event.getKey())
+                ));
+            }
+            int score = Math.max(5, Math.min(100, 70 - Math.min(penalty, 60)));
+            total += score;
+            pillars.put(pillar, Map.of("score", score, "risk", risk(score), "drivers", List.copyOf(drivers)));
+        }
+
+        int overall = total / 3;
+        @SuppressWarnings("unchecked")
+        Map<String, Object> governance = (Map<String, Object>) pillars.get("G");
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("overallAssessment", Map.of("esgScore", overall, "riskLevel", risk(overall)));
+        payload.put("pillarAssessment", pillars);
+        payload.put("keyIncidents", incidents);
+        payload.put("governanceAssessment", Map.of(
+                "overallRisk", governance.get("risk"),
+                "concerns", governance.get("drivers")
+        ));
+        payload.put("analystSummary",
+                "The entity exhibits ESG exposure driven by a mix of historical incidents, "
+                        + "ongoing disputes, and subsequent remediation actions, with governance reforms "
+                        + "moderating risk when verified.");
+        return payload;
+    }
+
+    private static String risk(int score) {
+        if (score < 30) {
+            return "HIGH";
+        }
+        return score < 55 ? "MEDIUM" : "LOW";
+    }
+}
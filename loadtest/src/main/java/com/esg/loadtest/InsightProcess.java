@@ -0,0 +1,164 @@
+package com.esg.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the packaged insight jar as a child process wired to the test
+ * database and the stub AI service. Its output goes to {@code target/insight-loadtest.log}.
+ * On Linux its thread count and resident memory are read from {@code /proc}.
+ */
+final class InsightProcess implements AutoCloseable {
+
+    private final Process process;
+    private final String baseUrl;
+    private final AtomicInteger peakThreads = new AtomicInteger();
+
+    private InsightProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static InsightProcess start(Path jar, int port, TestDatabase database, String aiServiceUrl,
+                                boolean virtualThreads, String jvmOptions, String appArguments) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Backend jar not found: " + jar + " (run mvn package in insight/)");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(jvmOptions));
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(split(appArguments));
+
+        Path log = Path.of("target", "insight-loadtest.log");
+        Files.createDirectories(log.getParent());
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().putAll(Map.of(
+                "PORT", Integer.toString(port),
+                "DB_URL", database.url(),
+                "DB_USERNAME", database.user(),
+                "DB_PASSWORD", database.password(),
+                "JWT_SECRET", "loadtest-secret-loadtest-secret-loadtest-secret",
+                "AI_SERVICE_URL", aiServiceUrl,
+                "VIRTUAL_THREADS", Boolean.toString(virtualThreads),
+                "SEARCH_INDEX_DIR", Files.createTempDirectory("insight-loadtest-index").toString()
+        ));
+
+        return new InsightProcess(builder.start(), "http://127.0.0.1:" + port);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    void awaitHealthy(Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + process.exitValue()
+                        + "; see target" + File.separator + "insight-loadtest.log");
+            }
+            try {
+                HttpResponse<Void> response = client.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/health")).build(),
+                        HttpResponse.BodyHandlers.discarding()
+                );
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Backend not healthy after " + timeout.toSeconds() + "s");
+    }
+
+    // ===============================
+    // RESOURCE USAGE
+    // ===============================
+    record Usage(int threads, long rssMb, long peakRssMb) {
+    }
+
+    /**
+     * Current thread count and resident set size (current and peak), or null without {@code /proc}.
+     */
+    Usage usage() {
+        try {
+            int threads = 0;
+            long rssKb = 0;
+            long peakRssKb = 0;
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(process.pid()), "status"))) {
+                String[] field = line.split("\\s+");
+                switch (field[0]) {
+                    case "Threads:" -> threads = Integer.parseInt(field[1]);
+                    case "VmRSS:" -> rssKb = Long.parseLong(field[1]);
+                    case "VmHWM:" -> peakRssKb = Long.parseLong(field[1]);
+                    default -> {
+                    }
+                }
+            }
+            return new Usage(threads, rssKb / 1024, peakRssKb / 1024);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Samples the thread count every {@code interval} until the process exits; see {@link #peakThreads()}.
+     */
+    void monitor(Duration interval) {
+        Thread.ofVirtual().name("insight-usage").start(() -> {
+            while (process.isAlive()) {
+                Usage usage = usage();
+                if (usage == null) {
+                    return;
+                }
+                peakThreads.accumulateAndGet(usage.threads(), Math::max);
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    int peakThreads() {
+        return peakThreads.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private static List<String> split(String arguments) {
+        return arguments == null || arguments.isBlank()
+                ? List.of()
+                : Arrays.asList(arguments.trim().split("\\s+"));
+    }
+}
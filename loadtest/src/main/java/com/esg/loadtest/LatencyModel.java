@@ -0,0 +1,46 @@
+package com.esg.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service-time distribution for the stub AI service, parsed from a spec:
+ * <ul>
+ *   <li>{@code fixed:800} – always 800 ms</li>
+ *   <li>{@code uniform:200-1500} – uniform between the bounds</li>
+ *   <li>{@code lognormal:800,4000} – log-normal with the given median and p99</li>
+ * </ul>
+ */
+public interface LatencyModel {
+
+    long nextMillis();
+
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Latency spec must look like kind:args, got " + spec);
+        }
+        String args = parts[1];
+
+        return switch (parts[0]) {
+            case "fixed" -> {
+                long ms = Long.parseLong(args);
+                yield () -> ms;
+            }
+            case "uniform" -> {
+                String[] bounds = args.split("-");
+                long min = Long.parseLong(bounds[0]);
+                long max = Long.parseLong(bounds[1]);
+                yield () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+            }
+            case "lognormal" -> {
+                String[] values = args.split(",");
+                double median = Double.parseDouble(values[0]);
+                double p99 = Double.parseDouble(values[1]);
+                double mu = Math.log(median);
+                double sigma = (Math.log(p99) - mu) / 2.326; // z-score of the 99th percentile
+                yield () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+            default -> throw new IllegalArgumentException("Unknown latency model: " + parts[0]);
+        };
+    }
+}
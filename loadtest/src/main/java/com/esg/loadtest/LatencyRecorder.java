@@ -0,0 +1,76 @@
+package com.esg.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint outcome counts and latencies. Latency is taken from the
+ * request's scheduled send time, not the actual one, so a backend that falls
+ * behind shows up in the percentiles instead of just lowering the request rate.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    void record(String endpoint, int status, long latencyMicros) {
+        series.computeIfAbsent(endpoint, name -> new Series()).add(status, latencyMicros);
+    }
+
+    Map<String, EndpointReport> report(double measuredSeconds) {
+        Map<String, EndpointReport> reports = new LinkedHashMap<>();
+        series.keySet().stream().sorted().forEach(name -> reports.put(name, series.get(name).report(measuredSeconds)));
+        return reports;
+    }
+
+    record EndpointReport(long requests, long errors, long notModified, double throughput,
+                          double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Series {
+
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong notModified = new AtomicLong();
+        private long[] latencies = new long[1024];
+        private int size;
+
+        void add(int status, long latencyMicros) {
+            if (status == 304) {
+                notModified.incrementAndGet();
+            } else if (status < 200 || status >= 300) {
+                errors.incrementAndGet(); // status 0 = transport error or timeout
+            }
+            synchronized (this) {
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+                latencies[size++] = latencyMicros;
+            }
+        }
+
+        synchronized EndpointReport report(double measuredSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointReport(
+                    size,
+                    errors.get(),
+                    notModified.get(),
+                    size / measuredSeconds,
+                    percentile(sorted, 50),
+                    percentile(sorted, 95),
+                    percentile(sorted, 99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0
+            );
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1000.0;
+        }
+    }
+}
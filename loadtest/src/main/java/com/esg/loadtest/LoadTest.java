@@ -0,0 +1,186 @@
+package com.esg.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts a database (embedded unless {@code --db-url}
+ * is given), the stub AI service and the packaged backend, then drives a
+ * weighted request mix at a target rate and prints per-endpoint results.
+ *
+ * <pre>
+ * mvn -q package -DskipTests -f ../insight/pom.xml
+ * mvn -q compile exec:java -Dexec.args="--rps 20 --duration 2m --ai-latency lognormal:800,4000"
+ * </pre>
+ *
+ * Virtual against platform request threads: run the same analyze-only load
+ * in both modes and compare latency, peak AI calls in flight, backend
+ * threads and peak RSS (platform mode tops out at Tomcat's 200 threads).
+ * <pre>
+ * mvn -q compile exec:java -Dexec.args="--threads platform --mix analyze:1 --rps 45 --warmup 10s --duration 30s --ai-latency fixed:5000 --ai-error-rate 0 --jvm-opts -Xmx512m"
+ * mvn -q compile exec:java -Dexec.args="--threads virtual --mix analyze:1 --rps 45 --warmup 10s --duration 30s --ai-latency fixed:5000 --ai-error-rate 0 --jvm-opts -Xmx512m"
+ * </pre>
+ *
+ * Options (defaults in brackets):
+ * <pre>
+ *   --jar PATH            backend jar [../insight/target/insight-0.0.1-SNAPSHOT.jar]
+ *   --target URL          use an already running backend instead of starting one
+ *   --db-url URL          existing PostgreSQL (with --db-user / --db-password) instead of embedded
+ *   --companies N         companies to seed [50]
+ *   --revoked N           revoked tokens of other users to seed [0]
+ *   --threads MODE        backend request threads: platform (Tomcat pool) or virtual [platform]
+ *   --rps N               target requests per second [20]
+ *   --warmup D            unmeasured ramp, e.g. 15s [15s]
+ *   --duration D          measured period, e.g. 2m [60s]
+ *   --mix SPEC            endpoint weights [login:5,companies:20,history:60,analyze:15]
+ *   --ai-latency SPEC     stub AI service time, see LatencyModel [lognormal:800,4000]
+ *   --ai-error-rate P     stub AI failure probability [0.01]
+ *   --jvm-opts "..."      extra JVM options for the backend
+ *   --app-args "..."      extra Spring arguments for the backend
+ *   --report-json PATH    also write the report as JSON
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        Map<String, Integer> mix = Scenario.parseMix(options.getOrDefault("mix", "login:5,companies:20,history:60,analyze:15"));
+        double rps = Double.parseDouble(options.getOrDefault("rps", "20"));
+        Duration warmup = duration(options.getOrDefault("warmup", "15s"));
+        Duration measured = duration(options.getOrDefault("duration", "60s"));
+        String threads = options.getOrDefault("threads", "platform");
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("--threads must be platform or virtual, got: " + threads);
+        }
+
+        String target = options.get("target");
+        TestDatabase database = null;
+        StubAIService stub = null;
+        InsightProcess backend = null;
+
+        try {
+            if (target == null) {
+                database = options.containsKey("db-url")
+                        ? TestDatabase.external(options.get("db-url"), options.get("db-user"), options.get("db-password"))
+                        : TestDatabase.embedded();
+
+                stub = new StubAIService(
+                        0,
+                        LatencyModel.parse(options.getOrDefault("ai-latency", "lognormal:800,4000")),
+                        Double.parseDouble(options.getOrDefault("ai-error-rate", "0.01"))
+                ).start();
+
+                backend = InsightProcess.start(
+                        Path.of(options.getOrDefault("jar", "../insight/target/insight-0.0.1-SNAPSHOT.jar")),
+                        freePort(),
+                        database,
+                        stub.baseUrl(),
+                        threads.equals("virtual"),
+                        options.get("jvm-opts"),
+                        options.get("app-args")
+                );
+                System.out.println("Starting backend on " + backend.baseUrl() + " ...");
+                backend.awaitHealthy(Duration.ofMinutes(3));
+                backend.monitor(Duration.ofMillis(250));
+                database.seedCompanies(Integer.parseInt(options.getOrDefault("companies", "50")));
+                database.seedRevocations(Integer.parseInt(options.getOrDefault("revoked", "0")));
+                target = backend.baseUrl();
+            }
+
+            Scenario scenario = new Scenario(target, mix, "loadtest@pulseesg.local", "loadtest-password");
+            scenario.prepare();
+
+            System.out.printf("Running %s at %.1f rps for %ds (+%ds warm-up)%n",
+                    mix, rps, measured.toSeconds(), warmup.toSeconds());
+            LatencyRecorder recorder = new LatencyRecorder();
+            scenario.run(rps, warmup, measured, recorder);
+
+            Map<String, LatencyRecorder.EndpointReport> report = recorder.report(measured.toMillis() / 1000.0);
+            InsightProcess.Usage usage = backend != null ? backend.usage() : null;
+            print(report, stub, backend, usage, threads);
+            if (options.containsKey("report-json")) {
+                Map<String, Object> json = new LinkedHashMap<>();
+                json.put("targetRps", rps);
+                json.put("durationSeconds", measured.toSeconds());
+                json.put("mix", mix);
+                json.put("endpoints", report);
+                if (usage != null) {
+                    json.put("threads", threads);
+                    json.put("backendPeakThreads", backend.peakThreads());
+                    json.put("backendPeakRssMb", usage.peakRssMb());
+                }
+                if (stub != null) {
+                    json.put("aiPeakInFlight", stub.peakInFlight());
+                }
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                        .writeValue(Path.of(options.get("report-json")).toFile(), json);
+            }
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+            if (stub != null) {
+                stub.close();
+            }
+            if (database != null) {
+                database.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void print(Map<String, LatencyRecorder.EndpointReport> report, StubAIService stub,
+                              InsightProcess backend, InsightProcess.Usage usage, String threads) {
+        System.out.println();
+        System.out.printf("%-10s %8s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "304s", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        report.forEach((name, r) -> System.out.printf("%-10s %8d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, r.requests(), r.errors(), r.notModified(), r.throughput(), r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs()));
+        if (stub != null) {
+            System.out.printf("%nstub AI service: %d requests, %d injected failures, peak %d in flight%n",
+                    stub.requests(), stub.errors(), stub.peakInFlight());
+        }
+        if (usage != null) {
+            System.out.printf("backend (%s threads): peak %d threads, peak RSS %d MB%n",
+                    threads, backend.peakThreads(), usage.peakRssMb());
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    /**
+     * Parses {@code 90s}, {@code 2m}, {@code 1m30s} or {@code 1h}.
+     */
+    private static Duration duration(String value) {
+        try {
+            return Duration.parse("PT" + value.trim().toUpperCase());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Expected a duration like 90s, 2m or 1m30s, got: " + value);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
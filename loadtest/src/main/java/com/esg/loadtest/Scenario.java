@@ -0,0 +1,200 @@
+package com.esg.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model traffic against the backend: requests are sent at a fixed rate
+ * on virtual threads regardless of how fast earlier ones complete, mixing the
+ * frontend's calls by weight. Reads revalidate with {@code If-None-Match}
+ * like a browser cache would.
+ */
+final class Scenario {
+
+    static final List<String> ENDPOINTS = List.of("login", "companies", "history", "analyze");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final String email;
+    private final String password;
+
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+    private volatile String token;
+    private List<Long> companyIds = List.of();
+
+    Scenario(String baseUrl, Map<String, Integer> mix, String email, String password) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.email = email;
+        this.password = password;
+    }
+
+    /**
+     * Parses {@code login:5,companies:20,history:60,analyze:15}.
+     */
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (!ENDPOINTS.contains(kv[0])) {
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + kv[0] + " (known: " + ENDPOINTS + ")");
+            }
+            mix.put(kv[0], Integer.parseInt(kv[1]));
+        }
+        return mix;
+    }
+
+    // ===============================
+    // SETUP
+    // ===============================
+    void prepare() throws IOException, InterruptedException {
+        HttpResponse<String> registered = post("/api/auth/register", Map.of("email", email, "password", password), false);
+        JsonNode auth = registered.statusCode() == 200
+                ? MAPPER.readTree(registered.body())
+                : MAPPER.readTree(post("/api/auth/login", Map.of("email", email, "password", password), false).body());
+        token = auth.path("token").asText(null);
+        if (token == null) {
+            throw new IllegalStateException("Could not register or log in as " + email);
+        }
+
+        HttpResponse<String> companies = client.send(get("/api/companies").build(), HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        MAPPER.readTree(companies.body()).forEach(company -> ids.add(company.path("id").asLong()));
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No companies to run against");
+        }
+        companyIds = List.copyOf(ids);
+    }
+
+    // ===============================
+    // RUN
+    // ===============================
+    void run(double rps, Duration warmup, Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        long intervalNanos = (long) (1_000_000_000L / rps);
+        long warmupNanos = warmup.toNanos();
+        long endNanos = warmupNanos + duration.toNanos();
+
+        ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+
+        for (long i = 0; ; i++) {
+            long offset = i * intervalNanos;
+            if (offset >= endNanos) {
+                break;
+            }
+            long wait = start + offset - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String endpoint = pick();
+            long scheduledAt = start + offset;
+            boolean measured = offset >= warmupNanos;
+            senders.execute(() -> {
+                int status = send(endpoint);
+                if (measured) {
+                    recorder.record(endpoint, status, (System.nanoTime() - scheduledAt) / 1000);
+                }
+            });
+        }
+
+        senders.shutdown();
+        senders.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 10, TimeUnit.SECONDS);
+    }
+
+    private String pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    /**
+     * @return HTTP status, or 0 if the request failed without one
+     */
+    private int send(String endpoint) {
+        try {
+            Long companyId = companyIds.get(ThreadLocalRandom.current().nextInt(companyIds.size()));
+            return switch (endpoint) {
+                case "login" -> post("/api/auth/login", Map.of("email", email, "password", password), false).statusCode();
+                case "companies" -> conditionalGet("/api/companies");
+                case "history" -> conditionalGet("/api/esg/history/" + companyId);
+                case "analyze" -> post("/api/esg/analyze", Map.of(
+                        "companyId", companyId,
+                        "newsText", EsgPayloads.newsText("Loadtest Holdings " + companyId)
+                ), true).statusCode();
+                default -> throw new IllegalArgumentException(endpoint);
+            };
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private int conditionalGet(String path) throws IOException, InterruptedException {
+        // Bodies are discarded, so take them compressed like a browser would
+        HttpRequest.Builder request = get(path).header("Accept-Encoding", "gzip");
+        String etag = etags.get(path);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        response.headers().firstValue("ETag").ifPresent(value -> etags.put(path, value));
+        return response.statusCode();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .GET();
+    }
+
+    private HttpResponse<String> post(String path, Object body, boolean authenticated)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+        if (authenticated) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
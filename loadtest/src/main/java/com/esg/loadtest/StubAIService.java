@@ -0,0 +1,128 @@
+package com.esg.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the Python AI service: {@code POST /analyze},
+ * {@code POST /analyze/batch} and {@code GET /health}, with configurable
+ * service time and error rate. A batch takes one service time for the whole request.
+ *
+ * Run on its own with:
+ * {@code mvn -q exec:java -Dexec.mainClass=com.esg.loadtest.StubAIService -Dexec.args="8000 lognormal:800,4000 0.01"}
+ */
+public class StubAIService implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public StubAIService(int port, LatencyModel latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/analyze", this::handle);
+        this.server.createContext("/health", exchange -> respond(exchange, 200, Map.of("status", "UP", "service", "stub")));
+    }
+
+    public StubAIService start() {
+        server.start();
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    /**
+     * Most requests the stub was serving at once: how many AI calls the backend kept open concurrently.
+     */
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            serve(exchange);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        JsonNode body = MAPPER.readTree(exchange.getRequestBody());
+
+        try {
+            Thread.sleep(Math.max(0, latency.nextMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            errors.incrementAndGet();
+            respond(exchange, 503, Map.of("detail", "stub: injected failure"));
+            return;
+        }
+
+        if (exchange.getRequestURI().getPath().endsWith("/batch")) {
+            List<Map<String, Object>> results = new ArrayList<>();
+            body.path("texts").forEach(text -> results.add(EsgPayloads.analyze(text.asText())));
+            respond(exchange, 200, Map.of("results", results));
+        } else {
+            respond(exchange, 200, EsgPayloads.analyze(body.path("text").asText()));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8000;
+        LatencyModel latency = LatencyModel.parse(args.length > 1 ? args[1] : "lognormal:800,4000");
+        double errorRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.0;
+
+        StubAIService stub = new StubAIService(port, latency, errorRate).start();
+        System.out.println("Stub AI service listening on " + stub.baseUrl());
+    }
+}
@@ -0,0 +1,112 @@
+package com.esg.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * The database the backend under test runs against: an embedded PostgreSQL
+ * (real binaries, started in a temp dir; must not run as root) or an existing
+ * local instance given by JDBC URL.
+ */
+final class TestDatabase implements AutoCloseable {
+
+    private static final String[] SECTORS = {"Energy", "Materials", "Financials", "Industrials", "Consumer", "Technology"};
+    private static final String[] COUNTRIES = {"US", "GB", "DE", "IN", "JP", "BR", "FR", "AU"};
+
+    private final EmbeddedPostgres embedded;
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private TestDatabase(EmbeddedPostgres embedded, String url, String user, String password) {
+        this.embedded = embedded;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    static TestDatabase embedded() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        return new TestDatabase(postgres, postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+    }
+
+    static TestDatabase external(String url, String user, String password) {
+        return new TestDatabase(null, url, user, password);
+    }
+
+    String url() {
+        return url;
+    }
+
+    String user() {
+        return user;
+    }
+
+    String password() {
+        return password;
+    }
+
+    /**
+     * Tops the companies table up to {@code count} rows. Runs after the backend
+     * has migrated its schema.
+     */
+    void seedCompanies(int count) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            int existing;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM companies")) {
+                rs.next();
+                existing = rs.getInt(1);
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO companies (name, sector, country, created_at) VALUES (?, ?, ?, now())")) {
+                for (int i = existing; i < count; i++) {
+                    insert.setString(1, "Loadtest Holdings " + (i + 1));
+                    insert.setString(2, SECTORS[i % SECTORS.length]);
+                    insert.setString(3, COUNTRIES[i % COUNTRIES.length]);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Fills token_revocations with {@code count} revoked tokens of other users
+     * (one in ten revoking a whole user), so requests pay for a populated
+     * revocation check. They are dated an hour back, like a list built up
+     * over time, so they load once rather than on every refresh.
+     */
+    void seedRevocations(int count) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO token_revocations (token_id, subject, revoked_at, expires_at) VALUES (?, ?, now() - interval '1 hour', now() + interval '1 day')")) {
+            for (int i = 0; i < count; i++) {
+                boolean wholeUser = i % 10 == 0;
+                insert.setString(1, wholeUser ? null : UUID.randomUUID().toString());
+                insert.setString(2, wholeUser ? "revoked-" + i + "@pulseesg.local" : null);
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}